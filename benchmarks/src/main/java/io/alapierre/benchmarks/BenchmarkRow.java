@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package io.alapierre.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import lombok.Data;
+
+/**
+ * Wiersz danych benchmarków eksportu - 20 kolumn typowych dla raportów: teksty, liczby, kwoty i daty.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Data
+public class BenchmarkRow {
+
+    /**
+     * Nazwy property w kolejności kolumn; typy są przeplatane, więc każdy prefiks listy zawiera różne typy.
+     */
+    public static final List<String> PROPERTIES = List.of(
+            "id", "name", "amount", "orderDate", "quantity",
+            "lastName", "price", "created", "email", "tax",
+            "city", "shipDate", "discount", "street", "weight",
+            "zip", "status", "country", "category", "active");
+
+    private long id;
+    private String name;
+    private BigDecimal amount;
+    private LocalDate orderDate;
+    private int quantity;
+    private String lastName;
+    private double price;
+    private LocalDateTime created;
+    private String email;
+    private BigDecimal tax;
+    private String city;
+    private LocalDate shipDate;
+    private double discount;
+    private String street;
+    private double weight;
+    private String zip;
+    private String status;
+    private String country;
+    private String category;
+    private Boolean active;
+
+    public static BenchmarkRow random(Random random, long id) {
+        BenchmarkRow row = new BenchmarkRow();
+        row.id = id;
+        row.name = "Name " + random.nextInt(1000);
+        row.amount = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+        row.orderDate = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365));
+        row.quantity = random.nextInt(500);
+        row.lastName = "Last name " + random.nextInt(5000);
+        row.price = random.nextInt(100_000) / 100.0;
+        row.created = row.orderDate.atTime(random.nextInt(24), random.nextInt(60));
+        row.email = "user" + random.nextInt(100_000) + "@example.com";
+        row.tax = row.amount.multiply(BigDecimal.valueOf(23, 2));
+        row.city = "City " + random.nextInt(200);
+        row.shipDate = row.orderDate.plusDays(random.nextInt(14));
+        row.discount = random.nextInt(30) / 100.0;
+        row.street = "Street " + random.nextInt(2000) + "/" + random.nextInt(100);
+        row.weight = random.nextDouble() * 50;
+        row.zip = String.format("%02d-%03d", random.nextInt(100), random.nextInt(1000));
+        row.status = random.nextBoolean() ? "NEW" : "SHIPPED";
+        row.country = "PL";
+        row.category = "Category " + random.nextInt(20);
+        row.active = random.nextBoolean();
+        return row;
+    }
+
+    /**
+     * @return wartości wiersza jako mapa property - wartość, odczytywana przez exporter dynamicznie
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", id);
+        map.put("name", name);
+        map.put("amount", amount);
+        map.put("orderDate", orderDate);
+        map.put("quantity", quantity);
+        map.put("lastName", lastName);
+        map.put("price", price);
+        map.put("created", created);
+        map.put("email", email);
+        map.put("tax", tax);
+        map.put("city", city);
+        map.put("shipDate", shipDate);
+        map.put("discount", discount);
+        map.put("street", street);
+        map.put("weight", weight);
+        map.put("zip", zip);
+        map.put("status", status);
+        map.put("country", country);
+        map.put("category", category);
+        map.put("active", active);
+        return map;
+    }
+}
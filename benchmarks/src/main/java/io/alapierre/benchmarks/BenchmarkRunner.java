@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package io.alapierre.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Uruchamia benchmarki z tymi samymi opcjami co {@code org.openjdk.jmh.Main}, ale domyślnie zapisuje wyniki
+ * w formacie JSON do {@code jmh-result.json}, żeby można je było porównywać między wydaniami
+ * (np. przez jmh.morethan.io). Opcje {@code -rf} i {@code -rff} podane w linii poleceń mają pierwszeństwo.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar ExcelExporterBenchmark -p columns=20
+ * </pre>
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if(!commandLine.getResultFormat().hasValue())
+            options.resultFormat(ResultFormatType.JSON);
+        if(!commandLine.getResult().hasValue())
+            options.result(DEFAULT_RESULT_FILE);
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package io.alapierre.benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.com.softproject.utils.excelexporter.ColumnDescriptor;
+import pl.com.softproject.utils.excelexporter.ExcelExporter;
+
+/**
+ * Koszt {@link ExcelExporter#createRow(Object)} w zależności od liczby kolumn, rozmiaru okna SXSSF i sposobu
+ * odczytu wartości: beany z typowanymi getterami ({@code POJO}, accessory kompilowane do MethodHandle)
+ * albo mapy ({@code MAP}, odczyt refleksyjny przez jodd BeanUtil). Czas obejmuje zrzucanie wierszy z okna
+ * do pliku tymczasowego.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelExporterBenchmark {
+
+    private static final int ROWS = 1024;
+
+    public enum BeanKind { POJO, MAP }
+
+    @Param({"5", "20"})
+    private int columns;
+
+    @Param({"100", "1000"})
+    private int windowSize;
+
+    @Param({"POJO", "MAP"})
+    private BeanKind beans;
+
+    private Object[] data;
+    private ExcelExporter exporter;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generateRows() {
+        Random random = new Random(42);
+        data = new Object[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            BenchmarkRow row = BenchmarkRow.random(random, i);
+            data[i] = beans == BeanKind.POJO ? row : row.toMap();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createExporter() {
+        exporter = new ExcelExporter("benchmark", windowSize);
+        exporter.setSheetRolloverThreshold(SpreadsheetVersion.EXCEL2007.getMaxRows());
+        for (String property : BenchmarkRow.PROPERTIES.subList(0, columns)) {
+            exporter.addColumn(new ColumnDescriptor(property, property));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeExporter() throws IOException {
+        exporter.close();
+    }
+
+    @Benchmark
+    public void createRow() {
+        exporter.createRow(data[next++ & (ROWS - 1)]);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package io.alapierre.benchmarks;
+
+import io.alapierre.io.ByteBufferOutputStream;
+import io.alapierre.io.IOUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Zapis danych w porcjach do {@link ByteBufferOutputStream} i {@link ByteArrayOutputStream} z odczytem zapisanych
+ * danych, oraz kopiowanie strumieni przez {@link IOUtils#copy(InputStream, OutputStream)}.
+ * Zastępuje wyłączony {@code ByteBufferOutputStreamPerfTest}.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IoBenchmark {
+
+    private static final int CHUNK = 8192;
+
+    @Param({"65536", "16777216"})
+    private int size;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        data = new byte[size];
+        new Random(42).nextBytes(data);
+    }
+
+    @Benchmark
+    public long byteBufferOutputStream() throws IOException {
+        try (ByteBufferOutputStream out = new ByteBufferOutputStream()) {
+            writeChunks(out);
+            return drain(out.toInputStream());
+        }
+    }
+
+    @Benchmark
+    public long byteArrayOutputStream() throws IOException {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            writeChunks(out);
+            return drain(new ByteArrayInputStream(out.toByteArray()));
+        }
+    }
+
+    @Benchmark
+    public long copy() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        return IOUtils.copy(new ByteArrayInputStream(data), out);
+    }
+
+    private void writeChunks(OutputStream out) throws IOException {
+        for (int offset = 0; offset < data.length; offset += CHUNK) {
+            out.write(data, offset, Math.min(CHUNK, data.length - offset));
+        }
+    }
+
+    private static long drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[CHUNK];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != IOUtils.EOF) {
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package io.alapierre.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.com.softproject.utils.pivot.ColumnarPivotTableModel;
+import pl.com.softproject.utils.pivot.PivotTableModel;
+import pl.com.softproject.utils.pivot.PivotTableModelImpl;
+
+/**
+ * Budowa modelu tabeli przestawnej ({@code rows x columns} wywołań {@link PivotTableModel#add}) oraz odczyt
+ * wszystkich komórek przez {@link PivotTableModel#get}, dla modelu opartego na mapach ({@code map})
+ * i modelu kolumnowego ({@code columnar}).
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PivotModelBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    @Param({"12", "100"})
+    private int columns;
+
+    @Param({"map", "columnar"})
+    private String model;
+
+    private String[] rowKeys;
+    private String[] columnKeys;
+    private PivotTableModel filled;
+
+    @Setup
+    public void setUp() {
+        rowKeys = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            rowKeys[i] = "row " + i;
+        }
+        columnKeys = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            columnKeys[i] = "column " + i;
+        }
+        filled = fill(newModel());
+    }
+
+    @Benchmark
+    public PivotTableModel insert() {
+        return fill(newModel());
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        for (String rowKey : rowKeys) {
+            for (String columnKey : columnKeys) {
+                blackhole.consume(filled.get(rowKey, columnKey));
+            }
+        }
+    }
+
+    private PivotTableModel newModel() {
+        return "columnar".equals(model) ? new ColumnarPivotTableModel() : new PivotTableModelImpl();
+    }
+
+    private PivotTableModel fill(PivotTableModel model) {
+        for (int r = 0; r < rowKeys.length; r++) {
+            for (int c = 0; c < columnKeys.length; c++) {
+                model.add(rowKeys[r], columnKeys[c], r * c);
+            }
+        }
+        return model;
+    }
+}
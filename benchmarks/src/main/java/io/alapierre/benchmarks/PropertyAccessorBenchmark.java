@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package io.alapierre.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.com.softproject.utils.excelexporter.PropertyAccessor;
+import pl.com.softproject.utils.excelexporter.PropertyAccessors;
+
+/**
+ * Odczyt pojedynczej property: bezpośrednie wywołanie gettera, accessor skompilowany przez
+ * {@link PropertyAccessors#forProperty(Class, String)}, {@link Method#invoke} oraz dynamiczny odczyt jodd.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyAccessorBenchmark {
+
+    private BenchmarkRow row;
+    private PropertyAccessor compiled;
+    private PropertyAccessor dynamic;
+    private Method getter;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        row = BenchmarkRow.random(new Random(42), 1);
+        compiled = PropertyAccessors.forProperty(BenchmarkRow.class, "amount");
+        dynamic = PropertyAccessors.dynamic("amount");
+        getter = BenchmarkRow.class.getMethod("getAmount");
+    }
+
+    @Benchmark
+    public Object direct() {
+        return row.getAmount();
+    }
+
+    @Benchmark
+    public Object compiled() {
+        return compiled.get(row);
+    }
+
+    @Benchmark
+    public Object reflection() throws InvocationTargetException, IllegalAccessException {
+        return getter.invoke(row);
+    }
+
+    @Benchmark
+    public Object dynamic() {
+        return dynamic.get(row);
+    }
+}
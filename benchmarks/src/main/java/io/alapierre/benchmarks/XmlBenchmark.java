@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package io.alapierre.benchmarks;
+
+import io.alapierre.benchmarks.xml.Invoice;
+import io.alapierre.benchmarks.xml.InvoiceLine;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.stream.StreamSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import pl.com.softproject.utils.xml.BaseXMLSerializer;
+import pl.com.softproject.utils.xml.XMLValidator;
+import pl.com.softproject.utils.xml.stax.ElementFinder;
+import pl.com.softproject.utils.xml.stax.XmlElement;
+
+/**
+ * Wyszukiwanie elementu przez {@link ElementFinder}, walidacja {@link XMLValidator} i serializacja w obie strony
+ * przez {@link BaseXMLSerializer} dla dokumentu o {@code lines} pozycjach. Schemat i model dokumentu są częścią
+ * modułu, więc benchmark nie wymaga dostępu do sieci.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlBenchmark {
+
+    private static final String SCHEMA = "io/alapierre/benchmarks/xml/invoice.xsd";
+
+    @Param({"10", "1000"})
+    private int lines;
+
+    private final ElementFinder finder = new ElementFinder();
+    private final List<SAXParseException> errors = new ArrayList<>();
+    private BaseXMLSerializer<Invoice> serializer;
+    private URL schema;
+    private Invoice invoice;
+    private String xml;
+
+    @Setup
+    public void setUp() {
+        schema = XmlBenchmark.class.getClassLoader().getResource(SCHEMA);
+        serializer = new BaseXMLSerializer<>("io.alapierre.benchmarks.xml", SCHEMA, Invoice.NAMESPACE + " invoice.xsd");
+
+        invoice = new Invoice();
+        invoice.setNumber("FV/2026/10/" + lines);
+        invoice.setIssueDate("2026-10-18");
+        invoice.setSellerTaxId("9999999999");
+        invoice.setBuyerTaxId("1111111111");
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            InvoiceLine line = new InvoiceLine();
+            line.setName("Item " + i);
+            line.setQuantity(1 + i % 10);
+            line.setPrice(BigDecimal.valueOf(1000 + i, 2));
+            invoice.getLines().add(line);
+            total = total.add(line.getPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+        }
+        invoice.setTotal(total);
+        xml = serializer.toString(invoice, true);
+    }
+
+    @Benchmark
+    public Optional<XmlElement> findLastElement() throws XMLStreamException {
+        return finder.find(xml, "Invoice/Total");
+    }
+
+    @Benchmark
+    public boolean validate() throws SAXException, IOException {
+        return XMLValidator.validate(new StringReader(xml), new StreamSource(schema.toExternalForm()), errors);
+    }
+
+    @Benchmark
+    public Invoice roundTrip() {
+        return serializer.fromString(serializer.toString(invoice, false), false);
+    }
+
+    @Benchmark
+    public Invoice roundTripValidated() {
+        return serializer.fromString(serializer.toString(invoice, true), true);
+    }
+}
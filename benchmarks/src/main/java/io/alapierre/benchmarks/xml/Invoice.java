@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package io.alapierre.benchmarks.xml;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Data
+@XmlRootElement(name = "Invoice")
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(propOrder = {"number", "issueDate", "sellerTaxId", "buyerTaxId", "lines", "total"})
+public class Invoice {
+
+    public static final String NAMESPACE = "urn:alapierre:benchmarks:invoice";
+
+    @XmlElement(name = "Number", required = true)
+    private String number;
+
+    @XmlElement(name = "IssueDate", required = true)
+    private String issueDate;
+
+    @XmlElement(name = "SellerTaxId", required = true)
+    private String sellerTaxId;
+
+    @XmlElement(name = "BuyerTaxId", required = true)
+    private String buyerTaxId;
+
+    @XmlElement(name = "Line", required = true)
+    private List<InvoiceLine> lines = new ArrayList<>();
+
+    @XmlElement(name = "Total", required = true)
+    private BigDecimal total;
+
+}
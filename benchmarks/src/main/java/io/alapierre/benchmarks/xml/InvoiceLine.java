@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package io.alapierre.benchmarks.xml;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.math.BigDecimal;
+import lombok.Data;
+
+/**
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Data
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "Line", propOrder = {"name", "quantity", "price"})
+public class InvoiceLine {
+
+    @XmlElement(name = "Name", required = true)
+    private String name;
+
+    @XmlElement(name = "Quantity")
+    private int quantity;
+
+    @XmlElement(name = "Price", required = true)
+    private BigDecimal price;
+
+}
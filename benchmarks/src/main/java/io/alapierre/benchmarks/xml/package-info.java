@@ -0,0 +1,12 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+/**
+ * Model JAXB dokumentu używanego w benchmarkach XML, zgodny z {@code invoice.xsd}.
+ */
+@XmlSchema(namespace = Invoice.NAMESPACE, elementFormDefault = XmlNsForm.QUALIFIED)
+package io.alapierre.benchmarks.xml;
+
+import jakarta.xml.bind.annotation.XmlNsForm;
+import jakarta.xml.bind.annotation.XmlSchema;
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Kolumna, której wartość odczytuje podany {@link PropertyAccessor} zamiast accessora wyznaczanego z nazwy
+ * property. Używana przez klasy generowane dla {@link ExcelColumn}.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public class AccessorColumnDescriptor extends ColumnDescriptor {
+
+    private final PropertyAccessor accessor;
+
+    /**
+     * @param headerName - nazwa kolumny widoczna w nagłówku
+     * @param propertyName - nazwa property
+     * @param excelFormatMask - maska formatu Excela lub null
+     * @param styleType - styl komórek, {@link ColumnStyleType#DEFAULT} lub null oznacza styl domyślny dla typu wartości
+     * @param accessor - accessor odczytujący wartość z beana
+     */
+    public AccessorColumnDescriptor(String headerName, String propertyName, String excelFormatMask,
+                                    ColumnStyleType styleType, @NotNull PropertyAccessor accessor) {
+        super(headerName, propertyName);
+        this.accessor = accessor;
+
+        String mask = excelFormatMask == null || excelFormatMask.isEmpty() ? null : excelFormatMask;
+        ColumnStyleType type = styleType == ColumnStyleType.DEFAULT ? null : styleType;
+        if(mask != null || type != null)
+            setStyleDescriptor(new ColumnStyleDescriptor(mask, type));
+    }
+
+    public PropertyAccessor getAccessor() {
+        return accessor;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+/**
+ * Rodzaj wartości komórki wyznaczany z typu wartości kolumny - wspólny dla {@link ExcelExporter}
+ * i {@link StreamingXlsxExporter}, tak aby oba eksportery zapisywały wartości tego samego typu w ten sam sposób.
+ * Daty są zapisywane jako liczba seryjna Excela wyliczona przez {@link ExcelDateConverter}.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+enum CellValueType {
+
+    DATE(true) {
+        @Override
+        double serial(ExcelDateConverter converter, Object value) {
+            return converter.serial((Date) value);
+        }
+    },
+    LOCAL_DATE(true) {
+        @Override
+        double serial(ExcelDateConverter converter, Object value) {
+            return converter.serial((LocalDate) value);
+        }
+    },
+    LOCAL_DATE_TIME(true) {
+        @Override
+        double serial(ExcelDateConverter converter, Object value) {
+            return converter.serial((LocalDateTime) value);
+        }
+    },
+    INSTANT(true) {
+        @Override
+        double serial(ExcelDateConverter converter, Object value) {
+            return converter.serial((Instant) value);
+        }
+    },
+    OFFSET_DATE_TIME(true) {
+        @Override
+        double serial(ExcelDateConverter converter, Object value) {
+            OffsetDateTime dateTime = (OffsetDateTime) value;
+            return converter.serial(dateTime.toEpochSecond(), dateTime.getNano());
+        }
+    },
+    ZONED_DATE_TIME(true) {
+        @Override
+        double serial(ExcelDateConverter converter, Object value) {
+            ZonedDateTime dateTime = (ZonedDateTime) value;
+            return converter.serial(dateTime.toEpochSecond(), dateTime.getNano());
+        }
+    },
+    STRING(false),
+    INTEGRAL(false),
+    DOUBLE(false),
+    BIG_DECIMAL(false),
+    OTHER(false);
+
+    private final boolean date;
+
+    CellValueType(boolean date) {
+        this.date = date;
+    }
+
+    /**
+     * @param value niepusta wartość komórki
+     * @return rodzaj wartości
+     */
+    static CellValueType of(Object value) {
+        if(value instanceof String)
+            return STRING;
+        if(value instanceof Integer || value instanceof Long)
+            return INTEGRAL;
+        if(value instanceof Double)
+            return DOUBLE;
+        if(value instanceof BigDecimal)
+            return BIG_DECIMAL;
+        if(value instanceof Date)
+            return DATE;
+        if(value instanceof LocalDate)
+            return LOCAL_DATE;
+        if(value instanceof LocalDateTime)
+            return LOCAL_DATE_TIME;
+        if(value instanceof Instant)
+            return INSTANT;
+        if(value instanceof OffsetDateTime)
+            return OFFSET_DATE_TIME;
+        if(value instanceof ZonedDateTime)
+            return ZONED_DATE_TIME;
+        return OTHER;
+    }
+
+    /**
+     * @return true dla dat zapisywanych liczbą seryjną {@link #serial(ExcelDateConverter, Object)}
+     */
+    boolean isDate() {
+        return date;
+    }
+
+    /**
+     * @return true dla dat bez czasu, zapisywanych ze stylem daty bez godziny
+     */
+    boolean isDateOnly() {
+        return this == LOCAL_DATE;
+    }
+
+    /**
+     * @return liczba seryjna Excela dla wartości typu daty
+     */
+    double serial(ExcelDateConverter converter, Object value) {
+        throw new UnsupportedOperationException(name() + " is not a date");
+    }
+
+}
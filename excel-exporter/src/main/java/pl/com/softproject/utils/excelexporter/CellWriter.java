@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.math.BigDecimal;
+import org.apache.poi.ss.usermodel.Cell;
+
+/**
+ * Zapisuje wartość określonego typu do komórki. Implementacje nie sprawdzają typu wartości,
+ * dobór writera odbywa się raz na kolumnę w {@link ColumnCellWriter}. Daty są zapisywane jako liczba seryjna
+ * Excela wyliczona przez {@link ExcelDateConverter} exportera.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@FunctionalInterface
+interface CellWriter {
+
+    CellWriter STRING = (cell, value) -> cell.setCellValue((String) value);
+    CellWriter FORMATTED = STRING;
+    CellWriter INTEGRAL = (cell, value) -> cell.setCellValue(((Number) value).longValue());
+    CellWriter DOUBLE = (cell, value) -> cell.setCellValue((Double) value);
+    CellWriter BIG_DECIMAL = (cell, value) -> cell.setCellValue(((BigDecimal) value).doubleValue());
+    CellWriter OTHER = (cell, value) -> cell.setCellValue(value.toString().trim());
+
+    void write(Cell cell, Object value);
+
+    /**
+     * @param type rodzaj daty zapisywanej wartości
+     */
+    static CellWriter date(ExcelDateConverter converter, CellValueType type) {
+        return (cell, value) -> cell.setCellValue(type.serial(converter, value));
+    }
+
+}
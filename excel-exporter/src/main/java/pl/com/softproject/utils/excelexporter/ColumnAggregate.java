@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.math.BigDecimal;
+
+/**
+ * Running aggregate of the numeric values written to a single column: count, sum, min, max and average.
+ *
+ * <p>Integral values are summed exactly in a {@code long} (falling back to {@link BigDecimal} on overflow),
+ * {@link BigDecimal} values in a {@link BigDecimal}, and floating point values with Neumaier compensated
+ * summation, so long columns do not accumulate rounding error.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public final class ColumnAggregate {
+
+    private long count;
+    private long integralSum;
+    private BigDecimal exactSum;
+    private boolean hasFloating;
+    private double floatingSum;
+    private double compensation;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param value value to include, not null
+     */
+    public void add(Number value) {
+        if(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            addLong(value.longValue());
+        } else if(value instanceof BigDecimal) {
+            exactSum = exact().add((BigDecimal) value);
+            include(value.doubleValue());
+        } else {
+            addDouble(value.doubleValue());
+        }
+    }
+
+    /**
+     * Primitive variant of {@link #add(Number)} for integral values, used by exporters reading typed getters.
+     */
+    void addLong(long value) {
+        long result = integralSum + value;
+        if(((integralSum ^ result) & (value ^ result)) < 0) {
+            exactSum = exact().add(BigDecimal.valueOf(integralSum)).add(BigDecimal.valueOf(value));
+            integralSum = 0;
+        } else {
+            integralSum = result;
+        }
+        include(value);
+    }
+
+    /**
+     * Primitive variant of {@link #add(Number)} for floating point values, used by exporters reading typed getters.
+     */
+    void addDouble(double value) {
+        double sum = floatingSum + value;
+        if(Math.abs(floatingSum) >= Math.abs(value)) {
+            compensation += (floatingSum - sum) + value;
+        } else {
+            compensation += (value - sum) + floatingSum;
+        }
+        floatingSum = sum;
+        hasFloating = true;
+        include(value);
+    }
+
+    private void include(double value) {
+        count++;
+        if(value < min)
+            min = value;
+        if(value > max)
+            max = value;
+    }
+
+    /**
+     * Adds the values of another aggregate to this one, e.g. when combining partial aggregates computed in parallel.
+     *
+     * @param other aggregate to include
+     * @return this
+     */
+    public ColumnAggregate merge(ColumnAggregate other) {
+
+        long result = integralSum + other.integralSum;
+        if(((integralSum ^ result) & (other.integralSum ^ result)) < 0) {
+            exactSum = exact().add(BigDecimal.valueOf(integralSum)).add(BigDecimal.valueOf(other.integralSum));
+            integralSum = 0;
+        } else {
+            integralSum = result;
+        }
+        if(other.exactSum != null)
+            exactSum = exact().add(other.exactSum);
+
+        if(other.hasFloating) {
+            double sum = floatingSum + other.floatingSum;
+            if(Math.abs(floatingSum) >= Math.abs(other.floatingSum)) {
+                compensation += (floatingSum - sum) + other.floatingSum;
+            } else {
+                compensation += (other.floatingSum - sum) + floatingSum;
+            }
+            floatingSum = sum;
+            compensation += other.compensation;
+            hasFloating = true;
+        }
+
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * @return number of numeric values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return sum of all values, exact for integral and {@link BigDecimal} values
+     */
+    public BigDecimal getSum() {
+        BigDecimal sum = exact().add(BigDecimal.valueOf(integralSum));
+        if(hasFloating)
+            sum = sum.add(BigDecimal.valueOf(floatingSum + compensation));
+        return sum;
+    }
+
+    /**
+     * @return sum in the type of the added values: {@link Long} for integral values only, {@link BigDecimal} when
+     * {@link BigDecimal} values were added or the {@code long} sum overflowed, otherwise {@link Double}
+     */
+    public Number getSumAsNumber() {
+        if(exactSum != null)
+            return getSum();
+        if(hasFloating)
+            return getSumAsDouble();
+        return integralSum;
+    }
+
+    public double getSumAsDouble() {
+        double sum = integralSum + floatingSum + compensation;
+        return exactSum == null ? sum : exactSum.doubleValue() + sum;
+    }
+
+    /**
+     * @return the smallest value or null if there are no values
+     */
+    public Double getMin() {
+        return count == 0 ? null : min;
+    }
+
+    /**
+     * @return the largest value or null if there are no values
+     */
+    public Double getMax() {
+        return count == 0 ? null : max;
+    }
+
+    /**
+     * @return arithmetic mean or null if there are no values
+     */
+    public Double getAverage() {
+        return count == 0 ? null : getSumAsDouble() / count;
+    }
+
+    /**
+     * @return value of the given function or null when it is undefined (MIN, MAX and AVERAGE of no values)
+     */
+    public Double value(SummaryFunction function) {
+        switch (function) {
+            case SUM:
+                return getSumAsDouble();
+            case COUNT:
+                return (double) count;
+            case MIN:
+                return getMin();
+            case MAX:
+                return getMax();
+            case AVERAGE:
+                return getAverage();
+            default:
+                throw new IllegalArgumentException("unsupported function " + function);
+        }
+    }
+
+    private BigDecimal exact() {
+        return exactSum == null ? BigDecimal.ZERO : exactSum;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnAggregate{count=" + count + ", sum=" + getSum() + ", min=" + getMin() + ", max=" + getMax() + '}';
+    }
+
+}
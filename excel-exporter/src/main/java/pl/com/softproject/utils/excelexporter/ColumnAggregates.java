@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.Arrays;
+import org.apache.poi.ss.util.CellReference;
+
+/**
+ * Agregaty wartości liczbowych kolumn bieżącego arkusza oraz wyliczanie komórek wiersza sumującego -
+ * wspólne dla {@link ExcelExporter} i {@link StreamingXlsxExporter}, tak aby oba eksportery zapisywały
+ * te same formuły i wartości.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+final class ColumnAggregates {
+
+    private static final String SUMMARY_FORMULA_PATTERN = "%s(%s%d:%s%d)";
+
+    private ColumnAggregate[] aggregates;
+    private int firstRow = -1;
+
+    void enable() {
+        if(aggregates == null) {
+            aggregates = new ColumnAggregate[0];
+            firstRow = -1;
+        }
+    }
+
+    void reset() {
+        if(aggregates != null) {
+            aggregates = new ColumnAggregate[0];
+            firstRow = -1;
+        }
+    }
+
+    /**
+     * Zapamiętuje numer pierwszego wiersza danych objętego agregatami.
+     *
+     * @param rowNumber numer zapisywanego wiersza danych (od 0)
+     */
+    void rowStarted(int rowNumber) {
+        if(aggregates != null && firstRow < 0)
+            firstRow = rowNumber;
+    }
+
+    void add(int column, Object value) {
+        if(aggregates != null && value instanceof Number)
+            aggregate(column).add((Number) value);
+    }
+
+    void add(int column, long value) {
+        if(aggregates != null)
+            aggregate(column).addLong(value);
+    }
+
+    void add(int column, double value) {
+        if(aggregates != null)
+            aggregate(column).addDouble(value);
+    }
+
+    ColumnAggregate get(int column) {
+        if(aggregates == null)
+            throw new IllegalStateException("column aggregates require enableAggregates() to be called first");
+        return column < aggregates.length && aggregates[column] != null ? aggregates[column] : new ColumnAggregate();
+    }
+
+    /**
+     * Sprawdza, czy wiersz sumujący może zawierać wartości wyliczone z agregatów: agregaty muszą być włączone,
+     * a zakres formuły wynikający z {@link SummaryRowConfig#getSkipFirstRows()} musi zaczynać się w pierwszym
+     * zagregowanym wierszu.
+     *
+     * @param config opcje wiersza sumującego
+     * @param firstDataRow pierwszy wiersz pod nagłówkiem (od 0), 0 jeśli nagłówka nie zapisano
+     * @throws IllegalStateException agregaty nie zostały włączone
+     * @throws IllegalArgumentException zakres formuły różni się od zakresu agregatów
+     */
+    void checkSummary(SummaryRowConfig config, int firstDataRow) {
+        if(config.getValueMode() == SummaryValueMode.FORMULA)
+            return;
+        if(aggregates == null)
+            throw new IllegalStateException("summary values require enableAggregates() to be called before rows are written");
+        int skipFirstRows = config.getSkipFirstRows();
+        if(firstRow >= 0 && Math.max(skipFirstRows, firstDataRow) != firstRow)
+            throw new IllegalArgumentException("skipFirstRows " + skipFirstRows + " excludes or adds rows to the "
+                    + "aggregated range starting at row " + (firstRow + 1) + ", use SummaryValueMode.FORMULA");
+    }
+
+    /**
+     * @param summaryRow numer wiersza sumującego (od 0), czyli numer ostatniego wiersza danych liczony od 1
+     * @return formuła komórki wiersza sumującego lub null w trybie {@link SummaryValueMode#VALUE}
+     */
+    static String summaryFormula(SummaryRowConfig config, int column, int summaryRow) {
+        if(config.getValueMode() == SummaryValueMode.VALUE)
+            return null;
+        String colLetter = CellReference.convertNumToColString(column);
+        return String.format(SUMMARY_FORMULA_PATTERN, config.getFunction().getExcelFunction(),
+                colLetter, config.getSkipFirstRows() + 1, colLetter, summaryRow);
+    }
+
+    /**
+     * @return wartość komórki wiersza sumującego wyliczona z agregatu lub null w trybie
+     * {@link SummaryValueMode#FORMULA} i dla kolumny bez wartości liczbowych
+     */
+    Double summaryValue(SummaryRowConfig config, int column) {
+        if(config.getValueMode() == SummaryValueMode.FORMULA)
+            return null;
+        return get(column).value(config.getFunction());
+    }
+
+    private ColumnAggregate aggregate(int column) {
+        if(column >= aggregates.length)
+            aggregates = Arrays.copyOf(aggregates, Math.max(column + 1, aggregates.length * 2));
+        ColumnAggregate aggregate = aggregates[column];
+        if(aggregate == null) {
+            aggregate = new ColumnAggregate();
+            aggregates[column] = aggregate;
+        }
+        return aggregate;
+    }
+}
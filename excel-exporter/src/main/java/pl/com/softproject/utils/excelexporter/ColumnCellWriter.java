@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.function.ToIntFunction;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+
+/**
+ * Writer związany z kolumną po zaobserwowaniu pierwszej niepustej wartości: typ wartości,
+ * sposób zapisu i rozwiązany styl komórki. Jeśli typ wartości w kolumnie się zmieni,
+ * exporter wiąże kolumnę ponownie.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+final class ColumnCellWriter {
+
+    /**
+     * typ wartości, dla którego writer został dobrany; null oznacza writer niezależny od typu (formatter)
+     */
+    private final Class<?> valueType;
+    private final CellWriter writer;
+    private final CellStyle style;
+    /**
+     * szacowana liczba znaków wartości, używana przez {@link ColumnWidthEstimator}
+     */
+    private final ToIntFunction<Object> width;
+
+    ColumnCellWriter(Class<?> valueType, CellWriter writer, CellStyle style, ToIntFunction<Object> width) {
+        this.valueType = valueType;
+        this.writer = writer;
+        this.style = style;
+        this.width = width;
+    }
+
+    boolean accepts(Object value) {
+        return valueType == null || valueType == value.getClass();
+    }
+
+    void write(Cell cell, Object value) {
+        writer.write(cell, value);
+        cell.setCellStyle(style);
+    }
+
+    int width(Object value) {
+        return width.applyAsInt(value);
+    }
+
+}
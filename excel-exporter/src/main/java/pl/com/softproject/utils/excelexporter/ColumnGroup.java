@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Grupa kolumn z nagłówkiem obejmującym nagłówki kolumn podrzędnych. Grupy mogą być zagnieżdżane - nagłówek
+ * arkusza ma wtedy tyle wierszy, ile wynosi najgłębsze zagnieżdżenie plus wiersz nagłówków kolumn.
+ *
+ * <pre>{@code
+ * exporter.addColumn(new ColumnDescriptor("Nazwa", "name"));
+ * exporter.addColumnGroup(new ColumnGroup("Adres")
+ *         .add(new ColumnDescriptor("Miasto", "address.city"))
+ *         .add(new ColumnGroup("Ulica")
+ *                 .add(new ColumnDescriptor("Nazwa", "address.street"))
+ *                 .add(new ColumnDescriptor("Numer", "address.number"))));
+ * }</pre>
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ * @see ExcelExporter#addColumnGroup(ColumnGroup)
+ */
+public class ColumnGroup {
+
+    private final String headerName;
+    private final List<Object> children = new ArrayList<>();
+
+    /**
+     * @param headerName - nagłówek grupy
+     */
+    public ColumnGroup(String headerName) {
+        this.headerName = headerName;
+    }
+
+    public ColumnGroup add(ColumnDescriptor column) {
+        children.add(column);
+        return this;
+    }
+
+    public ColumnGroup add(ColumnGroup group) {
+        children.add(group);
+        return this;
+    }
+
+    public String getHeaderName() {
+        return headerName;
+    }
+
+    /**
+     * @return kolumny grupy i grup zagnieżdżonych, w kolejności arkusza
+     */
+    public List<ColumnDescriptor> getLeafColumns() {
+        List<ColumnDescriptor> result = new ArrayList<>();
+        collectLeaves(result);
+        return result;
+    }
+
+    /**
+     * @return liczba wierszy nagłówka zajmowanych przez grupę i grupy zagnieżdżone, bez wiersza nagłówków kolumn
+     */
+    public int getDepth() {
+        int depth = 0;
+        for (Object child : children) {
+            if(child instanceof ColumnGroup)
+                depth = Math.max(depth, ((ColumnGroup) child).getDepth());
+        }
+        return depth + 1;
+    }
+
+    List<Object> children() {
+        return Collections.unmodifiableList(children);
+    }
+
+    private void collectLeaves(List<ColumnDescriptor> result) {
+        for (Object child : children) {
+            if(child instanceof ColumnGroup)
+                ((ColumnGroup) child).collectLeaves(result);
+            else
+                result.add((ColumnDescriptor) child);
+        }
+    }
+}
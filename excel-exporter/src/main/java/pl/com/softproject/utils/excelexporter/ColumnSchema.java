@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Niezmienny, zindeksowany zestaw kolumn arkusza: tablica opisów kolumn oraz mapa nazwa nagłówka → indeks.
+ * Tworzony przy zapisie nagłówka, tak aby zapis wierszy i wyszukiwanie kolumn po nazwie nie przechodziły po liście.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+final class ColumnSchema {
+
+    private final ColumnDescriptor[] descriptors;
+    private final Map<String, Integer> indexByHeader;
+
+    private ColumnSchema(ColumnDescriptor[] descriptors) {
+        this.descriptors = descriptors;
+        this.indexByHeader = new HashMap<>(descriptors.length * 2);
+        for (int i = 0; i < descriptors.length; i++) {
+            String headerName = descriptors[i].getHeaderName();
+            if(headerName != null)
+                indexByHeader.putIfAbsent(headerName, i);
+        }
+    }
+
+    static ColumnSchema of(List<ColumnDescriptor> columns) {
+        return new ColumnSchema(columns.toArray(new ColumnDescriptor[0]));
+    }
+
+    /**
+     * Zwraca zestaw kolumn aktualny dla listy kolumn eksportera: zapamiętany zestaw, jeśli liczba kolumn
+     * się nie zmieniła, lub nowy.
+     *
+     * @param cached zapamiętany zestaw lub null
+     * @param columns kolumny eksportera
+     */
+    static ColumnSchema current(ColumnSchema cached, List<ColumnDescriptor> columns) {
+        return cached != null && cached.size() == columns.size() ? cached : of(columns);
+    }
+
+    /**
+     * @return indeks pierwszej kolumny o podanym nagłówku lub -1
+     */
+    int indexOf(String headerName) {
+        Integer index = indexByHeader.get(headerName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return indeksy kolumn o podanych nagłówkach, z pominięciem nieznanych nagłówków
+     */
+    List<Integer> indicesOf(List<String> headerNames) {
+        return headerNames.stream()
+                .map(this::indexOf)
+                .filter(index -> index >= 0)
+                .collect(Collectors.toList());
+    }
+
+    ColumnDescriptor get(int index) {
+        return descriptors[index];
+    }
+
+    int size() {
+        return descriptors.length;
+    }
+
+    /**
+     * @return opisy kolumn w kolejności arkusza; tablica jest współdzielona i nie może być modyfikowana
+     */
+    ColumnDescriptor[] descriptors() {
+        return descriptors;
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Odczytuje wartości kolumn z beanów, wspólny dla wszystkich backendów zapisu. Accessory są kompilowane
+ * przy pierwszym wierszu danej klasy i przechowywane per {@link ColumnDescriptor}. Bezpieczny wielowątkowo.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+final class ColumnValueReader {
+
+    private static final int MAX_RETAINED_BUFFER = 8192;
+
+    private final Map<ColumnDescriptor, BoundAccessor> accessors = new ConcurrentHashMap<>();
+    private final Map<ConcatationColumnDescriptor, BoundConcat> concatAccessors = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringBuilder> concatBuffer = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    /**
+     * Zwraca wartość komórki: wartość property, wartość wyliczoną przez {@link EnumeratedColumnDescription}
+     * lub połączone wartości {@link ConcatationColumnDescriptor}, sformatowaną przez {@link ColumnValueFormatter}
+     * jeśli kolumna go definiuje.
+     *
+     * @return wartość komórki lub null, jeśli komórka ma pozostać pusta
+     */
+    Object cellValue(Object bean, ColumnDescriptor columnDescriptor, int rowNumber) {
+
+        if(columnDescriptor.getPropertyName() == null)
+            return null;
+
+        Object property;
+        if(columnDescriptor instanceof EnumeratedColumnDescription) {
+            property = ((EnumeratedColumnDescription<?>)columnDescriptor).getValue(rowNumber, bean);
+        } else if(columnDescriptor instanceof ConcatationColumnDescriptor) {
+            property = concat(bean, (ConcatationColumnDescriptor)columnDescriptor);
+        } else {
+            property = read(bean, columnDescriptor);
+        }
+
+        if(property == null || columnDescriptor.getColumnValueFormatter() == null)
+            return property;
+
+        return columnDescriptor.getColumnValueFormatter().format(property);
+    }
+
+    Object read(Object bean, ColumnDescriptor columnDescriptor) {
+
+        if(bean == null)
+            return null;
+
+        if(columnDescriptor instanceof AccessorColumnDescriptor)
+            return ((AccessorColumnDescriptor) columnDescriptor).getAccessor().get(bean);
+
+        BoundAccessor bound = accessors.get(columnDescriptor);
+        if(bound == null || bound.beanClass != bean.getClass()) {
+            bound = new BoundAccessor(bean.getClass(),
+                    PropertyAccessors.forProperty(bean.getClass(), columnDescriptor.getPropertyName()));
+            accessors.put(columnDescriptor, bound);
+        }
+        return bound.accessor.get(bean);
+    }
+
+    /**
+     * Łączy wartości kolumny {@link ConcatationColumnDescriptor} przez accessor skompilowany dla klasy beana,
+     * odczytując każde property raz, do bufora wielokrotnego użytku bieżącego wątku.
+     */
+    String concat(Object bean, ConcatationColumnDescriptor columnDescriptor) {
+
+        if(bean == null)
+            return "";
+
+        BoundConcat bound = concatAccessors.get(columnDescriptor);
+        if(bound == null || bound.beanClass != bean.getClass()
+                || bound.accessors.length != columnDescriptor.propertyNames.size() + 1) {
+            bound = new BoundConcat(bean.getClass(), columnDescriptor);
+            concatAccessors.put(columnDescriptor, bound);
+        }
+
+        StringBuilder sb = concatBuffer.get();
+        sb.setLength(0);
+
+        String separator = columnDescriptor.getSeparator() == null ? "" : columnDescriptor.getSeparator();
+        boolean skipNulls = columnDescriptor.isSkipNulls();
+        boolean first = true;
+        for (PropertyAccessor accessor : bound.accessors) {
+            Object value = accessor.get(bean);
+            if(value == null && skipNulls)
+                continue;
+            if(!first)
+                sb.append(separator);
+            if(value != null)
+                sb.append(value);
+            first = false;
+        }
+
+        String result = sb.toString();
+        if(sb.capacity() > MAX_RETAINED_BUFFER)
+            concatBuffer.remove();
+        return result;
+    }
+
+    private static final class BoundAccessor {
+
+        private final Class<?> beanClass;
+        private final PropertyAccessor accessor;
+
+        BoundAccessor(Class<?> beanClass, PropertyAccessor accessor) {
+            this.beanClass = beanClass;
+            this.accessor = accessor;
+        }
+    }
+
+    private static final class BoundConcat {
+
+        private final Class<?> beanClass;
+        private final PropertyAccessor[] accessors;
+
+        BoundConcat(Class<?> beanClass, ConcatationColumnDescriptor columnDescriptor) {
+            this.beanClass = beanClass;
+            this.accessors = new PropertyAccessor[columnDescriptor.propertyNames.size() + 1];
+            accessors[0] = PropertyAccessors.forProperty(beanClass, columnDescriptor.getPropertyName());
+            for (int i = 1; i < accessors.length; i++) {
+                accessors[i] = PropertyAccessors.forProperty(beanClass, columnDescriptor.propertyNames.get(i - 1));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.Arrays;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.ToIntFunction;
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * Szacuje szerokości kolumn na podstawie liczby znaków wartości zapisywanych w trakcie eksportu, bez
+ * renderowania czcionek (AWT). Dla każdej kolumny utrzymywany jest histogram długości, z którego wyliczane jest
+ * maksimum lub zadany percentyl; nagłówek kolumny wyznacza minimalną szerokość.
+ *
+ * <p>Długość wartości jest wyliczana bez formatowania do String - dla liczb z liczby cyfr i maski formatu,
+ * dla dat z długości maski.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+final class ColumnWidthEstimator {
+
+    /**
+     * maksymalna szerokość kolumny w Excelu, w znakach
+     */
+    static final int MAX_WIDTH = 255;
+
+    private static final int PADDING = 2;
+    private static final int GENERAL_NUMBER_WIDTH = 11;
+
+    private final double percentile;
+    private int[][] histograms = new int[0][];
+    private int[] counts = new int[0];
+    private int[] maxLengths = new int[0];
+    private int[] headerLengths = new int[0];
+
+    /**
+     * @param percentile percentyl długości wartości (0, 1], 1 oznacza najdłuższą wartość
+     */
+    ColumnWidthEstimator(double percentile) {
+        if(!(percentile > 0 && percentile <= 1))
+            throw new IllegalArgumentException("percentile must be in range (0, 1]");
+        this.percentile = percentile;
+    }
+
+    void record(int column, int length) {
+        ensureCapacity(column);
+        int bucket = Math.min(length, MAX_WIDTH);
+        int[] histogram = histograms[column];
+        if(histogram == null) {
+            histogram = new int[MAX_WIDTH + 1];
+            histograms[column] = histogram;
+        }
+        histogram[bucket]++;
+        counts[column]++;
+        if(bucket > maxLengths[column])
+            maxLengths[column] = bucket;
+    }
+
+    void recordHeader(int column, int length) {
+        ensureCapacity(column);
+        headerLengths[column] = Math.max(headerLengths[column], Math.min(length, MAX_WIDTH));
+    }
+
+    /**
+     * @return szacowana szerokość kolumny w znakach, bez marginesu
+     */
+    int widthInChars(int column) {
+        if(column >= counts.length)
+            return 0;
+        return Math.max(headerLengths[column], valueLength(column));
+    }
+
+    /**
+     * Ustawia szacowane szerokości we wszystkich kolumnach, dla których zarejestrowano nagłówek lub wartość.
+     */
+    void applyTo(Sheet sheet) {
+        for (int column = 0; column < counts.length; column++) {
+            int chars = widthInChars(column);
+            if(chars > 0)
+                sheet.setColumnWidth(column, Math.min(MAX_WIDTH, chars + PADDING) * 256);
+        }
+    }
+
+    void reset() {
+        histograms = new int[0][];
+        counts = new int[0];
+        maxLengths = new int[0];
+        headerLengths = new int[0];
+    }
+
+    private int valueLength(int column) {
+        if(counts[column] == 0)
+            return 0;
+        if(percentile == 1)
+            return maxLengths[column];
+
+        long target = (long) Math.ceil(percentile * counts[column]);
+        int[] histogram = histograms[column];
+        long cumulative = 0;
+        for (int length = 0; length <= MAX_WIDTH; length++) {
+            cumulative += histogram[length];
+            if(cumulative >= target)
+                return length;
+        }
+        return maxLengths[column];
+    }
+
+    private void ensureCapacity(int column) {
+        if(column < counts.length)
+            return;
+        int size = Math.max(column + 1, counts.length * 2);
+        histograms = Arrays.copyOf(histograms, size);
+        counts = Arrays.copyOf(counts, size);
+        maxLengths = Arrays.copyOf(maxLengths, size);
+        headerLengths = Arrays.copyOf(headerLengths, size);
+    }
+
+    static ToIntFunction<Object> text() {
+        return value -> textLength(value.toString());
+    }
+
+    static ToIntFunction<Object> other() {
+        return value -> textLength(value.toString().trim());
+    }
+
+    static ToIntFunction<Object> fixed(int length) {
+        return value -> length;
+    }
+
+    static ToIntFunction<Object> date(String formatMask, int defaultLength) {
+        return fixed(formatMask == null ? defaultLength : formatMask.length());
+    }
+
+    static ToIntFunction<Object> number(String formatMask) {
+        DoubleToIntFunction width = numberWidth(formatMask);
+        return value -> width.applyAsInt(((Number) value).doubleValue());
+    }
+
+    /**
+     * Wariant {@link #number(String)} dla wartości prymitywnych, bez opakowywania liczby w obiekt.
+     */
+    static DoubleToIntFunction numberWidth(String formatMask) {
+        if(formatMask == null) {
+            return number -> {
+                if(number == Math.rint(number) && Math.abs(number) < 1e11)
+                    return integerLength((long) number, false);
+                return GENERAL_NUMBER_WIDTH;
+            };
+        }
+
+        String section = formatMask.indexOf(';') < 0 ? formatMask : formatMask.substring(0, formatMask.indexOf(';'));
+        boolean grouping = section.indexOf(',') >= 0;
+        int decimals = 0;
+        int dot = section.indexOf('.');
+        if(dot >= 0) {
+            for (int i = dot + 1; i < section.length(); i++) {
+                char c = section.charAt(i);
+                if(c == '0' || c == '#' || c == '?')
+                    decimals++;
+            }
+        }
+        int fraction = decimals > 0 ? decimals + 1 : 0;
+        int suffix = section.indexOf('%') >= 0 ? 1 : 0;
+
+        return number -> {
+            if(Double.isNaN(number) || Double.isInfinite(number))
+                return 3;
+            long integral = Math.abs(number) >= 1e18 ? Long.MAX_VALUE : (long) number;
+            return integerLength(integral, grouping) + (number < 0 && integral == 0 ? 1 : 0) + fraction + suffix;
+        };
+    }
+
+    /**
+     * @return liczba znaków liczby całkowitej ze znakiem minus i opcjonalnymi separatorami tysięcy
+     */
+    static int integerLength(long value, boolean grouping) {
+        int length = value < 0 ? 1 : 0;
+        long remaining = value;
+        int digits = 0;
+        do {
+            digits++;
+            remaining /= 10;
+        } while (remaining != 0);
+        length += digits;
+        if(grouping)
+            length += (digits - 1) / 3;
+        return length;
+    }
+
+    /**
+     * @return długość najdłuższej linii tekstu
+     */
+    static int textLength(String value) {
+        int longest = 0;
+        int start = 0;
+        for (int i = value.indexOf('\n'); i >= 0; i = value.indexOf('\n', start)) {
+            longest = Math.max(longest, i - start);
+            start = i + 1;
+        }
+        return Math.max(longest, value.length() - start);
+    }
+
+}
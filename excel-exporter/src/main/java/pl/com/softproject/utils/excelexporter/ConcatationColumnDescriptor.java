@@ -15,12 +15,28 @@ import java.util.List;
  */
 public class ConcatationColumnDescriptor extends ColumnDescriptor {
 
+    public static final String DEFAULT_SEPARATOR = " ";
+
     protected List<String> propertyNames = new ArrayList<>();
+    private String separator = DEFAULT_SEPARATOR;
+    private boolean skipNulls = true;
 
     public ConcatationColumnDescriptor(String headerName, String propertyName) {
         super(headerName, propertyName);
     }
 
+    /**
+     * @param headerName - nazwa kolumny widoczna w nagłówku
+     * @param propertyName - nazwa pierwszego property
+     * @param separator - separator wstawiany między wartościami
+     * @param skipNulls - czy pomijać puste wartości (zob. {@link #setSkipNulls(boolean)})
+     */
+    public ConcatationColumnDescriptor(String headerName, String propertyName, String separator, boolean skipNulls) {
+        super(headerName, propertyName);
+        this.separator = separator;
+        this.skipNulls = skipNulls;
+    }
+
     public ColumnDescriptor conCat(String propertyName) {
         propertyNames.add(propertyName);
         return this;
@@ -34,4 +50,25 @@ public class ConcatationColumnDescriptor extends ColumnDescriptor {
         return result;
     }
 
+    public String getSeparator() {
+        return separator;
+    }
+
+    public void setSeparator(String separator) {
+        this.separator = separator;
+    }
+
+    public boolean isSkipNulls() {
+        return skipNulls;
+    }
+
+    /**
+     * Gdy true (domyślnie), puste wartości są pomijane razem z separatorem - separator występuje wyłącznie
+     * między wartościami niepustymi. Gdy false, pusta wartość jest zapisywana jako pusty napis, a separatory
+     * są zachowane, więc pozycje wartości w komórce są stałe.
+     */
+    public void setSkipNulls(boolean skipNulls) {
+        this.skipNulls = skipNulls;
+    }
+
 }
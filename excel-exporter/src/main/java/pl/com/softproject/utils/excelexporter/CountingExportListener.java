@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ExportListener} sumujący zdarzenia w licznikach, bezpieczny wielowątkowo. Liczniki są monotoniczne,
+ * więc można je wprost wystawić jako liczniki funkcyjne w bibliotece metryk, np. w Micrometer:
+ *
+ * <pre>
+ * CountingExportListener metrics = new CountingExportListener();
+ * FunctionCounter.builder("excel.export.rows", metrics, CountingExportListener::getRows).register(registry);
+ * FunctionCounter.builder("excel.export.temp.bytes", metrics, CountingExportListener::getTempBytesWritten)
+ *         .baseUnit("bytes").register(registry);
+ * exporter.setExportListener(metrics);
+ * </pre>
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public class CountingExportListener implements ExportListener {
+
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder cells = new LongAdder();
+    private final LongAdder rowsFlushed = new LongAdder();
+    private final LongAdder tempBytesWritten = new LongAdder();
+    private final LongAdder stylesCreated = new LongAdder();
+    private final LongAdder saves = new LongAdder();
+    private final LongAdder extractNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder saveNanos = new LongAdder();
+
+    @Override
+    public void rowWritten(int cells, long extractNanos, long writeNanos) {
+        this.rows.increment();
+        this.cells.add(cells);
+        this.extractNanos.add(extractNanos);
+        this.writeNanos.add(writeNanos);
+    }
+
+    @Override
+    public void rowFlushed() {
+        rowsFlushed.increment();
+    }
+
+    @Override
+    public void tempBytesWritten(long bytes) {
+        tempBytesWritten.add(bytes);
+    }
+
+    @Override
+    public void styleCreated() {
+        stylesCreated.increment();
+    }
+
+    @Override
+    public void saved(long nanos, long tempBytesWritten) {
+        saves.increment();
+        saveNanos.add(nanos);
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getCells() {
+        return cells.sum();
+    }
+
+    public long getRowsFlushed() {
+        return rowsFlushed.sum();
+    }
+
+    public long getTempBytesWritten() {
+        return tempBytesWritten.sum();
+    }
+
+    public long getStylesCreated() {
+        return stylesCreated.sum();
+    }
+
+    public long getSaves() {
+        return saves.sum();
+    }
+
+    public long getExtractTime(TimeUnit unit) {
+        return unit.convert(extractNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getWriteTime(TimeUnit unit) {
+        return unit.convert(writeNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getSaveTime(TimeUnit unit) {
+        return unit.convert(saveNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return liczba wierszy na sekundę czasu spędzonego na odczycie i zapisie komórek, 0 gdy brak wierszy
+     */
+    public double getRowsPerSecond() {
+        long nanos = extractNanos.sum() + writeNanos.sum();
+        return nanos == 0 ? 0 : rows.sum() * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "CountingExportListener{rows=" + getRows()
+                + ", cells=" + getCells()
+                + ", rowsFlushed=" + getRowsFlushed()
+                + ", tempBytesWritten=" + getTempBytesWritten()
+                + ", stylesCreated=" + getStylesCreated()
+                + ", extractMs=" + getExtractTime(TimeUnit.MILLISECONDS)
+                + ", writeMs=" + getWriteTime(TimeUnit.MILLISECONDS)
+                + ", saveMs=" + getSaveTime(TimeUnit.MILLISECONDS)
+                + '}';
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Zapisuje wiersze do pliku CSV lub TSV na podstawie tych samych {@link ColumnDescriptor} co {@link ExcelExporter}
+ * (łącznie z {@link ConcatationColumnDescriptor}, {@link EnumeratedColumnDescription},
+ * {@link CollectionColumnDescriptor} i {@link ColumnValueFormatter}).
+ *
+ * <p>Wiersz jest składany we współdzielonym buforze i zapisywany do {@link Writer} jednym wywołaniem;
+ * liczby i daty są zapisywane bez tworzenia pośrednich obiektów String. Pola zawierające separator, cudzysłów
+ * lub znak końca linii są ujmowane w cudzysłowy zgodnie z RFC 4180. Style kolumn (maski formatu, kolory)
+ * nie mają zastosowania - daty zapisywane są jako {@code yyyy-MM-dd} i {@code yyyy-MM-dd HH:mm:ss},
+ * liczby z kropką dziesiętną.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public class CsvExporter implements Closeable, Flushable {
+
+    public static final char COMMA = ',';
+    public static final char SEMICOLON = ';';
+    public static final char TAB = '\t';
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final double MAX_EXACT_LONG = 0x1p53;
+
+    protected List<ColumnDescriptor> columns = new LinkedList<>();
+    protected int currentRowNumber;
+
+    private final Writer out;
+    private final char separator;
+    private final ColumnValueReader valueReader = new ColumnValueReader();
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] buffer = new char[256];
+    private String lineSeparator = "\r\n";
+    private boolean writeHeader = true;
+    private ZoneId zone = ZoneId.systemDefault();
+
+    public CsvExporter(@NotNull Writer out) {
+        this(out, COMMA);
+    }
+
+    /**
+     * @param out docelowy Writer, nie jest buforowany przez exporter
+     * @param separator separator pól, np. {@link #COMMA} lub {@link #TAB}
+     */
+    public CsvExporter(@NotNull Writer out, char separator) {
+        if(separator == '"' || separator == '\r' || separator == '\n')
+            throw new IllegalArgumentException("illegal separator: " + separator);
+        this.out = out;
+        this.separator = separator;
+    }
+
+    public CsvExporter(@NotNull OutputStream out, @NotNull Charset charset, char separator) {
+        this(new BufferedWriter(new OutputStreamWriter(out, charset), 1 << 16), separator);
+    }
+
+    public static CsvExporter csv(@NotNull Writer out) {
+        return new CsvExporter(out, COMMA);
+    }
+
+    public static CsvExporter tsv(@NotNull Writer out) {
+        return new CsvExporter(out, TAB);
+    }
+
+    public CsvExporter addColumn(ColumnDescriptor columnDescriptor) {
+        columns.add(columnDescriptor);
+        return this;
+    }
+
+    /**
+     * Dodaje kolumny klasy opisanej adnotacjami {@link ExcelColumn}, w kolejności eksportu.
+     *
+     * @param type klasa eksportowanych obiektów
+     * @return this
+     * @see ExcelRowWriters#forType(Class)
+     */
+    public CsvExporter addColumns(Class<?> type) {
+        ExcelRowWriters.forType(type).columns().forEach(this::addColumn);
+        return this;
+    }
+
+    public void clearColumns() {
+        columns.clear();
+    }
+
+    /**
+     * @param writeHeader czy przed pierwszym wierszem zapisać wiersz z nagłówkami kolumn (domyślnie tak)
+     */
+    public void setWriteHeader(boolean writeHeader) {
+        this.writeHeader = writeHeader;
+    }
+
+    /**
+     * @param lineSeparator separator wierszy, domyślnie {@code \r\n} zgodnie z RFC 4180
+     */
+    public void setLineSeparator(@NotNull String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * @param zone strefa czasowa, w której zapisywane są wartości {@link Date}, {@link Instant},
+     *             {@link OffsetDateTime} i {@link ZonedDateTime}, domyślnie systemowa
+     */
+    public void setZone(@NotNull ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Dodaje wiersz pobierając dane z dostarczonego beana. Numeracja wierszy przekazywana do
+     * {@link EnumeratedColumnDescription} jest taka sama jak w {@link ExcelExporter}.
+     *
+     * @param bean JavaBean z danymi do wstawienia w wierszu
+     */
+    public void createRow(Object bean) {
+
+        if(currentRowNumber == 0) {
+            if(writeHeader) {
+                line.setLength(0);
+                boolean first = true;
+                for (ColumnDescriptor column : columns) {
+                    if(!first)
+                        line.append(separator);
+                    first = false;
+                    if(column.getHeaderName() != null)
+                        appendText(column.getHeaderName());
+                }
+                writeLine();
+            }
+            currentRowNumber++;
+        }
+
+        line.setLength(0);
+        boolean first = true;
+        for (ColumnDescriptor column : columns) {
+            if(!first)
+                line.append(separator);
+            first = false;
+            appendValue(column, valueReader.cellValue(bean, column, currentRowNumber));
+        }
+        writeLine();
+        currentRowNumber++;
+    }
+
+    public int writeAll(Stream<?> beans) {
+        return writeAll(beans.iterator());
+    }
+
+    public int writeAll(Iterable<?> beans) {
+        return writeAll(beans.iterator());
+    }
+
+    public int writeAll(Iterator<?> beans) {
+        int written = 0;
+        while (beans.hasNext()) {
+            createRow(beans.next());
+            written++;
+        }
+        return written;
+    }
+
+    public boolean isEmpty() {
+        return currentRowNumber == 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void appendValue(ColumnDescriptor column, Object value) {
+
+        if(value == null)
+            return;
+
+        if(column.getColumnValueFormatter() != null || value instanceof String) {
+            appendText(value.toString());
+        } else if(value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            line.append(((Number) value).longValue());
+        } else if(value instanceof Double || value instanceof Float) {
+            appendFloating((Number) value);
+        } else if(value instanceof BigDecimal) {
+            line.append(((BigDecimal) value).toPlainString());
+        } else if(value instanceof LocalDate) {
+            appendDate((LocalDate) value);
+        } else if(value instanceof LocalDateTime) {
+            appendDateTime((LocalDateTime) value);
+        } else if(value instanceof Date) {
+            appendDateTime(LocalDateTime.ofInstant(((Date) value).toInstant(), zone));
+        } else if(value instanceof Instant) {
+            appendDateTime(LocalDateTime.ofInstant((Instant) value, zone));
+        } else if(value instanceof OffsetDateTime) {
+            appendDateTime(LocalDateTime.ofInstant(((OffsetDateTime) value).toInstant(), zone));
+        } else if(value instanceof ZonedDateTime) {
+            appendDateTime(LocalDateTime.ofInstant(((ZonedDateTime) value).toInstant(), zone));
+        } else {
+            appendText(value.toString().trim());
+        }
+    }
+
+    /**
+     * Zapisuje liczbę zmiennoprzecinkową w notacji dziesiętnej, tak jak {@link BigDecimal#toPlainString()},
+     * zamiast notacji wykładniczej {@link Double#toString(double)} (np. 1.0E7).
+     */
+    private void appendFloating(Number value) {
+        double abs = Math.abs(value.doubleValue());
+        if(Double.isNaN(abs) || Double.isInfinite(abs)) {
+            line.append(value);
+        } else if(abs == 0 || (abs >= 1e-3 && abs < 1e7)) {
+            if(value instanceof Float)
+                line.append(value.floatValue());
+            else
+                line.append(value.doubleValue());
+        } else if(value instanceof Float || !appendScaled(value.doubleValue())) {
+            line.append(new BigDecimal(value.toString()).stripTrailingZeros().toPlainString());
+        }
+    }
+
+    /**
+     * Zapisuje liczbę jako liczbę całkowitą {@code m} z przecinkiem przesuniętym o {@code k} miejsc, dla
+     * najmniejszego {@code k}, przy którym {@code m / 10^k} daje z powrotem tę samą liczbę - bez tworzenia obiektów.
+     *
+     * @return false, jeśli liczba wymaga więcej cyfr znaczących, niż można dokładnie sprawdzić w arytmetyce double
+     */
+    private boolean appendScaled(double value) {
+        double abs = Math.abs(value);
+        for (int k = 0; k < POWERS_OF_TEN.length; k++) {
+            double scaled = abs * POWERS_OF_TEN[k];
+            if(scaled >= MAX_EXACT_LONG)
+                return false;
+            if(scaled != Math.rint(scaled))
+                continue;
+            long digits = (long) scaled;
+            if(digits / POWERS_OF_TEN[k] != abs)
+                continue;
+            if(value < 0)
+                line.append('-');
+            int start = line.length();
+            line.append(digits);
+            int length = line.length() - start;
+            if(k >= length) {
+                line.insert(start, "0.");
+                for (int i = length; i < k; i++) {
+                    line.insert(start + 2, '0');
+                }
+            } else if(k > 0) {
+                line.insert(line.length() - k, '.');
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void appendDate(LocalDate date) {
+        int year = date.getYear();
+        if(year < 1000 || year > 9999) {
+            line.append(year);
+        } else {
+            appendPadded(year, 4);
+        }
+        line.append('-');
+        appendPadded(date.getMonthValue(), 2);
+        line.append('-');
+        appendPadded(date.getDayOfMonth(), 2);
+    }
+
+    private void appendDateTime(LocalDateTime dateTime) {
+        appendDate(dateTime.toLocalDate());
+        LocalTime time = dateTime.toLocalTime();
+        line.append(' ');
+        appendPadded(time.getHour(), 2);
+        line.append(':');
+        appendPadded(time.getMinute(), 2);
+        line.append(':');
+        appendPadded(time.getSecond(), 2);
+    }
+
+    private void appendPadded(int value, int width) {
+        for (int limit = 10, digits = 1; digits < width; limit *= 10, digits++) {
+            if(value < limit)
+                line.append('0');
+        }
+        line.append(value);
+    }
+
+    private void appendText(String value) {
+
+        boolean quote = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if(c == separator || c == '"' || c == '\r' || c == '\n') {
+                quote = true;
+                break;
+            }
+        }
+
+        if(!quote) {
+            line.append(value);
+            return;
+        }
+
+        line.append('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if(value.charAt(i) == '"') {
+                line.append(value, start, i + 1).append('"');
+                start = i + 1;
+            }
+        }
+        line.append(value, start, value.length()).append('"');
+    }
+
+    private void writeLine() {
+        line.append(lineSeparator);
+        int length = line.length();
+        if(buffer.length < length)
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        line.getChars(0, length, buffer, 0);
+        try {
+            out.write(buffer, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Oznacza property rekordu lub POJO jako kolumnę eksportu. Dla klas z adnotowanymi polami lub metodami procesor
+ * {@code ExcelColumnProcessor} generuje w czasie kompilacji klasę {@code <Klasa>_ExcelRowWriter} odczytującą
+ * wartości bez refleksji; bez procesora kolumny są budowane z adnotacji w czasie działania
+ * (zob. {@link ExcelRowWriters#forType(Class)}).
+ *
+ * <p>Na komponencie rekordu adnotacja trafia do pola i metody dostępowej, kolumna jest tworzona raz.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ExcelColumn {
+
+    /**
+     * @return nagłówek kolumny, domyślnie nazwa property
+     */
+    String header() default "";
+
+    /**
+     * @return pozycja kolumny - kolumny są sortowane rosnąco, przy równych wartościach najpierw pola w kolejności
+     * deklaracji, potem metody alfabetycznie wg nazwy property
+     */
+    int order() default Integer.MAX_VALUE;
+
+    /**
+     * @return maska formatu Excela, np. {@code #,##0.00}, domyślnie format wynikający z typu wartości
+     */
+    String format() default "";
+
+    /**
+     * @return styl komórek kolumny
+     */
+    ColumnStyleType style() default ColumnStyleType.DEFAULT;
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+/**
+ * Zamienia wartości dat i czasu bezpośrednio na liczbę seryjną Excela (dni od 1899-12-30 z częścią ułamkową),
+ * bez tworzenia pośrednich {@link Date} i {@link java.util.Calendar}.
+ *
+ * <p>Wartości lokalne ({@link LocalDate}, {@link LocalDateTime}) są zapisywane tak, jak są - Excel nie zna stref
+ * czasowych. Wartości wskazujące chwilę w czasie ({@link Instant}, {@link Date}, {@code OffsetDateTime},
+ * {@code ZonedDateTime}) są przeliczane na czas lokalny strefy exportera. Przesunięcie strefy jest zapamiętywane
+ * dla bieżącego okresu między zmianami czasu, więc kolejne wartości z tego okresu nie odpytują reguł strefy.
+ *
+ * <p>Daty sprzed 1900-03-01 (okres objęty błędem roku przestępnego 1900 w Excelu) są przeliczane przez
+ * {@link DateUtil}. Klasa nie jest bezpieczna wielowątkowo.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+final class ExcelDateConverter {
+
+    /**
+     * liczba seryjna dnia 1970-01-01
+     */
+    private static final long EPOCH_DAY_SERIAL = 25569;
+    private static final long FIRST_DIRECT_EPOCH_DAY = LocalDate.of(1900, 3, 1).toEpochDay();
+    private static final double MILLIS_PER_DAY = 86_400_000d;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+
+    private long offsetValidFrom = Long.MAX_VALUE;
+    private long offsetValidTo = Long.MIN_VALUE;
+    private int offsetSeconds;
+
+    ExcelDateConverter(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+    }
+
+    ZoneId getZone() {
+        return zone;
+    }
+
+    double serial(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if(epochDay < FIRST_DIRECT_EPOCH_DAY)
+            return DateUtil.getExcelDate(date);
+        return epochDay + EPOCH_DAY_SERIAL;
+    }
+
+    double serial(LocalDateTime dateTime) {
+        long epochDay = dateTime.toLocalDate().toEpochDay();
+        if(epochDay < FIRST_DIRECT_EPOCH_DAY)
+            return DateUtil.getExcelDate(dateTime);
+        long millisOfDay = dateTime.toLocalTime().toNanoOfDay() / 1_000_000;
+        return epochDay + EPOCH_DAY_SERIAL + millisOfDay / MILLIS_PER_DAY;
+    }
+
+    double serial(Date date) {
+        long millis = date.getTime();
+        return serial(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000);
+    }
+
+    double serial(Instant instant) {
+        return serial(instant.getEpochSecond(), instant.getNano());
+    }
+
+    /**
+     * @param epochSecond sekundy od 1970-01-01T00:00:00Z
+     * @param nanos nanosekundy w sekundzie
+     */
+    double serial(long epochSecond, int nanos) {
+        long localSecond = epochSecond + offsetAt(epochSecond);
+        long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        if(epochDay < FIRST_DIRECT_EPOCH_DAY)
+            return DateUtil.getExcelDate(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nanos), zone));
+        long millisOfDay = Math.floorMod(localSecond, SECONDS_PER_DAY) * 1000 + nanos / 1_000_000;
+        return epochDay + EPOCH_DAY_SERIAL + millisOfDay / MILLIS_PER_DAY;
+    }
+
+    private int offsetAt(long epochSecond) {
+
+        if(epochSecond >= offsetValidFrom && epochSecond < offsetValidTo)
+            return offsetSeconds;
+
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        offsetSeconds = rules.getOffset(instant).getTotalSeconds();
+
+        if(rules.isFixedOffset()) {
+            offsetValidFrom = Long.MIN_VALUE;
+            offsetValidTo = Long.MAX_VALUE;
+        } else {
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            offsetValidFrom = previous == null ? Long.MIN_VALUE : previous.toEpochSecond();
+            offsetValidTo = next == null ? Long.MAX_VALUE : next.toEpochSecond();
+        }
+        return offsetSeconds;
+    }
+
+}
@@ -4,29 +4,59 @@
 
 package pl.com.softproject.utils.excelexporter;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.math.BigDecimal;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import jodd.bean.BeanUtil;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleToIntFunction;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.hssf.util.HSSFColor;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DataFormat;
-import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.Row;
@@ -35,8 +65,6 @@ import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
-import org.apache.poi.xssf.usermodel.DefaultIndexedColorMap;
-import org.apache.poi.xssf.usermodel.XSSFColor;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -48,11 +76,11 @@ import org.jetbrains.annotations.NotNull;
 @Slf4j
 public class ExcelExporter implements Closeable {
 
-    private static final String SUM_FORMULA_PATTERN = "SUM(%s%d:%s%d)";
     private static final int DEFAULT_WINDOW_SIZE = 100;
     
     protected List<ColumnDescriptor> columns = new LinkedList<>();
     protected List<ColumnDescriptor> additionalColumns = new LinkedList<>();
+    private final List<HeaderGroup> columnGroups = new ArrayList<>();
     protected OutputStream out;
     protected String sheetName;
     protected SXSSFSheet sheet;
@@ -61,6 +89,31 @@ public class ExcelExporter implements Closeable {
     protected int currentRowNumber;
     protected int currentColumnNumber;
     private boolean autoSizingPrepared = false;
+    private ColumnWidthEstimator widthEstimator;
+    private final ColumnAggregates aggregates = new ColumnAggregates();
+    private ColumnSchema schema;
+    private ExcelDateConverter dateConverter = new ExcelDateConverter(ZoneId.systemDefault());
+    private int compressionLevel;
+    private final ExcelExporterConfig config;
+    private final LongAdder tempBytesWritten;
+    private ExportListener listener;
+    private int rowCells;
+    private long rowExtractNanos;
+    private long rowWriteNanos;
+    private int windowSize;
+    private int pipelineThreads = 1;
+    private List<ColumnDescriptor> headerAdditionalColumns;
+
+    private int sheetRolloverThreshold;
+    private String baseSheetName;
+    private int sheetPart = 1;
+
+    private int workbookRolloverThreshold;
+    private WorkbookPartSink workbookPartSink;
+    private Executor workbookPartExecutor;
+    private int workbookPart = 1;
+    private int rowsInWorkbook;
+    private final List<CompletableFuture<Void>> pendingWorkbookParts = new ArrayList<>();
 
     protected DataFormat format;
     protected CellStyle styleMoney;
@@ -69,16 +122,91 @@ public class ExcelExporter implements Closeable {
     protected CellStyle styleDefault;
     protected CellStyle styleDateNoTime;
 
-    private final Map<ColumnStyleDescriptor, CellStyle> styles = new HashMap<>();
+    private final Map<ColumnStyleDescriptor, CellStyle> styles;
+    private StyleRegistry styleRegistry;
+    private final boolean attached;
+    private final ColumnValueReader valueReader = new ColumnValueReader();
+    private ColumnCellWriter[] cellWriters = new ColumnCellWriter[0];
+    private ColumnDescriptor[] cellWriterColumns = new ColumnDescriptor[0];
 
     public ExcelExporter(String sheetName) {
-        this.sheetName = sheetName;
-        init(DEFAULT_WINDOW_SIZE);
+        this(sheetName, DEFAULT_WINDOW_SIZE);
     }
 
     public ExcelExporter(String sheetName, int windowSize) {
+        this(sheetName, ExcelExporterConfig.builder().windowSize(windowSize).build());
+    }
+
+    /**
+     * Tworzy exporter ze skoroszytem SXSSF skonfigurowanym przez {@link ExcelExporterConfig}: rozmiar okna
+     * wierszy, kompresja i katalog plików tymczasowych, tablica współdzielonych napisów oraz tryb zip64.
+     *
+     * @param sheetName nazwa pierwszego arkusza
+     * @param config konfiguracja skoroszytu
+     */
+    public ExcelExporter(String sheetName, @NotNull ExcelExporterConfig config) {
         this.sheetName = sheetName;
-        init(windowSize);
+        this.baseSheetName = sheetName;
+        this.styles = new HashMap<>();
+        this.attached = false;
+        this.config = config;
+        this.tempBytesWritten = new LongAdder();
+        setCompressionLevel(config.getCompressionLevel());
+        init(config.getWindowSize());
+    }
+
+    /**
+     * Tworzy exporter zapisujący OOXML bezpośrednio do strumienia, bez modelu obiektowego POI i plików
+     * tymczasowych. Przeznaczony do dużych, jednoprzebiegowych eksportów.
+     *
+     * @param sheetName nazwa pierwszego arkusza
+     * @param out strumień docelowy, nie jest zamykany
+     * @return exporter strumieniowy
+     * @see StreamingXlsxExporter
+     */
+    public static StreamingXlsxExporter streaming(String sheetName, OutputStream out) {
+        return new StreamingXlsxExporter(sheetName, out);
+    }
+
+    /**
+     * Tworzy exporter arkusza w skoroszycie exportera nadrzędnego, ze wspólnymi stylami.
+     */
+    private ExcelExporter(ExcelExporter parent, String sheetName, SXSSFSheet sheet) {
+        this.sheetName = sheetName;
+        this.baseSheetName = sheetName;
+        this.styles = parent.styles;
+        this.attached = true;
+        this.config = parent.config;
+        this.tempBytesWritten = parent.tempBytesWritten;
+        this.listener = parent.listener;
+        this.compressionLevel = parent.compressionLevel;
+        this.windowSize = parent.windowSize;
+        this.wb = parent.wb;
+        this.styleRegistry = parent.styleRegistry;
+        this.sheet = sheet;
+        this.format = parent.format;
+        this.styleMoney = parent.styleMoney;
+        this.styleDate = parent.styleDate;
+        this.styleDateNoTime = parent.styleDateNoTime;
+        this.styleDefault = parent.styleDefault;
+        this.styleHeader = parent.styleHeader;
+        this.dateConverter = new ExcelDateConverter(parent.dateConverter.getZone());
+    }
+
+    /**
+     * Tworzy nowy arkusz w tym skoroszycie i zwraca exporter zapisujący wyłącznie do niego.
+     * Exportery kolejnych arkuszy mogą być wypełniane równolegle, każdy z innego wątku - każdy arkusz
+     * SXSSF ma własny plik tymczasowy, a style są deduplikowane we wspólnym, synchronizowanym rejestrze.
+     * Wyjątkiem jest skoroszyt z {@link ExcelExporterConfig#isUseSharedStrings()} - tablica wspólnych napisów
+     * nie jest synchronizowana, więc takie arkusze trzeba wypełniać kolejno.
+     * Zapis skoroszytu odbywa się przez exporter nadrzędny.
+     *
+     * @param sheetName nazwa nowego arkusza
+     * @return exporter związany z nowym arkuszem
+     * @see ParallelSheetExporter
+     */
+    public ExcelExporter sheetExporter(String sheetName) {
+        return new ExcelExporter(this, sheetName, newSheet(sheetName));
     }
 
     /**
@@ -91,6 +219,33 @@ public class ExcelExporter implements Closeable {
      */
     public ExcelExporter addColumn(ColumnDescriptor columnDescriptor) {
         columns.add(columnDescriptor);
+        schema = null;
+        return this;
+    }
+
+    /**
+     * Dodaje kolumny klasy opisanej adnotacjami {@link ExcelColumn}, w kolejności eksportu.
+     *
+     * @param type klasa eksportowanych obiektów
+     * @return this
+     * @see ExcelRowWriters#forType(Class)
+     */
+    public ExcelExporter addColumns(Class<?> type) {
+        ExcelRowWriters.forType(type).columns().forEach(this::addColumn);
+        return this;
+    }
+
+    /**
+     * Dodaje kolumny grupy. Nagłówek arkusza staje się wielowierszowy: nagłówki grup są scalane nad nagłówkami
+     * swoich kolumn, a nagłówki kolumn spoza grup są scalane pionowo przez wszystkie wiersze nagłówka.
+     * Obszary scalone nagłówka są dodawane jedną partią, bez sprawdzania nakładania się obszarów.
+     *
+     * @param group grupa kolumn
+     * @return this
+     */
+    public ExcelExporter addColumnGroup(ColumnGroup group) {
+        columnGroups.add(new HeaderGroup(group, columns.size()));
+        group.getLeafColumns().forEach(this::addColumn);
         return this;
     }
 
@@ -104,6 +259,8 @@ public class ExcelExporter implements Closeable {
      */
     public void clearColumns() {
         columns.clear();
+        columnGroups.clear();
+        schema = null;
     }
 
     /**
@@ -116,10 +273,12 @@ public class ExcelExporter implements Closeable {
         if(currentRowNumber == 0)
             createHeaderRow();
 
-        Row row = sheet.createRow(currentRowNumber);
-        for(ColumnDescriptor column : columns) {
+        Row row = createDataRow();
+        for(ColumnDescriptor column : schema().descriptors()) {
             createCell(row, bean, column);
         }
+        if(listener != null)
+            notifyRowWritten();
         currentColumnNumber = 0;
         currentRowNumber++;
     }
@@ -135,10 +294,12 @@ public class ExcelExporter implements Closeable {
         if (currentRowNumber == columnDescriptorHeaderRow)
             createHeaderRow();
 
-        Row row = sheet.createRow(currentRowNumber);
-        for (ColumnDescriptor column : columns) {
+        Row row = createDataRow();
+        for (ColumnDescriptor column : schema().descriptors()) {
             createCell(row, bean, column);
         }
+        if(listener != null)
+            notifyRowWritten();
         currentColumnNumber = 0;
         currentRowNumber++;
     }
@@ -153,32 +314,324 @@ public class ExcelExporter implements Closeable {
             createHeaderRowWithAdditional(additionalColumns);
         }
 
-        Row row = sheet.createRow(currentRowNumber);
-        for(ColumnDescriptor column : columns) {
+        Row row = createDataRow();
+        for(ColumnDescriptor column : schema().descriptors()) {
             createCell(row, bean, column);
         }
-        for(ColumnDescriptor column : additionalColumns) {
-            if(additionalBeans != null && additionalColumns.indexOf(column) < additionalBeans.size())
-                createCell(row, additionalBeans.get(additionalColumns.indexOf(column)), column);
+        if(additionalBeans != null) {
+            Iterator<Object> additionalBean = additionalBeans.iterator();
+            for(ColumnDescriptor column : additionalColumns) {
+                if(!additionalBean.hasNext())
+                    break;
+                createCell(row, additionalBean.next(), column);
+            }
         }
+        if(listener != null)
+            notifyRowWritten();
         currentColumnNumber = 0;
         currentRowNumber++;
     }
 
-    public int getColumnIndex(String headerName) {
+    /**
+     * Włącza automatyczne przechodzenie do nowego arkusza po osiągnięciu podanej liczby wierszy
+     * (łącznie z nagłówkiem). Kolejne arkusze otrzymują nazwy {@code nazwa (2)}, {@code nazwa (3)}, ...,
+     * powtórzony wiersz nagłówka i szerokości kolumn z poprzedniego arkusza.
+     *
+     * @param maxRowsPerSheet maksymalna liczba wierszy w arkuszu, 0 wyłącza podział;
+     *                        nie może przekraczać limitu formatu XLSX (1 048 576)
+     */
+    public void setSheetRolloverThreshold(int maxRowsPerSheet) {
+        if(maxRowsPerSheet < 0 || maxRowsPerSheet > SpreadsheetVersion.EXCEL2007.getMaxRows())
+            throw new IllegalArgumentException("maxRowsPerSheet must be between 0 and " + SpreadsheetVersion.EXCEL2007.getMaxRows());
+        this.sheetRolloverThreshold = maxRowsPerSheet;
+    }
+
+    /**
+     * Włącza podział eksportu na osobne skoroszyty po zapisaniu podanej liczby wierszy danych.
+     * Zapełniony skoroszyt jest zapisywany do strumienia z {@link WorkbookPartSink}, a eksport kontynuowany
+     * w nowym skoroszycie z tym samym arkuszem i nagłówkiem. Ostatnią część zapisuje {@link #completeWorkbookParts()}.
+     *
+     * @param rowsPerWorkbook liczba wierszy danych w jednej części
+     * @param sink dostawca strumieni dla kolejnych części
+     * @param executor executor, na którym zapisywane są zapełnione części; null oznacza zapis w wątku eksportu
+     */
+    public void setWorkbookRollover(int rowsPerWorkbook, @NotNull WorkbookPartSink sink, Executor executor) {
+        if(attached)
+            throw new IllegalStateException("workbook rollover is not supported for sheet exporters");
+        if(rowsPerWorkbook < 1)
+            throw new IllegalArgumentException("rowsPerWorkbook must be positive");
+        this.workbookRolloverThreshold = rowsPerWorkbook;
+        this.workbookPartSink = sink;
+        this.workbookPartExecutor = executor;
+    }
+
+    /**
+     * Zapisuje bieżący skoroszyt jako ostatnią część i czeka na zakończenie zapisu wszystkich części.
+     *
+     * @return liczba zapisanych części
+     * @throws IOException błąd zapisu którejkolwiek z części
+     */
+    public int completeWorkbookParts() throws IOException {
+        if(workbookPartSink == null)
+            throw new IllegalStateException("completeWorkbookParts() requires setWorkbookRollover() to be called first");
 
-        int result = 0;
-        boolean finded = false;
+        try (OutputStream os = workbookPartSink.open(workbookPart)) {
+            wb.write(os);
+        }
+        try {
+            CompletableFuture.allOf(pendingWorkbookParts.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof UncheckedIOException)
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            throw e;
+        } finally {
+            pendingWorkbookParts.clear();
+        }
+        return workbookPart;
+    }
 
-        for(ColumnDescriptor column : columns) {
-            if(headerName.equals(column.getHeaderName())) {
-                finded=true;
-                break;
+    /**
+     * Tworzy kolejny wiersz danych, w razie potrzeby przechodząc do nowego arkusza lub skoroszytu.
+     *
+     * @return utworzony wiersz o numerze {@code currentRowNumber}
+     */
+    protected Row createDataRow() {
+
+        if(workbookRolloverThreshold > 0 && rowsInWorkbook >= workbookRolloverThreshold) {
+            rolloverWorkbook();
+        } else if(sheetRolloverThreshold > 0 && currentRowNumber >= sheetRolloverThreshold) {
+            rolloverSheet();
+        }
+
+        rowsInWorkbook++;
+        aggregates.rowStarted(currentRowNumber);
+        return sheet.createRow(currentRowNumber);
+    }
+
+    private void rolloverSheet() {
+
+        if(widthEstimator != null)
+            widthEstimator.applyTo(sheet);
+        int[] widths = columnWidths();
+        sheetPart++;
+        sheetName = baseSheetName + " (" + sheetPart + ")";
+        sheet = newSheet(sheetName);
+        if(autoSizingPrepared)
+            sheet.trackAllColumnsForAutoSizing();
+        for (int i = 0; i < widths.length; i++) {
+            sheet.setColumnWidth(i, widths[i]);
+        }
+        resetAggregates();
+        log.debug("sheet row limit reached, continuing in sheet {}", sheetName);
+        repeatHeader();
+    }
+
+    private void rolloverWorkbook() {
+
+        SXSSFWorkbook full = wb;
+        int part = workbookPart++;
+        if(widthEstimator != null)
+            widthEstimator.applyTo(sheet);
+        int[] widths = columnWidths();
+
+        if(workbookPartExecutor == null) {
+            writeWorkbookPart(full, part);
+        } else {
+            pendingWorkbookParts.add(CompletableFuture.runAsync(() -> writeWorkbookPart(full, part), workbookPartExecutor));
+        }
+
+        sheetPart = 1;
+        sheetName = baseSheetName;
+        rowsInWorkbook = 0;
+        init(windowSize);
+        if(autoSizingPrepared)
+            sheet.trackAllColumnsForAutoSizing();
+        for (int i = 0; i < widths.length; i++) {
+            sheet.setColumnWidth(i, widths[i]);
+        }
+        resetAggregates();
+        log.debug("workbook row limit reached, continuing in workbook part {}", workbookPart);
+        repeatHeader();
+    }
+
+    private void writeWorkbookPart(SXSSFWorkbook part, int partNumber) {
+        try (OutputStream os = workbookPartSink.open(partNumber)) {
+            long start = System.nanoTime();
+            part.write(os);
+            part.close();
+            notifySaved(start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("can't write workbook part " + partNumber, e);
+        }
+    }
+
+    private int[] columnWidths() {
+        if(header == null)
+            return new int[0];
+        int[] widths = new int[Math.max(0, header.getLastCellNum())];
+        for (int i = 0; i < widths.length; i++) {
+            widths[i] = sheet.getColumnWidth(i);
+        }
+        return widths;
+    }
+
+    private void repeatHeader() {
+        currentRowNumber = 0;
+        currentColumnNumber = 0;
+        if(headerAdditionalColumns != null)
+            createHeaderRowWithAdditional(headerAdditionalColumns);
+        else
+            createHeaderRow();
+    }
+
+    /**
+     * Ustawia liczbę wątków, na których {@code writeAll} odczytuje i formatuje wartości wierszy.
+     * Dla wartości większej niż 1 właściwości beanów oraz {@link ColumnValueFormatter} muszą być bezpieczne
+     * wielowątkowo. Wartości {@link EnumeratedColumnDescription} są zawsze wyliczane na wątku zapisującym,
+     * w kolejności wierszy.
+     *
+     * @param pipelineThreads liczba wątków roboczych, 1 oznacza zapis sekwencyjny
+     */
+    public void setPipelineThreads(int pipelineThreads) {
+        if(pipelineThreads < 1)
+            throw new IllegalArgumentException("pipelineThreads must be positive");
+        this.pipelineThreads = pipelineThreads;
+    }
+
+    /**
+     * Zapisuje wszystkie wiersze ze strumienia. Strumień jest konsumowany leniwie, nie jest zamykany.
+     *
+     * @param beans strumień JavaBeanów z danymi
+     * @return liczba zapisanych wierszy
+     */
+    public int writeAll(Stream<?> beans) {
+        return writeAll(beans.iterator());
+    }
+
+    public int writeAll(Iterable<?> beans) {
+        return writeAll(beans.iterator());
+    }
+
+    public int writeAll(Spliterator<?> beans) {
+        return writeAll(Spliterators.iterator(beans));
+    }
+
+    /**
+     * Zapisuje wszystkie wiersze z iteratora. Jeśli ustawiono {@link #setPipelineThreads(int)} większe niż 1,
+     * wartości są odczytywane na wątkach roboczych, a wiersze dopisywane do arkusza w kolejności iteratora
+     * przez wątek wywołujący.
+     *
+     * @param beans iterator JavaBeanów z danymi, np. kursor bazy danych
+     * @return liczba zapisanych wierszy
+     */
+    public int writeAll(Iterator<?> beans) {
+
+        if(pipelineThreads <= 1) {
+            int written = 0;
+            while (beans.hasNext()) {
+                createRow(beans.next());
+                written++;
             }
-            result++;
+            return written;
         }
 
-        return finded ? result : -1;
+        ExecutorService executor = Executors.newFixedThreadPool(pipelineThreads, runnable -> {
+            Thread thread = new Thread(runnable, "excel-exporter-" + sheetName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return writeAll(beans, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Zapisuje wszystkie wiersze z iteratora, odczytując wartości na podanym executorze. Liczba wierszy
+     * przetwarzanych jednocześnie jest ograniczona do rozmiaru okna SXSSF, więc pamięć pozostaje ograniczona
+     * niezależnie od liczby wierszy w źródle.
+     *
+     * @param beans iterator JavaBeanów z danymi
+     * @param executor executor, na którym odczytywane są wartości wierszy
+     * @return liczba zapisanych wierszy
+     */
+    public int writeAll(Iterator<?> beans, Executor executor) {
+
+        ColumnDescriptor[] rowColumns = schema().descriptors();
+        int capacity = Math.max(1, windowSize);
+        Deque<CompletableFuture<ExtractedRow>> inFlight = new ArrayDeque<>(capacity);
+        int written = 0;
+
+        try {
+            while (beans.hasNext()) {
+                Object bean = beans.next();
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> extractRow(bean, rowColumns), executor));
+                if(inFlight.size() >= capacity) {
+                    writeExtractedRow(inFlight.removeFirst().join(), rowColumns);
+                    written++;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                writeExtractedRow(inFlight.removeFirst().join(), rowColumns);
+                written++;
+            }
+        } catch (CompletionException e) {
+            inFlight.forEach(future -> future.cancel(true));
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+        return written;
+    }
+
+    private ExtractedRow extractRow(Object bean, ColumnDescriptor[] rowColumns) {
+        long start = listener == null ? 0 : System.nanoTime();
+        Object[] values = new Object[rowColumns.length];
+        for (int i = 0; i < rowColumns.length; i++) {
+            ColumnDescriptor column = rowColumns[i];
+            if(column.getPropertyName() != null && !(column instanceof EnumeratedColumnDescription))
+                values[i] = extractCellValue(bean, column, -1);
+        }
+        return new ExtractedRow(bean, values, listener == null ? 0 : System.nanoTime() - start);
+    }
+
+    private void writeExtractedRow(ExtractedRow extracted, ColumnDescriptor[] rowColumns) {
+
+        if(currentRowNumber == 0)
+            createHeaderRow();
+
+        long start = listener == null ? 0 : System.nanoTime();
+        Row row = createDataRow();
+        for (int i = 0; i < rowColumns.length; i++) {
+            ColumnDescriptor column = rowColumns[i];
+            Object value = column instanceof EnumeratedColumnDescription
+                    ? extractCellValue(extracted.bean, column, currentRowNumber)
+                    : extracted.values[i];
+            writeCell(row, column, value);
+            if(listener != null && value != null)
+                rowCells++;
+        }
+        if(listener != null) {
+            rowExtractNanos = extracted.extractNanos;
+            rowWriteNanos = System.nanoTime() - start;
+            notifyRowWritten();
+        }
+        currentColumnNumber = 0;
+        currentRowNumber++;
+    }
+
+    public int getColumnIndex(String headerName) {
+        return schema().indexOf(headerName);
+    }
+
+    /**
+     * Zwraca zindeksowany zestaw kolumn arkusza. Zestaw jest zamrażany przy zapisie nagłówka i tworzony
+     * ponownie dopiero po zmianie kolumn.
+     */
+    private ColumnSchema schema() {
+        schema = ColumnSchema.current(schema, columns);
+        return schema;
     }
 
     /**
@@ -189,9 +642,11 @@ public class ExcelExporter implements Closeable {
      * @throws IOException inne błędy IO
      */
     public void save(File outputFile) throws IOException {
+        long start = System.nanoTime();
         OutputStream os = Files.newOutputStream(outputFile.toPath());
         wb.write(os);
         os.close();
+        notifySaved(start);
     }
 
     /**
@@ -202,7 +657,108 @@ public class ExcelExporter implements Closeable {
      * @throws IOException inne błędy IO
      */
     public void save(OutputStream os) throws IOException {
+        long start = System.nanoTime();
         wb.write(os);
+        notifySaved(start);
+    }
+
+    /**
+     * Ustawia poziom kompresji pliku wynikowego, od {@link Deflater#NO_COMPRESSION} do
+     * {@link Deflater#BEST_COMPRESSION}, lub {@link Deflater#DEFAULT_COMPRESSION}. Przy braku kompresji
+     * i zapisie do pliku przez {@link #saveAsync(Path, Executor)} części skoroszytu są zapisywane metodą STORED.
+     *
+     * @param compressionLevel poziom kompresji
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if(compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("compression level must be in range -1..9");
+        this.compressionLevel = compressionLevel;
+        if(wb instanceof ExporterWorkbook)
+            ((ExporterWorkbook) wb).setCompressionLevel(compressionLevel);
+    }
+
+    /**
+     * Zwraca liczbę bajtów zapisanych dotąd do plików tymczasowych arkuszy (po kompresji, jeśli jest włączona),
+     * łącznie dla wszystkich arkuszy i części skoroszytu. Może być odczytywana z innego wątku w trakcie eksportu.
+     *
+     * @return liczba bajtów zapisanych na dysk
+     */
+    public long getTempBytesWritten() {
+        return tempBytesWritten.sum();
+    }
+
+    /**
+     * Zapisuje skoroszyt do pliku na podanym executorze, nie blokując wątku wywołującego. Pliki tymczasowe
+     * arkuszy są usuwane zaraz po przepisaniu do pliku wynikowego, dlatego po wywołaniu exporter nie może być
+     * dalej używany - poza {@link #close()}.
+     *
+     * @param path plik docelowy, tworzony lub nadpisywany
+     * @param executor executor, na którym odbywa się zapis
+     * @return future zakończony po zapisaniu i zamknięciu pliku
+     */
+    public CompletableFuture<Void> saveAsync(@NotNull Path path, @NotNull Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writeAndRelease(channel);
+            } catch (IOException e) {
+                throw new UncheckedIOException("can't save workbook to " + path, e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Zapisuje skoroszyt do kanału na podanym executorze, nie blokując wątku wywołującego, np. bezpośrednio
+     * do odpowiedzi HTTP. Kanał nie jest zamykany. Po wywołaniu exporter nie może być dalej używany - poza
+     * {@link #close()}.
+     *
+     * @param channel kanał docelowy
+     * @param executor executor, na którym odbywa się zapis
+     * @return future zakończony po zapisaniu skoroszytu
+     */
+    public CompletableFuture<Void> saveAsync(@NotNull WritableByteChannel channel, @NotNull Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                writeAndRelease(channel);
+            } catch (IOException e) {
+                throw new UncheckedIOException("can't save workbook", e);
+            }
+        }, executor);
+    }
+
+    private void writeAndRelease(WritableByteChannel channel) throws IOException {
+
+        long start = System.nanoTime();
+        OutputStream os = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+        SeekableByteChannel seekable = channel instanceof SeekableByteChannel ? (SeekableByteChannel) channel : null;
+        ((ExporterWorkbook) wb).writeAndRelease(os, seekable);
+        os.flush();
+        notifySaved(start);
+    }
+
+    /**
+     * Instaluje listener zdarzeń eksportu, np. {@link CountingExportListener} lub {@link JfrExportListener}.
+     * Bez listenera exporter nie mierzy czasów. Exportery arkuszy utworzone później przez
+     * {@link #sheetExporter(String)} przejmują listener.
+     *
+     * @param listener listener lub null, aby go usunąć
+     */
+    public void setExportListener(ExportListener listener) {
+        this.listener = listener;
+        if(wb instanceof ExporterWorkbook)
+            ((ExporterWorkbook) wb).setListener(listener);
+    }
+
+    private void notifyRowWritten() {
+        listener.rowWritten(rowCells, rowExtractNanos, rowWriteNanos);
+        rowCells = 0;
+        rowExtractNanos = 0;
+        rowWriteNanos = 0;
+    }
+
+    private void notifySaved(long start) {
+        if(listener != null)
+            listener.saved(System.nanoTime() - start, tempBytesWritten.sum());
     }
 
     /**
@@ -215,12 +771,38 @@ public class ExcelExporter implements Closeable {
         autoSizingPrepared = true;
     }
 
+    /**
+     * Włącza szacowanie szerokości kolumn na podstawie długości zapisywanych wartości, bez renderowania
+     * czcionek. Szerokości są ustawiane przez {@link #autoSizeAllColumns()} na podstawie najdłuższej wartości
+     * w kolumnie. Alternatywa dla {@link #prepareAutoSizing()} dla dużych eksportów i środowisk bez AWT.
+     */
+    public void enableWidthEstimation() {
+        enableWidthEstimation(1.0);
+    }
+
+    /**
+     * Włącza szacowanie szerokości kolumn, w którym szerokość wyznacza percentyl długości wartości zamiast
+     * maksimum - pojedyncze bardzo długie wartości nie poszerzają wtedy całej kolumny. Nagłówek zawsze
+     * mieści się w kolumnie.
+     *
+     * @param percentile percentyl z zakresu (0, 1], np. 0.95
+     */
+    public void enableWidthEstimation(double percentile) {
+        widthEstimator = new ColumnWidthEstimator(percentile);
+        if(header != null)
+            recordHeaderWidths();
+    }
+
     /**
      * Ustawia dla wszystkich wypełnionych kolumn szerokość na auto-size.
      *
-     * Wymaga wcześniejszego wywołania {@link #prepareAutoSizing()}.
+     * Wymaga wcześniejszego wywołania {@link #prepareAutoSizing()} lub {@link #enableWidthEstimation()}.
      */
     public void autoSizeAllColumns() {
+        if (widthEstimator != null) {
+            widthEstimator.applyTo(sheet);
+            return;
+        }
         if (!autoSizingPrepared) {
             throw new IllegalStateException(
                 "autoSizeAllColumns() requires prepareAutoSizing() to be called first"
@@ -234,6 +816,9 @@ public class ExcelExporter implements Closeable {
     }
 
     private void init(int windowSize) {
+        this.windowSize = windowSize;
+        styles.clear();
+        clearCellWriters();
         createExcelSheet(windowSize);
         format = wb.createDataFormat();
         initDefaultCellStyles();
@@ -244,52 +829,55 @@ public class ExcelExporter implements Closeable {
         styleMoney = createCellStyle(new ColumnStyleDescriptor("#,##0.00", ColumnStyleType.DEFAULT));
         styleDate = createCellStyle(new ColumnStyleDescriptor("yyyy-mm-dd hh:mm", ColumnStyleType.DEFAULT));
         styleDateNoTime = createCellStyle(new ColumnStyleDescriptor("yyyy-mm-dd", ColumnStyleType.DEFAULT));
-        styleDefault = wb.createCellStyle();
+        styleDefault = style(StyleKey.DEFAULT);
     }
 
     protected void initHeaderStyle() {
-        Font font = wb.createFont();
-        font.setBold(true);
-        styleHeader = wb.createCellStyle();
-        styleHeader.setAlignment(HorizontalAlignment.CENTER);
-        styleHeader.setFont(font);
+        styleHeader = style(StyleKey.builder().bold(true).alignment(HorizontalAlignment.CENTER).build());
     }
 
     protected CellStyle createCellStyle(ColumnStyleDescriptor columnStyleDescriptor) {
+        synchronized (styles) {
+            return createCellStyleUnsynchronized(columnStyleDescriptor);
+        }
+    }
+
+    private CellStyle createCellStyleUnsynchronized(ColumnStyleDescriptor columnStyleDescriptor) {
 
-        CellStyle cellStyle;
-        if(styles.containsKey(columnStyleDescriptor)){
-            cellStyle = styles.get(columnStyleDescriptor);
+        CellStyle cellStyle = styles.get(columnStyleDescriptor);
+        if(cellStyle != null)
             return cellStyle;
-        } else {
-            cellStyle = wb.createCellStyle();
-        }
 
-        if(columnStyleDescriptor.getExcelFormatMask() != null)
-            cellStyle.setDataFormat(format.getFormat(columnStyleDescriptor.getExcelFormatMask()));
-        if(columnStyleDescriptor.getType() != null) {
-            if (columnStyleDescriptor.getType().equals(ColumnStyleType.ERROR)) {
-                cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-                cellStyle.setFillForegroundColor(HSSFColor.HSSFColorPredefined.RED.getIndex());
-            }
-            if (columnStyleDescriptor.getType().equals(ColumnStyleType.SUCCESS)) {
-                cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-                cellStyle.setFillForegroundColor(HSSFColor.HSSFColorPredefined.GREEN.getIndex());
-            }
-            if (columnStyleDescriptor.getType().equals(ColumnStyleType.WARNING)) {
-                cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-                cellStyle.setFillForegroundColor(HSSFColor.HSSFColorPredefined.YELLOW.getIndex());
-            }
-            if (columnStyleDescriptor.getType().equals(ColumnStyleType.BLUE)) {
-                cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-                cellStyle.setFillForegroundColor(HSSFColor.HSSFColorPredefined.LIGHT_BLUE.getIndex());
-            }
-        }
+        cellStyle = styleUnsynchronized(StyleKey.builder()
+                .format(columnStyleDescriptor.getExcelFormatMask())
+                .fillColor(StyleKey.fillColor(columnStyleDescriptor.getType()))
+                .build());
 
         styles.put(columnStyleDescriptor, cellStyle);
         return cellStyle;
     }
 
+    /**
+     * Zwraca styl skoroszytu o podanych atrybutach z {@link StyleRegistry} - kolejne wywołania z równym kluczem
+     * zwracają ten sam, współdzielony styl, który nie powinien być modyfikowany.
+     *
+     * @param key atrybuty stylu
+     * @return współdzielony styl skoroszytu
+     */
+    public CellStyle style(@NotNull StyleKey key) {
+        synchronized (styles) {
+            return styleUnsynchronized(key);
+        }
+    }
+
+    private CellStyle styleUnsynchronized(StyleKey key) {
+        int before = styleRegistry.size();
+        CellStyle style = styleRegistry.style(key);
+        if(listener != null && styleRegistry.size() > before)
+            listener.styleCreated();
+        return style;
+    }
+
     protected CellStyle cellStyleFromColumnDescriptor(ColumnStyleDescriptor columnStyleDescriptor) {
         return createCellStyle(columnStyleDescriptor);
     }
@@ -313,16 +901,37 @@ public class ExcelExporter implements Closeable {
     }
 
     protected void createExcelSheet(int windowSize) {
-        wb = new SXSSFWorkbook(windowSize);
+        ExporterWorkbook workbook = new ExporterWorkbook(config, windowSize, tempBytesWritten);
+        workbook.setCompressionLevel(compressionLevel);
+        workbook.setListener(listener);
+        wb = workbook;
+        styleRegistry = StyleRegistry.forWorkbook(workbook);
         sheet = wb.createSheet(sheetName);
     }
 
     public void addSheet(String name) {
         sheetName = name;
-        sheet = wb.createSheet(name);
+        baseSheetName = name;
+        sheetPart = 1;
+        sheet = newSheet(name);
         currentColumnNumber = 0;
         currentRowNumber = 0;
         clearColumns();
+        if(widthEstimator != null)
+            widthEstimator.reset();
+        resetAggregates();
+    }
+
+    private SXSSFSheet newSheet(String name) {
+        synchronized (styles) {
+            return wb.createSheet(name);
+        }
+    }
+
+    private void recordHeaderWidths() {
+        for (Cell cell : header) {
+            widthEstimator.recordHeader(cell.getColumnIndex(), ColumnWidthEstimator.textLength(cell.getStringCellValue()));
+        }
     }
 
     public Workbook getWorkbook() {
@@ -330,6 +939,7 @@ public class ExcelExporter implements Closeable {
     }
 
     protected void createHeaderRow() {
+        headerAdditionalColumns = null;
         createRowAndCells();
         currentColumnNumber = 0;
         currentRowNumber++;
@@ -341,6 +951,7 @@ public class ExcelExporter implements Closeable {
 
     protected void createHeaderRowWithAdditional(List<ColumnDescriptor> additionalColumns) {
 
+        headerAdditionalColumns = additionalColumns;
         createRowAndCells();
         createCells(additionalColumns);
 
@@ -349,21 +960,124 @@ public class ExcelExporter implements Closeable {
     }
 
     private void createRowAndCells() {
+        if(columnGroups.isEmpty()) {
+            header = sheet.createRow(currentRowNumber);
+            schema = ColumnSchema.of(columns);
+            createCells(columns);
+            return;
+        }
+
+        int depth = 0;
+        for (HeaderGroup group : columnGroups) {
+            depth = Math.max(depth, group.group.getDepth());
+        }
+
+        Row[] groupRows = new Row[depth];
+        for (int i = 0; i < depth; i++) {
+            groupRows[i] = sheet.createRow(currentRowNumber++);
+        }
         header = sheet.createRow(currentRowNumber);
-        createCells(columns);
+        schema = ColumnSchema.of(columns);
+        List<CellRangeAddress> spans = new ArrayList<>();
+        createCells(columns, spans);
+
+        List<CellRangeAddress> regions = new ArrayList<>();
+        int[] leafLevels = new int[columns.size()];
+        for (HeaderGroup group : columnGroups) {
+            createGroupCells(group.group, 0, group.firstColumn, groupRows, leafLevels, regions);
+        }
+
+        boolean[] spanned = new boolean[columns.size()];
+        for (CellRangeAddress span : spans) {
+            int first = span.getFirstColumn();
+            int last = Math.min(span.getLastColumn(), columns.size() - 1);
+            int level = leafLevels[first];
+            for (int column = first; column <= last; column++) {
+                spanned[column] = true;
+                if(leafLevels[column] != level)
+                    level = depth;
+            }
+            if(level < depth && last == span.getLastColumn()) {
+                Cell top = groupRows[level].createCell(first);
+                top.setCellValue(columns.get(first).getHeaderName());
+                top.setCellStyle(styleHeader);
+                regions.add(new CellRangeAddress(top.getRowIndex(), header.getRowNum(), first, last));
+            } else {
+                regions.add(span);
+            }
+        }
+
+        for (int column = 0; column < leafLevels.length; column++) {
+            if(leafLevels[column] < depth && !spanned[column]) {
+                Cell top = groupRows[leafLevels[column]].createCell(column);
+                top.setCellValue(columns.get(column).getHeaderName());
+                top.setCellStyle(styleHeader);
+                regions.add(new CellRangeAddress(top.getRowIndex(), header.getRowNum(), column, column));
+            }
+        }
+        addHeaderRegions(regions);
+    }
+
+    private int createGroupCells(ColumnGroup group, int level, int firstColumn, Row[] groupRows, int[] leafLevels,
+                                 List<CellRangeAddress> regions) {
+
+        Cell cell = groupRows[level].createCell(firstColumn);
+        cell.setCellValue(group.getHeaderName());
+        cell.setCellStyle(styleHeader);
+
+        int column = firstColumn;
+        for (Object child : group.children()) {
+            if(child instanceof ColumnGroup) {
+                column += createGroupCells((ColumnGroup) child, level + 1, column, groupRows, leafLevels, regions);
+            } else {
+                leafLevels[column++] = level + 1;
+            }
+        }
+
+        int width = column - firstColumn;
+        if(width > 1)
+            regions.add(new CellRangeAddress(cell.getRowIndex(), cell.getRowIndex(), firstColumn, column - 1));
+        return width;
     }
 
     private void createCells(List<ColumnDescriptor> columns) {
+        List<CellRangeAddress> regions = new ArrayList<>();
+        createCells(columns, regions);
+        addHeaderRegions(regions);
+    }
+
+    /**
+     * Tworzy komórki nagłówka. Scalenia kolumn obejmujących kilka kolumn arkusza trafiają do {@code regions}
+     * w kolejności kolumn; nakładające się scalenia są odrzucane od razu.
+     */
+    private void createCells(List<ColumnDescriptor> columns, List<CellRangeAddress> regions) {
+        int lastSpanned = -1;
         for(ColumnDescriptor column : columns) {
             Cell cell = header.createCell(currentColumnNumber++);
             cell.setCellValue(column.getHeaderName());
             cell.setCellStyle(styleHeader);
+            if(widthEstimator != null)
+                widthEstimator.recordHeader(cell.getColumnIndex(), ColumnWidthEstimator.textLength(column.getHeaderName()));
             if(column.getColumns() != null && column.getColumns() > 1){
-                sheet.addMergedRegion(new CellRangeAddress(cell.getRowIndex(), cell.getRowIndex(), cell.getColumnIndex(), cell.getColumnIndex() + column.getColumns() - 1));
+                if(cell.getColumnIndex() <= lastSpanned)
+                    throw new IllegalStateException("header " + column.getHeaderName() + " overlaps the merged header "
+                            + "ending at column " + CellReference.convertNumToColString(lastSpanned));
+                lastSpanned = cell.getColumnIndex() + column.getColumns() - 1;
+                regions.add(new CellRangeAddress(cell.getRowIndex(), cell.getRowIndex(), cell.getColumnIndex(), lastSpanned));
             }
         }
     }
 
+    /**
+     * Scala obszary nagłówka bez sprawdzania nakładania: grupy tworzą drzewo, scalenia pionowe pomijają kolumny
+     * rozciągnięte na kilka kolumn arkusza, a te są rozłączne (sprawdzane w {@link #createCells(List, List)}).
+     */
+    private void addHeaderRegions(List<CellRangeAddress> regions) {
+        for (CellRangeAddress region : regions) {
+            sheet.addMergedRegionUnsafe(region);
+        }
+    }
+
     protected void createCell(Row row, Object bean, ColumnDescriptor columnDescriptor) {
 
         if(columnDescriptor.getPropertyName() == null) {
@@ -371,72 +1085,212 @@ public class ExcelExporter implements Closeable {
             return;
         }
 
+        if(listener == null) {
+            writeCell(row, columnDescriptor, extractCellValue(bean, columnDescriptor, currentRowNumber));
+            return;
+        }
+
+        long start = System.nanoTime();
+        Object value = extractCellValue(bean, columnDescriptor, currentRowNumber);
+        long extracted = System.nanoTime();
+        writeCell(row, columnDescriptor, value);
+        rowExtractNanos += extracted - start;
+        rowWriteNanos += System.nanoTime() - extracted;
+        if(value != null)
+            rowCells++;
+    }
+
+    /**
+     * Odczytuje z beana wartość komórki. Dla kolumn z {@link ColumnValueFormatter} zwraca wartość już sformatowaną.
+     *
+     * @param bean JavaBean z danymi
+     * @param columnDescriptor opis kolumny
+     * @param rowNumber numer wiersza, dla którego odczytywana jest wartość
+     * @return wartość komórki lub null, jeśli komórka ma pozostać pusta
+     */
+    protected Object extractCellValue(Object bean, ColumnDescriptor columnDescriptor, int rowNumber) {
+
         Object property;
 
         if(columnDescriptor instanceof EnumeratedColumnDescription) {
-            property = ((EnumeratedColumnDescription<?>)columnDescriptor).getValue(currentRowNumber, bean);
+            property = ((EnumeratedColumnDescription<?>)columnDescriptor).getValue(rowNumber, bean);
         } else if(columnDescriptor instanceof ConcatationColumnDescriptor) {
             property = getMultiProperty(bean, (ConcatationColumnDescriptor)columnDescriptor);
         }
         else
             property = getProperty(bean, columnDescriptor);
 
-        if(property == null) {
-            currentColumnNumber++;
+        if(property == null || columnDescriptor.getColumnValueFormatter() == null)
+            return property;
+
+        return columnDescriptor.getColumnValueFormatter().format(property);
+    }
+
+    private void writeCell(Row row, ColumnDescriptor columnDescriptor, Object value) {
+
+        int index = currentColumnNumber++;
+        if(value == null)
             return;
+
+        Cell cell = row.createCell(index);
+        ColumnCellWriter writer = cellWriter(index, columnDescriptor, value);
+        writer.write(cell, value);
+        if(widthEstimator != null)
+            widthEstimator.record(index, writer.width(value));
+        aggregates.add(index, value);
+    }
+
+    /**
+     * Metody {@code write*Cell} zapisują wartość prymitywną do kolejnej komórki wiersza bez pośredniego obiektu
+     * wartości - dla exporterów odczytujących dane typowanymi getterami (np. {@link ResultSetExcelExporter}).
+     * Tak jak {@link #createCell(Row, Object, ColumnDescriptor)} aktualizują agregaty, szacowanie szerokości
+     * i licznik komórek {@link ExportListener}. Czas odczytu i zapisu takiej komórki jest mierzony łącznie
+     * przez {@link #startCell()} i {@link #finishCell(long)}.
+     */
+    void writeLongCell(Row row, long value, CellStyle style, DoubleToIntFunction width) {
+        Cell cell = nextCell(row, style);
+        cell.setCellValue(value);
+        if(widthEstimator != null)
+            widthEstimator.record(cell.getColumnIndex(), width.applyAsInt(value));
+        aggregates.add(cell.getColumnIndex(), value);
+    }
+
+    void writeDoubleCell(Row row, double value, CellStyle style, DoubleToIntFunction width) {
+        Cell cell = nextCell(row, style);
+        cell.setCellValue(value);
+        if(widthEstimator != null)
+            widthEstimator.record(cell.getColumnIndex(), width.applyAsInt(value));
+        aggregates.add(cell.getColumnIndex(), value);
+    }
+
+    void writeBooleanCell(Row row, boolean value, CellStyle style, int width) {
+        Cell cell = nextCell(row, style);
+        cell.setCellValue(value);
+        if(widthEstimator != null)
+            widthEstimator.record(cell.getColumnIndex(), width);
+    }
+
+    void writeDateCell(Row row, LocalDate value, CellStyle style, int width) {
+        writeSerialCell(row, dateConverter.serial(value), style, width);
+    }
+
+    void writeDateCell(Row row, Date value, CellStyle style, int width) {
+        writeSerialCell(row, dateConverter.serial(value), style, width);
+    }
+
+    /**
+     * Pomija kolejną komórkę wiersza (wartość null) w zapisie metodami {@code write*Cell}.
+     */
+    void skipCell() {
+        currentColumnNumber++;
+    }
+
+    /**
+     * @return początek pomiaru czasu zapisu komórki dla {@link ExportListener}, 0 gdy listener nie jest ustawiony
+     */
+    long startCell() {
+        return listener == null ? 0 : System.nanoTime();
+    }
+
+    void finishCell(long start) {
+        if(listener != null)
+            rowWriteNanos += System.nanoTime() - start;
+    }
+
+    private void writeSerialCell(Row row, double serial, CellStyle style, int width) {
+        Cell cell = nextCell(row, style);
+        cell.setCellValue(serial);
+        if(widthEstimator != null)
+            widthEstimator.record(cell.getColumnIndex(), width);
+    }
+
+    private Cell nextCell(Row row, CellStyle style) {
+        Cell cell = row.createCell(currentColumnNumber++);
+        cell.setCellStyle(style);
+        if(listener != null)
+            rowCells++;
+        return cell;
+    }
+
+    /**
+     * Zwraca writer związany z kolumną arkusza o podanym indeksie. Writer jest wiązany ponownie, gdy pod indeksem
+     * znajdzie się inna kolumna (np. po zmianie kolumn) lub zmieni się typ wartości.
+     */
+    private ColumnCellWriter cellWriter(int index, ColumnDescriptor columnDescriptor, Object value) {
+
+        if(index < cellWriters.length) {
+            ColumnCellWriter writer = cellWriters[index];
+            if(writer != null && cellWriterColumns[index] == columnDescriptor && writer.accepts(value))
+                return writer;
+        } else {
+            int length = Math.max(index + 1, cellWriters.length * 2);
+            cellWriters = Arrays.copyOf(cellWriters, length);
+            cellWriterColumns = Arrays.copyOf(cellWriterColumns, length);
         }
 
-        Cell cell;
+        ColumnCellWriter writer = bindCellWriter(columnDescriptor, value);
+        cellWriters[index] = writer;
+        cellWriterColumns[index] = columnDescriptor;
+        return writer;
+    }
+
+    private void clearCellWriters() {
+        Arrays.fill(cellWriters, null);
+        Arrays.fill(cellWriterColumns, null);
+    }
+
+    /**
+     * Dobiera sposób zapisu i styl komórki dla kolumny na podstawie typu wartości.
+     * Wywoływana dla pierwszej niepustej wartości w kolumnie oraz po zmianie typu wartości.
+     *
+     * @param columnDescriptor opis kolumny
+     * @param property przykładowa wartość kolumny
+     * @return writer związany z typem wartości
+     */
+    ColumnCellWriter bindCellWriter(ColumnDescriptor columnDescriptor, Object property) {
+
+        ColumnStyleDescriptor styleDescriptor = columnDescriptor.getStyleDescriptor();
+        String mask = styleDescriptor == null ? null : styleDescriptor.getExcelFormatMask();
+
         if(columnDescriptor.getColumnValueFormatter() != null) {
-            cell = row.createCell(currentColumnNumber++);
-            cell.setCellValue(columnDescriptor.getColumnValueFormatter().format(property));
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDefault));
-        } else if(property instanceof Date) {
-            cell = row.createCell(currentColumnNumber++);
-            cell.setCellValue((Date)property);
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDate));
-        }
-        else if(property instanceof LocalDate) {
-            cell = row.createCell(currentColumnNumber++);
-            LocalDate localData = (LocalDate) property;
-            cell.setCellValue(Date.from(localData.atStartOfDay(ZoneId.systemDefault()).toInstant()));
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDateNoTime));
-        }
-        else if(property instanceof LocalDateTime) {
-            cell = row.createCell(currentColumnNumber++);
-            LocalDateTime localDataTime = (LocalDateTime) property;
-            cell.setCellValue(Date.from(localDataTime.atZone(ZoneId.systemDefault()).toInstant()));
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDate));
-        }
-        else if(property instanceof String) {
-            cell = row.createCell(currentColumnNumber++);
-            cell.setCellValue((String)property);
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDefault));
-        } else if(property instanceof Integer) {
-            cell = row.createCell(currentColumnNumber++);
-            cell.setCellValue((Integer)property);
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDefault));
-        } else if(property instanceof Long) {
-            cell = row.createCell(currentColumnNumber++);
-            cell.setCellValue((Long)property);
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDefault));
-        } else if(property instanceof Double) {
-            cell = row.createCell(currentColumnNumber++);
-            cell.setCellValue((Double)property);
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDefault));
-        } else if(property instanceof BigDecimal) {
-            cell = row.createCell(currentColumnNumber++);
-            cell.setCellValue(((BigDecimal)property).doubleValue());
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDefault));
-        } else {
-            cell = row.createCell(currentColumnNumber++);
-            cell.setCellValue(property.toString().trim());
-            cell.setCellStyle(determinateCellStyle(columnDescriptor.getStyleDescriptor(), styleDefault));
+            return new ColumnCellWriter(null, CellWriter.FORMATTED, determinateCellStyle(styleDescriptor, styleDefault),
+                    ColumnWidthEstimator.text());
+        }
+
+        Class<?> type = property.getClass();
+        CellValueType valueType = CellValueType.of(property);
+        if(valueType.isDate()) {
+            boolean dateOnly = valueType.isDateOnly();
+            return new ColumnCellWriter(type, CellWriter.date(dateConverter, valueType),
+                    determinateCellStyle(styleDescriptor, dateOnly ? styleDateNoTime : styleDate),
+                    ColumnWidthEstimator.date(mask, dateOnly ? 10 : 16));
+        }
+
+        CellStyle style = determinateCellStyle(styleDescriptor, styleDefault);
+        switch (valueType) {
+            case STRING:
+                return new ColumnCellWriter(type, CellWriter.STRING, style, ColumnWidthEstimator.text());
+            case INTEGRAL:
+                return new ColumnCellWriter(type, CellWriter.INTEGRAL, style, ColumnWidthEstimator.number(mask));
+            case DOUBLE:
+                return new ColumnCellWriter(type, CellWriter.DOUBLE, style, ColumnWidthEstimator.number(mask));
+            case BIG_DECIMAL:
+                return new ColumnCellWriter(type, CellWriter.BIG_DECIMAL, style, ColumnWidthEstimator.number(mask));
+            default:
+                return new ColumnCellWriter(type, CellWriter.OTHER, style, ColumnWidthEstimator.other());
         }
     }
 
+    /**
+     * Odczytuje wartość property wskazanej w ColumnDescriptor. Accessor jest kompilowany przy pierwszym
+     * wierszu danej klasy i przechowywany per kolumna, kolejne wiersze tej samej klasy nie używają refleksji.
+     *
+     * @param bean JavaBean z danymi
+     * @param columnDescriptor opis kolumny
+     * @return wartość property lub null
+     */
     protected Object getProperty(Object bean, ColumnDescriptor columnDescriptor) {
-        return BeanUtil.silent.getProperty(bean, columnDescriptor.getPropertyName());
+        return valueReader.read(bean, columnDescriptor);
     }
 
     public boolean isEmpty() {
@@ -444,50 +1298,69 @@ public class ExcelExporter implements Closeable {
     }
 
     private Object getMultiProperty(Object bean, ConcatationColumnDescriptor columnDescriptor) {
+        return valueReader.concat(bean, columnDescriptor);
+    }
 
-        StringBuilder sb = new StringBuilder();
-
-        Object prop = getProperty(bean, columnDescriptor);
-        if(prop != null)
-            sb.append(prop);
-
-        for(ColumnDescriptor cd : columnDescriptor.getColumnDescriptors()) {
+    public void addMergedRegion(int rowFrom, int rowTo, int colFrom, int colTo) {
+        sheet.addMergedRegion(new CellRangeAddress(rowFrom,rowTo,colFrom,colTo));
+    }
 
-            if(getProperty(bean, cd) != null) {
-                sb.append(' ');
-                sb.append(getProperty(bean, cd));
+    /**
+     * Dodaje obszary scalone jedną partią. Obszary są sprawdzane raz - między sobą i z obszarami już istniejącymi
+     * w arkuszu - zamiast sprawdzania każdego obszaru z wszystkimi poprzednimi przy osobnych wywołaniach
+     * {@link #addMergedRegion(int, int, int, int)}.
+     *
+     * @param regions obszary do scalenia, każdy z co najmniej dwiema komórkami
+     * @throws IllegalStateException gdy obszary nakładają się
+     */
+    public void addMergedRegions(Collection<CellRangeAddress> regions) {
+
+        List<CellRangeAddress> existing = sheet.getMergedRegions();
+        List<CellRangeAddress> all = new ArrayList<>(existing.size() + regions.size());
+        all.addAll(regions);
+        all.addAll(existing);
+        Set<CellRangeAddress> added = Collections.newSetFromMap(new IdentityHashMap<>());
+        added.addAll(regions);
+        all.sort(Comparator.comparingInt(CellRangeAddress::getFirstRow)
+                .thenComparingInt(CellRangeAddress::getFirstColumn));
+
+        // przegląd wierszami: aktywne obszary są rozłączne, więc nowy obszar wystarczy porównać z aktywnym
+        // obszarem o największej pierwszej kolumnie nie większej niż jego ostatnia kolumna
+        TreeMap<Integer, CellRangeAddress> active = new TreeMap<>();
+        PriorityQueue<CellRangeAddress> byLastRow = new PriorityQueue<>(Comparator.comparingInt(CellRangeAddress::getLastRow));
+        for (CellRangeAddress region : all) {
+            while (!byLastRow.isEmpty() && byLastRow.peek().getLastRow() < region.getFirstRow()) {
+                active.remove(byLastRow.poll().getFirstColumn());
             }
+            Map.Entry<Integer, CellRangeAddress> left = active.floorEntry(region.getLastColumn());
+            if(left != null && left.getValue().getLastColumn() >= region.getFirstColumn()) {
+                CellRangeAddress other = left.getValue();
+                if(added.contains(region) || added.contains(other))
+                    throw new IllegalStateException("Cannot add merged region " + region.formatAsString()
+                            + " because it overlaps with merged region " + other.formatAsString());
+                continue;
+            }
+            active.put(region.getFirstColumn(), region);
+            byLastRow.add(region);
         }
 
-        return sb.toString();
-    }
-
-    public void addMergedRegion(int rowFrom, int rowTo, int colFrom, int colTo) {
-        sheet.addMergedRegion(new CellRangeAddress(rowFrom,rowTo,colFrom,colTo));
+        for (CellRangeAddress region : regions) {
+            sheet.addMergedRegionUnsafe(region);
+        }
     }
 
     public void setCellStyleRedBold(int row, int cell) {
-        CellStyle style = wb.createCellStyle();
-        Font font = wb.createFont();
-        font.setBold(true);
-        font.setColor(Font.COLOR_RED);
-        style.setFont(font);
+        CellStyle style = style(StyleKey.builder().bold(true).fontColor(Font.COLOR_RED).build());
         sheet.getRow(row).getCell(cell).setCellStyle(style);
     }
 
     public void setCellStyleBold(int row, int cell) {
-        CellStyle style = wb.createCellStyle();
-        Font font = wb.createFont();
-        font.setBold(true);
-        style.setFont(font);
+        CellStyle style = style(StyleKey.builder().bold(true).build());
         sheet.getRow(row).getCell(cell).setCellStyle(style);
     }
 
     public void setCellStyleColor(int row, int cell, int r, int g, int b) {
-        CellStyle cellStyle = wb.createCellStyle();
-        cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        cellStyle.setFillForegroundColor(new XSSFColor(new java.awt.Color(r,g,b),new DefaultIndexedColorMap()));
-        sheet.getRow(row).getCell(cell).setCellStyle(cellStyle);
+        sheet.getRow(row).getCell(cell).setCellStyle(createCellStyleColor(r, g, b));
     }
 
     public void setCellStyle(int row, int cell, CellStyle cellStyle) {
@@ -495,10 +1368,57 @@ public class ExcelExporter implements Closeable {
     }
 
     public CellStyle createCellStyleColor(int r, int g, int b){
-        CellStyle cellStyle = wb.createCellStyle();
-        cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        cellStyle.setFillForegroundColor(new XSSFColor(new java.awt.Color(r,g,b),new DefaultIndexedColorMap()));
-        return cellStyle;
+        return style(StyleKey.builder().fillRgb((r & 0xFF) << 16 | (g & 0xFF) << 8 | (b & 0xFF)).build());
+    }
+
+    /**
+     * Włącza wyliczanie agregatów (liczba, suma, minimum, maksimum, średnia) wartości liczbowych każdej kolumny
+     * w trakcie zapisu wierszy. Agregaty obejmują wiersze danych bieżącego arkusza - są zerowane przy
+     * {@link #addSheet(String)} i przy przejściu do kolejnego arkusza lub skoroszytu - i pozwalają zapisać
+     * w wierszu sumującym wartości zamiast formuł (zob. {@link SummaryRowConfig#getValueMode()}), także gdy
+     * wcześniejsze wiersze zostały już zrzucone z okna SXSSF.
+     *
+     * Musi być wywołane przed zapisem wierszy, które mają zostać uwzględnione.
+     */
+    public void enableAggregates() {
+        aggregates.enable();
+    }
+
+    /**
+     * Zeruje agregaty wszystkich kolumn, np. przed kolejną sekcją arkusza z osobnym podsumowaniem.
+     */
+    public void resetAggregates() {
+        aggregates.reset();
+    }
+
+    /**
+     * Zwraca agregat wartości liczbowych kolumny od początku arkusza lub ostatniego {@link #resetAggregates()}.
+     *
+     * @param column indeks kolumny (od 0)
+     * @return agregat kolumny, pusty jeśli w kolumnie nie zapisano wartości liczbowych
+     * @throws IllegalStateException jeśli nie wywołano {@link #enableAggregates()}
+     */
+    public ColumnAggregate getColumnAggregate(int column) {
+        return aggregates.get(column);
+    }
+
+    public ColumnAggregate getColumnAggregate(String headerName) {
+        int column = getColumnIndex(headerName);
+        if(column < 0)
+            throw new IllegalArgumentException("no column " + headerName);
+        return getColumnAggregate(column);
+    }
+
+    /**
+     * Ustawia strefę czasową, w której zapisywane są wartości wskazujące chwilę w czasie ({@link Date},
+     * {@link Instant}, {@link OffsetDateTime}, {@link ZonedDateTime}). Domyślnie strefa systemowa.
+     * Wartości {@link LocalDate} i {@link LocalDateTime} są zapisywane bez przeliczania.
+     *
+     * @param zone strefa czasowa
+     */
+    public void setZone(@NotNull ZoneId zone) {
+        dateConverter = new ExcelDateConverter(zone);
+        clearCellWriters();
     }
 
     public void goToNextRow() {
@@ -517,7 +1437,7 @@ public class ExcelExporter implements Closeable {
         
         addSummaryLabel(summaryRow, config.getSummaryLabel(), config.getLabelColumnIndex(), config.isBoldText());
         
-        addSumFormulas(summaryRow, columnsToSum, config.getSkipFirstRows(), config.isBoldText());
+        addSummaryCells(summaryRow, columnsToSum, config);
         
         currentRowNumber++;
         
@@ -532,8 +1452,7 @@ public class ExcelExporter implements Closeable {
      * @return Row index where the summary was added
      */
     public int addSummaryRowByColumnNames(@NotNull List<String> columnNamesToSum, @NotNull SummaryRowConfig config) {
-        List<Integer> columnIndices = mapColumnNamesToIndices(columnNamesToSum);
-        return addSummaryRow(columnIndices, config);
+        return addSummaryRow(schema().indicesOf(columnNamesToSum), config);
     }
 
     
@@ -550,62 +1469,47 @@ public class ExcelExporter implements Closeable {
         labelCell.setCellValue(summaryLabel);
         
         if (boldText) {
-            CellStyle boldStyle = wb.createCellStyle();
-            Font font = wb.createFont();
-            font.setBold(true);
-            boldStyle.setFont(font);
-            labelCell.setCellStyle(boldStyle);
+            labelCell.setCellStyle(style(StyleKey.builder().bold(true).build()));
         }
     }
     
     /**
-     * Adds SUM formulas to the specified columns in the summary row.
+     * Adds summary formulas and/or computed values to the specified columns in the summary row.
      * 
      * @param summaryRow Row where to add the formulas
      * @param columnsToSum Column indices to add formulas for
-     * @param skipFirstRows Number of rows to skip from the beginning
-     * @param boldText Whether to make the text bold
+     * @param config summary row options: rows to skip, function, value mode and bold text
      */
-    private void addSumFormulas(Row summaryRow, List<Integer> columnsToSum, int skipFirstRows, boolean boldText) {
+    private void addSummaryCells(Row summaryRow, List<Integer> columnsToSum, SummaryRowConfig config) {
+
+        boolean boldText = config.isBoldText();
+        aggregates.checkSummary(config, header == null ? 0 : header.getRowNum() + 1);
+
         for (Integer colIndex : columnsToSum) {
-            if (colIndex < 0 || colIndex >= columns.size()) {
+            if (colIndex < 0 || colIndex >= schema().size()) {
                 continue;
             }
             
             Cell sumCell = summaryRow.createCell(colIndex);
             
-            int startRow = skipFirstRows + 1;
-            
-            String colLetter = CellReference.convertNumToColString(colIndex);
+            String formula = ColumnAggregates.summaryFormula(config, colIndex, currentRowNumber);
+            if(formula != null)
+                sumCell.setCellFormula(formula);
+            Double value = aggregates.summaryValue(config, colIndex);
+            if(value != null)
+                sumCell.setCellValue(value);
             
-            String formula = String.format(SUM_FORMULA_PATTERN, colLetter, startRow, colLetter, currentRowNumber);
-            sumCell.setCellFormula(formula);
-            
-            ColumnDescriptor column = columns.get(colIndex);
+            ColumnDescriptor column = schema().get(colIndex);
             CellStyle cellStyle = determinateCellStyle(column.getStyleDescriptor(), styleMoney);
             
             if (boldText) {
-                CellStyle boldStyle = wb.createCellStyle();
-                boldStyle.cloneStyleFrom(cellStyle);
-                
-                Font font = wb.createFont();
-                font.setBold(true);
-                boldStyle.setFont(font);
-                
-                sumCell.setCellStyle(boldStyle);
+                sumCell.setCellStyle(style(StyleKey.builder().baseStyle(cellStyle.getIndex()).bold(true).build()));
             } else {
                 sumCell.setCellStyle(cellStyle);
             }
         }
     }
 
-    private @NotNull List<Integer> mapColumnNamesToIndices(List<String> columnNamesToSum) {
-        return columnNamesToSum.stream()
-            .map(this::getColumnIndex)
-            .filter(index -> index >= 0)
-            .collect(Collectors.toList());
-    }
-
     /**
      * Adds a summary row with default settings for specified columns.
      * This is a simple convenience method that doesn't require a config object.
@@ -630,6 +1534,31 @@ public class ExcelExporter implements Closeable {
 
     @Override
     public void close() throws IOException {
-        wb.close();
+        if(!attached)
+            wb.close();
+    }
+
+    private static final class HeaderGroup {
+
+        private final ColumnGroup group;
+        private final int firstColumn;
+
+        HeaderGroup(ColumnGroup group, int firstColumn) {
+            this.group = group;
+            this.firstColumn = firstColumn;
+        }
+    }
+
+    private static final class ExtractedRow {
+
+        private final Object bean;
+        private final Object[] values;
+        private final long extractNanos;
+
+        ExtractedRow(Object bean, Object[] values, long extractNanos) {
+            this.bean = bean;
+            this.values = values;
+            this.extractNanos = extractNanos;
+        }
     }
 }
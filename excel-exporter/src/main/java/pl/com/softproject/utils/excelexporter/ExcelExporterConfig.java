@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+
+/**
+ * Konfiguracja skoroszytu SXSSF tworzonego przez {@link ExcelExporter}: okno wierszy w pamięci, pliki tymczasowe
+ * i plik wynikowy. Tworzona builderem; nieustawione opcje zachowują wartości domyślne POI.
+ *
+ * <pre>
+ * ExcelExporterConfig config = ExcelExporterConfig.builder()
+ *         .compressTempFiles(true)
+ *         .tempDirectory(Paths.get("/data/spill"))
+ *         .build();
+ * try (ExcelExporter exporter = new ExcelExporter("report", config)) { ... }
+ * </pre>
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Getter
+@Builder
+public class ExcelExporterConfig {
+
+    /**
+     * Liczba wierszy trzymanych w pamięci, zanim zostaną zrzucone do pliku tymczasowego arkusza (domyślnie 100)
+     */
+    @Builder.Default
+    private int windowSize = 100;
+
+    /**
+     * Czy pliki tymczasowe arkuszy są kompresowane GZIP. Kosztuje czas procesora, ale pliki tymczasowe są zwykle
+     * 5-10 razy mniejsze (domyślnie false)
+     */
+    @Builder.Default
+    private boolean compressTempFiles = false;
+
+    /**
+     * Katalog, w którym tworzone są pliki tymczasowe arkuszy, np. wolumen dyskowy zamiast małego tmpfs
+     * (domyślnie null - katalog tymczasowy POI, zwykle {@code java.io.tmpdir})
+     */
+    @Builder.Default
+    private Path tempDirectory = null;
+
+    /**
+     * Czy teksty są zapisywane do tabeli współdzielonych tekstów zamiast bezpośrednio w komórkach. Zmniejsza pliki
+     * z powtarzającymi się wartościami, ale tabela jest trzymana w pamięci przez cały eksport (domyślnie false)
+     */
+    @Builder.Default
+    private boolean useSharedStrings = false;
+
+    /**
+     * Tryb Zip64 pliku wynikowego (domyślnie {@link Zip64Mode#AsNeeded})
+     */
+    @Builder.Default
+    private Zip64Mode zip64Mode = Zip64Mode.AsNeeded;
+
+    /**
+     * Poziom kompresji pliku wynikowego, zob. {@link ExcelExporter#setCompressionLevel(int)}
+     * (domyślnie {@link Deflater#DEFAULT_COMPRESSION})
+     */
+    @Builder.Default
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    public static ExcelExporterConfig defaults() {
+        return builder().build();
+    }
+}
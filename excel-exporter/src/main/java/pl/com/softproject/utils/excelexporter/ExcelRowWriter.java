@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.List;
+
+/**
+ * Typowany opis wiersza eksportu dla klasy z kolumnami {@link ExcelColumn}. Implementacje generuje
+ * {@code ExcelColumnProcessor}, instancje zwraca {@link ExcelRowWriters}.
+ *
+ * @param <T> typ eksportowanych obiektów
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public interface ExcelRowWriter<T> {
+
+    /**
+     * @return klasa eksportowanych obiektów
+     */
+    Class<T> type();
+
+    /**
+     * @return nowe deskryptory kolumn w kolejności eksportu, odczytujące wartości bez refleksji
+     */
+    List<ColumnDescriptor> columns();
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Zwraca {@link ExcelRowWriter} dla klasy z kolumnami {@link ExcelColumn}: klasę wygenerowaną przez
+ * {@code ExcelColumnProcessor}, a gdy procesor nie był uruchomiony - opis zbudowany z adnotacji w czasie
+ * działania, odczytujący wartości tymi samymi metodami i polami. Wynik jest cache'owany per klasa.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Slf4j
+public final class ExcelRowWriters {
+
+    public static final String GENERATED_SUFFIX = "_ExcelRowWriter";
+
+    private static final ClassValue<ExcelRowWriter<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected ExcelRowWriter<?> computeValue(Class<?> type) {
+            ExcelRowWriter<?> generated = loadGenerated(type);
+            return generated != null ? generated : reflective(type);
+        }
+    };
+
+    private ExcelRowWriters() {
+    }
+
+    /**
+     * @param type klasa z kolumnami {@link ExcelColumn}
+     * @return opis wiersza, nigdy null
+     * @throws IllegalArgumentException gdy klasa nie ma kolumn {@link ExcelColumn}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull ExcelRowWriter<T> forType(@NotNull Class<T> type) {
+        return (ExcelRowWriter<T>) CACHE.get(type);
+    }
+
+    /**
+     * @param type klasa z kolumnami {@link ExcelColumn}
+     * @return pełna nazwa klasy generowanej dla typu, np. {@code pkg.Outer_Inner_ExcelRowWriter}
+     */
+    public static String generatedName(@NotNull Class<?> type) {
+        String packageName = type.getPackageName();
+        String binaryName = packageName.isEmpty() ? type.getName() : type.getName().substring(packageName.length() + 1);
+        String simpleName = binaryName.replace('$', '_') + GENERATED_SUFFIX;
+        return packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+    }
+
+    private static ExcelRowWriter<?> loadGenerated(Class<?> type) {
+        try {
+            Class<?> writer = Class.forName(generatedName(type), true, type.getClassLoader());
+            return (ExcelRowWriter<?>) writer.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            log.debug("no generated row writer for {}, using annotations at runtime", type.getName());
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("can't instantiate generated row writer for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Buduje opis wiersza z adnotacji w czasie działania, z tymi samymi kolumnami i w tej samej kolejności co klasa
+     * generowana przez {@code ExcelColumnProcessor}.
+     */
+    static <T> ExcelRowWriter<T> reflective(Class<T> type) {
+
+        boolean record = type.getSuperclass() != null && "java.lang.Record".equals(type.getSuperclass().getName());
+        Map<String, Column> columns = new LinkedHashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            if(!Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(ExcelColumn.class))
+                columns.putIfAbsent(field.getName(), new Column(field.getName(), field,
+                        fieldAccessor(type, field, record), columns.size()));
+        }
+        for (Method method : type.getDeclaredMethods()) {
+            if(!Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 0
+                    && method.getReturnType() != void.class && method.isAnnotationPresent(ExcelColumn.class)) {
+                String property = propertyName(method, record);
+                PropertyAccessor accessor = PropertyAccessors.forMember(method);
+                Column previous = columns.get(property);
+                columns.put(property, new Column(property, method,
+                        accessor != null ? accessor : PropertyAccessors.forProperty(type, property),
+                        previous != null ? previous.position : Integer.MAX_VALUE));
+            }
+        }
+
+        if(columns.isEmpty())
+            throw new IllegalArgumentException(type.getName() + " has no @ExcelColumn properties");
+
+        List<Column> ordered = new ArrayList<>(columns.values());
+        ordered.sort(Comparator.comparingInt((Column column) -> column.annotation.order())
+                .thenComparingInt(column -> column.position)
+                .thenComparing(column -> column.property));
+
+        return new ExcelRowWriter<>() {
+            @Override
+            public Class<T> type() {
+                return type;
+            }
+
+            @Override
+            public List<ColumnDescriptor> columns() {
+                List<ColumnDescriptor> result = new ArrayList<>(ordered.size());
+                for (Column column : ordered) {
+                    ExcelColumn annotation = column.annotation;
+                    String header = annotation.header().isEmpty() ? column.property : annotation.header();
+                    result.add(new AccessorColumnDescriptor(header, column.property, annotation.format(),
+                            annotation.style(), column.accessor));
+                }
+                return result;
+            }
+        };
+    }
+
+    private static PropertyAccessor fieldAccessor(Class<?> type, Field field, boolean record) {
+
+        String name = field.getName();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        Method getter = findGetter(type, "get" + capitalized);
+        if(getter == null && field.getType() == boolean.class)
+            getter = findGetter(type, "is" + capitalized);
+        if(getter == null && record)
+            getter = findGetter(type, name);
+
+        PropertyAccessor accessor = PropertyAccessors.forMember(getter != null ? getter : field);
+        return accessor != null ? accessor : PropertyAccessors.forProperty(type, name);
+    }
+
+    private static Method findGetter(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                Method method = current.getDeclaredMethod(name);
+                if(!Modifier.isStatic(method.getModifiers()) && !Modifier.isPrivate(method.getModifiers()))
+                    return method;
+            } catch (NoSuchMethodException e) {
+                // szukaj w nadklasie
+            }
+        }
+        return null;
+    }
+
+    private static String propertyName(Method method, boolean record) {
+        String name = method.getName();
+        if(record)
+            return name;
+        if(name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3)))
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        if(name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))
+                && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class))
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        return name;
+    }
+
+    private static final class Column {
+
+        private final String property;
+        private final ExcelColumn annotation;
+        private final PropertyAccessor accessor;
+        private final int position;
+
+        Column(String property, AnnotatedElement element, PropertyAccessor accessor, int position) {
+            this.property = property;
+            this.annotation = element.getAnnotation(ExcelColumn.class);
+            this.accessor = accessor;
+            this.position = position;
+        }
+    }
+
+}
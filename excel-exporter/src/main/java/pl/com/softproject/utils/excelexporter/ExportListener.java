@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+/**
+ * Odbiera zdarzenia postępu eksportu z {@link ExcelExporter}: zapisane wiersze i komórki, wiersze zrzucone
+ * z okna SXSSF do pliku tymczasowego, utworzone style i zapis skoroszytu. Gdy listener nie jest zainstalowany,
+ * exporter nie mierzy czasów i nie wywołuje żadnych metod.
+ *
+ * <p>Metody są wywoływane synchronicznie w wątku exportera, więc powinny być tanie. Przy eksporcie arkuszy
+ * równolegle ({@link ExcelExporter#sheetExporter(String)}, {@link ParallelSheetExporter}) oraz przy asynchronicznym
+ * zapisie części skoroszytu implementacja musi być bezpieczna wielowątkowo.
+ *
+ * @see CountingExportListener
+ * @see JfrExportListener
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public interface ExportListener {
+
+    /**
+     * Wywoływana po zapisaniu wiersza danych.
+     *
+     * @param cells liczba zapisanych (niepustych) komórek
+     * @param extractNanos czas odczytu wartości z beana
+     * @param writeNanos czas zapisu wartości do komórek
+     */
+    default void rowWritten(int cells, long extractNanos, long writeNanos) {
+    }
+
+    /**
+     * Wywoływana po zrzuceniu wiersza z okna SXSSF do pliku tymczasowego arkusza.
+     */
+    default void rowFlushed() {
+    }
+
+    /**
+     * Wywoływana po zapisie porcji danych do pliku tymczasowego arkusza.
+     *
+     * @param bytes liczba bajtów zapisanych na dysk, po kompresji jeśli jest włączona
+     */
+    default void tempBytesWritten(long bytes) {
+    }
+
+    /**
+     * Wywoływana po utworzeniu nowego stylu komórki w skoroszycie.
+     */
+    default void styleCreated() {
+    }
+
+    /**
+     * Wywoływana po zapisie skoroszytu lub kolejnej części skoroszytu.
+     *
+     * @param nanos czas zapisu
+     * @param tempBytesWritten łączna liczba bajtów zapisanych dotąd do plików tymczasowych
+     */
+    default void saved(long nanos, long tempBytesWritten) {
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+/**
+ * {@link SXSSFWorkbook} z konfigurowalnym poziomem kompresji pliku wynikowego. Przy zapisie do kanału
+ * z dostępem swobodnym i poziomie {@link Deflater#NO_COMPRESSION} części skoroszytu są zapisywane metodą STORED,
+ * bez deflate. Przy zapisie kończącym pracę ze skoroszytem pliki tymczasowe arkuszy są usuwane zaraz po
+ * przepisaniu ich do pliku wynikowego.
+ *
+ * <p>Pliki tymczasowe arkuszy mogą być kompresowane GZIP i tworzone we wskazanym katalogu
+ * (patrz {@link ExcelExporterConfig}); liczba bajtów zapisanych do nich jest sumowana w przekazanym liczniku.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Slf4j
+class ExporterWorkbook extends SXSSFWorkbook {
+
+    private static final String TEMP_FILE_PREFIX = "poi-sxssf-sheet";
+
+    private final boolean compressTempFiles;
+    private final Path tempDirectory;
+    private final LongAdder tempBytesWritten;
+    private int compressionLevel;
+    private ExportListener listener;
+    private SeekableByteChannel storedTarget;
+    private boolean releaseTempFiles;
+
+    ExporterWorkbook(ExcelExporterConfig config, int windowSize, LongAdder tempBytesWritten) {
+        super(null, windowSize, config.isCompressTempFiles(), config.isUseSharedStrings());
+        this.compressTempFiles = config.isCompressTempFiles();
+        this.tempDirectory = config.getTempDirectory();
+        this.tempBytesWritten = tempBytesWritten;
+        this.compressionLevel = config.getCompressionLevel();
+        setZip64Mode(config.getZip64Mode());
+    }
+
+    void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    void setListener(ExportListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Zapisuje skoroszyt i usuwa pliki tymczasowe arkuszy w trakcie zapisu, a następnie zamyka
+     * skoroszyt - nie może on być dalej modyfikowany ani zapisywany.
+     *
+     * @param out strumień docelowy
+     * @param seekableTarget kanał, do którego prowadzi strumień, jeśli pozwala na zmianę pozycji; w przeciwnym
+     *                       razie null
+     */
+    void writeAndRelease(OutputStream out, SeekableByteChannel seekableTarget) throws IOException {
+        storedTarget = compressionLevel == Deflater.NO_COMPRESSION
+                && seekableTarget != null && seekableTarget.position() == 0 ? seekableTarget : null;
+        releaseTempFiles = true;
+        try {
+            write(out);
+        } finally {
+            storedTarget = null;
+            close();
+        }
+    }
+
+    @Override
+    protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream target) {
+
+        if(storedTarget != null) {
+            ZipArchiveOutputStream zos = new ZipArchiveOutputStream(storedTarget);
+            zos.setMethod(ZipArchiveOutputStream.STORED);
+            zos.setUseZip64(zip64Mode);
+            return zos;
+        }
+
+        ZipArchiveOutputStream zos = super.createArchiveOutputStream(target);
+        zos.setLevel(compressionLevel);
+        return zos;
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        return new ReleasingSheetDataWriter();
+    }
+
+    /**
+     * Writer arkusza, którego plik tymczasowy jest usuwany po odczycie przy zapisie kończącym.
+     * Pola klasy zewnętrznej są już ustawione, gdy konstruktor {@link SheetDataWriter} woła
+     * {@link #createTempFile()} i {@link #decorateOutputStream(FileOutputStream)}.
+     */
+    private class ReleasingSheetDataWriter extends SheetDataWriter {
+
+        ReleasingSheetDataWriter() throws IOException {
+            super(ExporterWorkbook.this.getSharedStringSource());
+        }
+
+        /**
+         * Tworzy plik tymczasowy w katalogu z {@link ExcelExporterConfig#getTempDirectory()}. POI pozwala zmienić
+         * katalog tylko globalnie ({@link TempFile#setTempFileCreationStrategy}), co dotyczyłoby wszystkich
+         * skoroszytów w JVM, dlatego nadpisywana jest metoda wołana przez konstruktor {@link SheetDataWriter},
+         * mimo że jest oznaczona jako przestarzała. Jeśli zostanie usunięta z POI, pliki trafią do katalogu
+         * domyślnego - test ExcelExporterTest#shouldSpillCompressedTempFilesToConfiguredDirectory to wykryje.
+         */
+        @Override
+        @SuppressWarnings("deprecation")
+        public File createTempFile() throws IOException {
+            String suffix = compressTempFiles ? ".xml.gz" : ".xml";
+            if(tempDirectory == null)
+                return TempFile.createTempFile(TEMP_FILE_PREFIX, suffix);
+            return Files.createTempFile(Files.createDirectories(tempDirectory), TEMP_FILE_PREFIX, suffix).toFile();
+        }
+
+        @Override
+        protected OutputStream decorateOutputStream(FileOutputStream fos) throws IOException {
+            OutputStream counted = new FilterOutputStream(fos) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    tempBytesWritten.increment();
+                    if(listener != null)
+                        listener.tempBytesWritten(1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    tempBytesWritten.add(len);
+                    if(listener != null)
+                        listener.tempBytesWritten(len);
+                }
+            };
+            return compressTempFiles ? new GZIPOutputStream(counted, 1 << 12) : counted;
+        }
+
+        @Override
+        public void writeRow(int rownum, SXSSFRow row) throws IOException {
+            super.writeRow(rownum, row);
+            if(listener != null)
+                listener.rowFlushed();
+        }
+
+        @Override
+        protected InputStream decorateInputStream(FileInputStream fis) throws IOException {
+
+            InputStream in = compressTempFiles ? new GZIPInputStream(fis, 1 << 12) : fis;
+            if(!releaseTempFiles)
+                return in;
+
+            File tempFile = getTempFile();
+            return new FilterInputStream(in) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if(!Files.deleteIfExists(tempFile.toPath()))
+                            log.debug("temp file {} already removed", tempFile);
+                    }
+                }
+            };
+        }
+    }
+
+}
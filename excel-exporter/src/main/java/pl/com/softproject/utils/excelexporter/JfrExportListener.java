@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * {@link ExportListener} publikujący zdarzenia Java Flight Recorder. Każdy zapis skoroszytu (lub kolejnej części
+ * skoroszytu) kończy zdarzenie {@code pl.com.softproject.excelexporter.Export}, obejmujące czas od utworzenia
+ * listenera lub poprzedniego zapisu, z licznikami wierszy, komórek, bajtów plików tymczasowych oraz czasami
+ * odczytu, zapisu komórek i zapisu skoroszytu. Zdarzenia per wiersz nie są publikowane, żeby nie obciążać
+ * nagrania.
+ *
+ * <p>Nagrywanie: {@code -XX:StartFlightRecording} lub {@code jcmd <pid> JFR.start}. Gdy zdarzenie nie jest
+ * włączone w nagraniu, listener tylko sumuje liczniki.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public class JfrExportListener implements ExportListener {
+
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder cells = new LongAdder();
+    private final LongAdder rowsFlushed = new LongAdder();
+    private final LongAdder tempBytesWritten = new LongAdder();
+    private final LongAdder stylesCreated = new LongAdder();
+    private final LongAdder extractNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+
+    private ExportEvent event = newEvent();
+
+    @Override
+    public void rowWritten(int cells, long extractNanos, long writeNanos) {
+        this.rows.increment();
+        this.cells.add(cells);
+        this.extractNanos.add(extractNanos);
+        this.writeNanos.add(writeNanos);
+    }
+
+    @Override
+    public void rowFlushed() {
+        rowsFlushed.increment();
+    }
+
+    @Override
+    public void tempBytesWritten(long bytes) {
+        tempBytesWritten.add(bytes);
+    }
+
+    @Override
+    public void styleCreated() {
+        stylesCreated.increment();
+    }
+
+    @Override
+    public synchronized void saved(long nanos, long totalTempBytesWritten) {
+        ExportEvent completed = event;
+        completed.end();
+        completed.rows = rows.sumThenReset();
+        completed.cells = cells.sumThenReset();
+        completed.rowsFlushed = rowsFlushed.sumThenReset();
+        completed.tempBytesWritten = tempBytesWritten.sumThenReset();
+        completed.stylesCreated = stylesCreated.sumThenReset();
+        completed.extractTime = extractNanos.sumThenReset();
+        completed.writeTime = writeNanos.sumThenReset();
+        completed.saveTime = nanos;
+        if(completed.shouldCommit())
+            completed.commit();
+        event = newEvent();
+    }
+
+    private static ExportEvent newEvent() {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        return event;
+    }
+
+    @Name("pl.com.softproject.excelexporter.Export")
+    @Label("Excel Export")
+    @Category({"Java Commons", "Excel Exporter"})
+    @Description("Rows and cells written and time spent since the previous workbook save")
+    static class ExportEvent extends Event {
+
+        @Label("Rows")
+        long rows;
+
+        @Label("Cells")
+        long cells;
+
+        @Label("Rows Flushed")
+        @Description("Rows flushed from the SXSSF window to the sheet temp file")
+        long rowsFlushed;
+
+        @Label("Temp Bytes Written")
+        @DataAmount
+        long tempBytesWritten;
+
+        @Label("Styles Created")
+        long stylesCreated;
+
+        @Label("Extract Time")
+        @Timespan
+        long extractTime;
+
+        @Label("Write Time")
+        @Timespan
+        long writeTime;
+
+        @Label("Save Time")
+        @Timespan
+        long saveTime;
+    }
+}
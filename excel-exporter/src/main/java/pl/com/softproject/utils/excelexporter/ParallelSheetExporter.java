@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Buduje skoroszyt z wielu niezależnych arkuszy wypełnianych równolegle. Arkusze są tworzone w kolejności
+ * dodania, każdy ma własny exporter i własny plik tymczasowy SXSSF, a style są współdzielone i deduplikowane
+ * na poziomie skoroszytu. Przy zapisie arkusze są scalane w jeden plik .xlsx.
+ *
+ * <pre>
+ * try (ParallelSheetExporter exporter = new ParallelSheetExporter()) {
+ *     exporter.addSheet("Invoices", sheet -&gt; { sheet.addColumn(...); sheet.writeAll(invoices); });
+ *     exporter.addSheet("Payments", sheet -&gt; { sheet.addColumn(...); sheet.writeAll(payments); });
+ *     exporter.populate();
+ *     exporter.save(file);
+ * }
+ * </pre>
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Slf4j
+public class ParallelSheetExporter implements Closeable {
+
+    private final ExcelExporterConfig config;
+    private final List<SheetJob> jobs = new ArrayList<>();
+    private ExcelExporter workbookExporter;
+
+    public ParallelSheetExporter() {
+        this(ExcelExporterConfig.defaults());
+    }
+
+    public ParallelSheetExporter(int windowSize) {
+        this(ExcelExporterConfig.builder().windowSize(windowSize).build());
+    }
+
+    /**
+     * @param config konfiguracja skoroszytu
+     * @throws IllegalArgumentException gdy {@link ExcelExporterConfig#isUseSharedStrings()} - tablica wspólnych
+     * napisów SXSSF jest jedna dla skoroszytu i nie jest bezpieczna wielowątkowo
+     */
+    public ParallelSheetExporter(@NotNull ExcelExporterConfig config) {
+        if(config.isUseSharedStrings())
+            throw new IllegalArgumentException("shared strings table can't be populated from parallel sheets");
+        this.config = config;
+    }
+
+    /**
+     * Dodaje arkusz. Arkusz jest tworzony od razu, więc kolejność arkuszy w pliku odpowiada kolejności wywołań.
+     *
+     * @param sheetName nazwa arkusza
+     * @param populator kod wypełniający arkusz, wywoływany przez {@link #populate()}
+     * @return this
+     */
+    public ParallelSheetExporter addSheet(@NotNull String sheetName, @NotNull SheetPopulator populator) {
+        ExcelExporter sheetExporter;
+        if(workbookExporter == null) {
+            workbookExporter = new ExcelExporter(sheetName, config);
+            sheetExporter = workbookExporter;
+        } else {
+            sheetExporter = workbookExporter.sheetExporter(sheetName);
+        }
+        jobs.add(new SheetJob(sheetName, sheetExporter, populator));
+        return this;
+    }
+
+    /**
+     * Wypełnia wszystkie arkusze równolegle, na puli wątków o rozmiarze nie większym niż liczba procesorów.
+     */
+    public void populate() {
+        int threads = Math.max(1, Math.min(jobs.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "excel-sheet-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            populate(executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wypełnia wszystkie arkusze równolegle na podanym executorze i czeka na zakończenie.
+     *
+     * @param executor executor, na którym uruchamiane są {@link SheetPopulator}
+     * @throws IllegalStateException jeśli wypełnianie któregokolwiek arkusza zakończyło się błędem
+     */
+    public void populate(@NotNull Executor executor) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(jobs.size());
+        for (SheetJob job : jobs) {
+            futures.add(CompletableFuture.runAsync(job::run, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    public void save(File outputFile) throws IOException {
+        requireSheets().save(outputFile);
+    }
+
+    public void save(OutputStream os) throws IOException {
+        requireSheets().save(os);
+    }
+
+    public Workbook getWorkbook() {
+        return requireSheets().getWorkbook();
+    }
+
+    private ExcelExporter requireSheets() {
+        if(workbookExporter == null)
+            throw new IllegalStateException("no sheets added");
+        return workbookExporter;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(workbookExporter != null)
+            workbookExporter.close();
+    }
+
+    private static final class SheetJob {
+
+        private final String sheetName;
+        private final ExcelExporter exporter;
+        private final SheetPopulator populator;
+
+        SheetJob(String sheetName, ExcelExporter exporter, SheetPopulator populator) {
+            this.sheetName = sheetName;
+            this.exporter = exporter;
+            this.populator = populator;
+        }
+
+        void run() {
+            try {
+                populator.populate(exporter);
+                log.debug("sheet {} populated", sheetName);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("can't populate sheet " + sheetName, e);
+            }
+        }
+    }
+
+}
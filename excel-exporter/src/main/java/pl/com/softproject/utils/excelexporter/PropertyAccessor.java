@@ -0,0 +1,21 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+/**
+ * Odczytuje wartość property z beana. Instancje tworzy {@link PropertyAccessors}
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@FunctionalInterface
+public interface PropertyAccessor {
+
+    /**
+     * @param bean obiekt, z którego odczytywana jest wartość
+     * @return wartość property lub null, jeśli nie da się jej odczytać
+     */
+    Object get(Object bean);
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jodd.bean.BeanUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Kompiluje ścieżki property (np. {@code customer.address.city}) do łańcucha {@link MethodHandle}.
+ * Ścieżka jest analizowana raz dla danej klasy beana, kolejne odczyty nie wymagają refleksji.
+ * Ścieżki, których nie da się rozwiązać statycznie (indeksy, mapy, typy bez getterów),
+ * są odczytywane jak dotychczas przez {@code BeanUtil.silent}. Metody dostępowe rekordów ({@code name()})
+ * są traktowane jak gettery.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Slf4j
+public final class PropertyAccessors {
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Map<String, PropertyAccessor>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * Zwraca skompilowany accessor dla danej klasy i ścieżki property. Wynik jest cache'owany per klasa.
+     *
+     * @param beanClass klasa beana
+     * @param propertyPath ścieżka property w notacji jodd
+     * @return accessor, nigdy null
+     */
+    public static @NotNull PropertyAccessor forProperty(@NotNull Class<?> beanClass, @NotNull String propertyPath) {
+        return CACHE.get(beanClass).computeIfAbsent(propertyPath, path -> compile(beanClass, path));
+    }
+
+    /**
+     * Accessor korzystający z {@code BeanUtil.silent} - odpowiednik dotychczasowego zachowania.
+     *
+     * @param propertyPath ścieżka property w notacji jodd
+     * @return accessor dynamiczny
+     */
+    public static @NotNull PropertyAccessor dynamic(@NotNull String propertyPath) {
+        return bean -> BeanUtil.silent.getProperty(bean, propertyPath);
+    }
+
+    /**
+     * Accessor wywołujący wprost podaną metodę bez parametrów lub odczytujący podane pole, niezależnie od nazwy.
+     *
+     * @param member metoda lub pole instancji
+     * @return accessor lub null, gdy składowa nie jest dostępna
+     */
+    static PropertyAccessor forMember(Member member) {
+        try {
+            if (!((AccessibleObject) member).trySetAccessible())
+                return null;
+            MethodHandle handle = member instanceof Method
+                    ? MethodHandles.lookup().unreflect((Method) member)
+                    : MethodHandles.lookup().unreflectGetter((Field) member);
+            return new CompiledAccessor(new MethodHandle[]{handle.asType(ACCESSOR_TYPE)}, null);
+        } catch (IllegalAccessException | SecurityException e) {
+            log.trace("{} is not accessible: {}", member, e.getMessage());
+            return null;
+        }
+    }
+
+    static PropertyAccessor compile(Class<?> beanClass, String propertyPath) {
+
+        if (propertyPath.indexOf('[') >= 0)
+            return dynamic(propertyPath);
+
+        String[] segments = propertyPath.split("\\.");
+        List<MethodHandle> steps = new ArrayList<>(segments.length);
+        Class<?> type = beanClass;
+        int resolved = 0;
+
+        while (resolved < segments.length && !Map.class.isAssignableFrom(type)) {
+            MethodHandle step = findGetter(type, segments[resolved]);
+            if (step == null)
+                break;
+            steps.add(step.asType(ACCESSOR_TYPE));
+            type = step.type().returnType();
+            resolved++;
+        }
+
+        if (resolved == 0)
+            return dynamic(propertyPath);
+
+        MethodHandle[] chain = steps.toArray(new MethodHandle[0]);
+        if (resolved == segments.length)
+            return new CompiledAccessor(chain, null);
+
+        String remainder = String.join(".", List.of(segments).subList(resolved, segments.length));
+        return new CompiledAccessor(chain, remainder);
+    }
+
+    private static MethodHandle findGetter(Class<?> type, String name) {
+
+        if (name.isEmpty())
+            return null;
+
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            Method method = findMethod(type, "get" + capitalized);
+            if (method == null) {
+                method = findMethod(type, "is" + capitalized);
+                if (method != null && method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class)
+                    method = null;
+            }
+            if (method == null && isRecord(type))
+                method = findMethod(type, name);
+            if (method != null && method.trySetAccessible())
+                return MethodHandles.lookup().unreflect(method);
+
+            Field field = type.getField(name);
+            if (!Modifier.isStatic(field.getModifiers()) && field.trySetAccessible())
+                return MethodHandles.lookup().unreflectGetter(field);
+        } catch (NoSuchFieldException | IllegalAccessException | SecurityException e) {
+            log.trace("property {} of {} is not statically resolvable: {}", name, type.getName(), e.getMessage());
+        }
+        return null;
+    }
+
+    private static boolean isRecord(Class<?> type) {
+        Class<?> superclass = type.getSuperclass();
+        return superclass != null && "java.lang.Record".equals(superclass.getName());
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        try {
+            Method method = type.getMethod(name);
+            if (Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class)
+                return null;
+            return method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class CompiledAccessor implements PropertyAccessor {
+
+        private final MethodHandle[] chain;
+        private final String dynamicRemainder;
+
+        CompiledAccessor(MethodHandle[] chain, String dynamicRemainder) {
+            this.chain = chain;
+            this.dynamicRemainder = dynamicRemainder;
+        }
+
+        @Override
+        public Object get(Object bean) {
+            Object current = bean;
+            try {
+                for (MethodHandle step : chain) {
+                    if (current == null)
+                        return null;
+                    current = (Object) step.invokeExact(current);
+                }
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                log.debug("can't read property of {}: {}", bean.getClass().getName(), e.getMessage());
+                return null;
+            }
+
+            if (dynamicRemainder == null || current == null)
+                return current;
+
+            return BeanUtil.silent.getProperty(current, dynamicRemainder);
+        }
+    }
+
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.function.DoubleToIntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * Eksportuje {@link ResultSet} bezpośrednio do arkusza, bez mapowania wierszy na beany.
+ * Kolumny są wyznaczane z {@link ResultSetMetaData}, wartości odczytywane typowanymi getterami
+ * ({@code getLong}, {@code getBigDecimal}, {@code getTimestamp}) i zapisywane z agregatami, szacowaniem szerokości
+ * kolumn, {@link ExportListener} i strefą czasową {@link #setZone(java.time.ZoneId)}. Wyniki {@code getLong},
+ * {@code getDouble} i {@code getBoolean} trafiają do komórki bez opakowywania w obiekt, pozostałe kolumny
+ * są zapisywane tą samą ścieżką co wiersze {@link #createRow(Object)}. Kolumny DATE są zapisywane
+ * jako {@link java.time.LocalDate}.
+ *
+ * <p>Kolejne wywołania {@link #export(String, ResultSet)} zapisują wyniki do kolejnych arkuszy tego samego skoroszytu.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Slf4j
+public class ResultSetExcelExporter extends ExcelExporter {
+
+    private int fetchSize;
+
+    public ResultSetExcelExporter(String sheetName) {
+        super(sheetName);
+    }
+
+    public ResultSetExcelExporter(String sheetName, int windowSize) {
+        super(sheetName, windowSize);
+    }
+
+    public ResultSetExcelExporter(String sheetName, ExcelExporterConfig config) {
+        super(sheetName, config);
+    }
+
+    /**
+     * Ustawia fetch size przekazywany do eksportowanego {@link ResultSet}. Wartość 0 pozostawia ustawienie sterownika.
+     * Niektóre sterowniki (np. PostgreSQL) strumieniują wyniki tylko przy wyłączonym autocommit.
+     *
+     * @param fetchSize liczba wierszy pobieranych z bazy w jednej paczce
+     */
+    public void setFetchSize(int fetchSize) {
+        if(fetchSize < 0)
+            throw new IllegalArgumentException("fetchSize must not be negative");
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Zapisuje wszystkie wiersze z ResultSet do nowego arkusza o podanej nazwie. Jeśli bieżący arkusz
+     * jest jeszcze pusty, zostaje on wykorzystany (ze zmianą nazwy).
+     *
+     * @param sheetName nazwa arkusza
+     * @param resultSet wynik zapytania, nie jest zamykany
+     * @return liczba zapisanych wierszy danych
+     * @throws SQLException błąd odczytu z bazy danych
+     */
+    public int export(String sheetName, ResultSet resultSet) throws SQLException {
+        if(isEmpty()) {
+            wb.setSheetName(wb.getSheetIndex(sheet), sheetName);
+            this.sheetName = sheetName;
+        } else {
+            addSheet(sheetName);
+        }
+        return export(resultSet);
+    }
+
+    /**
+     * Zapisuje wszystkie wiersze z ResultSet do bieżącego arkusza. Kolumny arkusza są zastępowane
+     * kolumnami wynikającymi z metadanych ResultSet.
+     *
+     * @param resultSet wynik zapytania, nie jest zamykany
+     * @return liczba zapisanych wierszy danych
+     * @throws SQLException błąd odczytu z bazy danych
+     */
+    public int export(ResultSet resultSet) throws SQLException {
+
+        if(fetchSize > 0)
+            resultSet.setFetchSize(fetchSize);
+
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        clearColumns();
+        for (int i = 0; i < columnCount; i++) {
+            int column = i + 1;
+            String label = metaData.getColumnLabel(column);
+            int scale = metaData.getScale(column);
+            ColumnReader reader = readerFor(metaData.getColumnType(column), metaData.getPrecision(column), scale);
+            ResultSetColumn resultSetColumn = new ResultSetColumn(label, column, reader, formatMask(reader, scale));
+            bindTypedWriter(resultSetColumn);
+            addColumn(resultSetColumn);
+        }
+
+        if(currentRowNumber == 0)
+            createHeaderRow();
+
+        int written = 0;
+        try {
+            while (resultSet.next()) {
+                createRow(resultSet);
+                written++;
+            }
+        } catch (ReadException e) {
+            throw e.getCause();
+        }
+        log.debug("exported {} rows to sheet {}", written, sheetName);
+        return written;
+    }
+
+    @Override
+    protected void createCell(Row row, Object bean, ColumnDescriptor columnDescriptor) {
+        if(!(columnDescriptor instanceof ResultSetColumn) || ((ResultSetColumn) columnDescriptor).style == null) {
+            super.createCell(row, bean, columnDescriptor);
+            return;
+        }
+
+        ResultSetColumn column = (ResultSetColumn) columnDescriptor;
+        long start = startCell();
+        try {
+            column.reader.write(this, row, (ResultSet) bean, column);
+        } catch (SQLException e) {
+            throw new ReadException(e);
+        }
+        finishCell(start);
+    }
+
+    @Override
+    protected Object extractCellValue(Object bean, ColumnDescriptor columnDescriptor, int rowNumber) {
+        if(!(columnDescriptor instanceof ResultSetColumn))
+            return super.extractCellValue(bean, columnDescriptor, rowNumber);
+
+        ResultSetColumn column = (ResultSetColumn) columnDescriptor;
+        try {
+            return column.reader.read((ResultSet) bean, column.index);
+        } catch (SQLException e) {
+            throw new ReadException(e);
+        }
+    }
+
+    @Override
+    ColumnCellWriter bindCellWriter(ColumnDescriptor columnDescriptor, Object property) {
+        if(property instanceof Boolean)
+            return new ColumnCellWriter(Boolean.class, BOOLEAN_WRITER, styleDefault, ColumnWidthEstimator.fixed(5));
+        return super.bindCellWriter(columnDescriptor, property);
+    }
+
+    /**
+     * Wiąże styl i szerokość kolumn zapisywanych bez pośredniego obiektu, tak jak
+     * {@link #bindCellWriter(ColumnDescriptor, Object)} dla wartości odczytanych przez {@link ColumnReader#read}.
+     */
+    private void bindTypedWriter(ResultSetColumn column) {
+        switch (column.reader) {
+            case LONG:
+            case DOUBLE:
+                column.style = determinateCellStyle(column.getStyleDescriptor(), styleDefault);
+                column.width = ColumnWidthEstimator.numberWidth(column.getStyleDescriptor().getExcelFormatMask());
+                break;
+            case BOOLEAN:
+                column.style = styleDefault;
+                break;
+            case DATE:
+                column.style = styleDateNoTime;
+                break;
+            case TIMESTAMP:
+                column.style = styleDate;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private ColumnReader readerFor(int sqlType, int precision, int scale) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return ColumnReader.LONG;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return scale == 0 && precision > 0 && precision <= 18 ? ColumnReader.LONG : ColumnReader.DECIMAL;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return ColumnReader.DOUBLE;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return ColumnReader.BOOLEAN;
+            case Types.DATE:
+                return ColumnReader.DATE;
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return ColumnReader.TIMESTAMP;
+            default:
+                return ColumnReader.STRING;
+        }
+    }
+
+    private static String formatMask(ColumnReader reader, int scale) {
+        if((reader == ColumnReader.DECIMAL || reader == ColumnReader.DOUBLE) && scale > 0 && scale <= 30)
+            return "#,##0." + "0".repeat(scale);
+        return null;
+    }
+
+    private static final CellWriter BOOLEAN_WRITER = (cell, value) -> cell.setCellValue((Boolean) value);
+
+    /**
+     * Kolumna odczytywana z ResultSet typowanym getterem, bez refleksji.
+     */
+    private static final class ResultSetColumn extends ColumnDescriptor {
+
+        private final int index;
+        private final ColumnReader reader;
+        /**
+         * styl kolumny zapisywanej bez pośredniego obiektu, null dla kolumn zapisywanych przez {@link #createCell}
+         */
+        private CellStyle style;
+        private DoubleToIntFunction width;
+
+        ResultSetColumn(String label, int index, ColumnReader reader, String formatMask) {
+            super(label, label, formatMask);
+            this.index = index;
+            this.reader = reader;
+        }
+    }
+
+    private enum ColumnReader {
+
+        LONG {
+            @Override
+            Object read(ResultSet rs, int column) throws SQLException {
+                long value = rs.getLong(column);
+                return rs.wasNull() ? null : value;
+            }
+
+            @Override
+            void write(ResultSetExcelExporter exporter, Row row, ResultSet rs, ResultSetColumn column) throws SQLException {
+                long value = rs.getLong(column.index);
+                if(rs.wasNull())
+                    exporter.skipCell();
+                else
+                    exporter.writeLongCell(row, value, column.style, column.width);
+            }
+        },
+        DOUBLE {
+            @Override
+            Object read(ResultSet rs, int column) throws SQLException {
+                double value = rs.getDouble(column);
+                return rs.wasNull() ? null : value;
+            }
+
+            @Override
+            void write(ResultSetExcelExporter exporter, Row row, ResultSet rs, ResultSetColumn column) throws SQLException {
+                double value = rs.getDouble(column.index);
+                if(rs.wasNull())
+                    exporter.skipCell();
+                else
+                    exporter.writeDoubleCell(row, value, column.style, column.width);
+            }
+        },
+        DECIMAL {
+            @Override
+            Object read(ResultSet rs, int column) throws SQLException {
+                return rs.getBigDecimal(column);
+            }
+        },
+        BOOLEAN {
+            @Override
+            Object read(ResultSet rs, int column) throws SQLException {
+                boolean value = rs.getBoolean(column);
+                return rs.wasNull() ? null : value;
+            }
+
+            @Override
+            void write(ResultSetExcelExporter exporter, Row row, ResultSet rs, ResultSetColumn column) throws SQLException {
+                boolean value = rs.getBoolean(column.index);
+                if(rs.wasNull())
+                    exporter.skipCell();
+                else
+                    exporter.writeBooleanCell(row, value, column.style, 5);
+            }
+        },
+        DATE {
+            @Override
+            Object read(ResultSet rs, int column) throws SQLException {
+                java.sql.Date value = rs.getDate(column);
+                return value == null ? null : value.toLocalDate();
+            }
+
+            @Override
+            void write(ResultSetExcelExporter exporter, Row row, ResultSet rs, ResultSetColumn column) throws SQLException {
+                java.sql.Date value = rs.getDate(column.index);
+                if(value == null)
+                    exporter.skipCell();
+                else
+                    exporter.writeDateCell(row, value.toLocalDate(), column.style, 10);
+            }
+        },
+        TIMESTAMP {
+            @Override
+            Object read(ResultSet rs, int column) throws SQLException {
+                return rs.getTimestamp(column);
+            }
+
+            @Override
+            void write(ResultSetExcelExporter exporter, Row row, ResultSet rs, ResultSetColumn column) throws SQLException {
+                java.sql.Timestamp value = rs.getTimestamp(column.index);
+                if(value == null)
+                    exporter.skipCell();
+                else
+                    exporter.writeDateCell(row, value, column.style, 16);
+            }
+        },
+        STRING {
+            @Override
+            Object read(ResultSet rs, int column) throws SQLException {
+                return rs.getString(column);
+            }
+        };
+
+        abstract Object read(ResultSet rs, int column) throws SQLException;
+
+        /**
+         * Odczytuje wartość typowanym getterem i zapisuje ją do kolejnej komórki wiersza bez pośredniego obiektu.
+         * Wywoływana tylko dla kolumn ze stylem związanym w {@link #bindTypedWriter(ResultSetColumn)}.
+         */
+        void write(ResultSetExcelExporter exporter, Row row, ResultSet rs, ResultSetColumn column) throws SQLException {
+            throw new UnsupportedOperationException(name() + " columns are written by createCell");
+        }
+    }
+
+    /**
+     * Przenosi {@link SQLException} przez {@link #createCell(Row, Object, ColumnDescriptor)}
+     * i {@link #extractCellValue(Object, ColumnDescriptor, int)} do {@link #export(ResultSet)}.
+     */
+    private static final class ReadException extends RuntimeException {
+
+        ReadException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+/**
+ * Wypełnia pojedynczy arkusz skoroszytu budowanego przez {@link ParallelSheetExporter}.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@FunctionalInterface
+public interface SheetPopulator {
+
+    /**
+     * @param sheet exporter związany z wypełnianym arkuszem; nie należy go zamykać ani zapisywać
+     * @throws Exception dowolny błąd, przerywa budowę skoroszytu
+     */
+    void populate(ExcelExporter sheet) throws Exception;
+
+}
@@ -0,0 +1,467 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Eksporter zapisujący arkusze bezpośrednio jako OOXML do docelowego strumienia, z pominięciem modelu
+ * obiektowego POI. Wiersze nie są buforowane ani zapisywane do plików tymczasowych - każdy wiersz trafia od razu
+ * do {@link java.util.zip.ZipOutputStream} na strumieniu docelowym, a plik .xlsx jest kompletny po {@link #close()}.
+ *
+ * <p>API odpowiada {@link ExcelExporter} w zakresie, który nie wymaga dostępu do już zapisanych wierszy:
+ * kolumny, nagłówki, wiersze danych, wiersze sumujące i scalenia komórek. Nie ma {@code getWorkbook()},
+ * autodopasowania szerokości ani zmiany stylu zapisanych komórek; szerokości kolumn można ustawić
+ * przed pierwszym wierszem arkusza.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Slf4j
+public class StreamingXlsxExporter implements Closeable {
+
+    protected List<ColumnDescriptor> columns = new ArrayList<>();
+    protected String sheetName;
+    protected int currentRowNumber;
+
+    private final XlsxStreamWriter writer;
+    private final OutputStream target;
+    private final boolean ownsTarget;
+    private final ColumnValueReader valueReader = new ColumnValueReader();
+    private final Map<Integer, Double> columnWidths = new TreeMap<>();
+
+    private final int styleMoney;
+    private final int styleDate;
+    private final int styleDateNoTime;
+    private final int styleHeader;
+
+    private ColumnDescriptor[] boundColumns = new ColumnDescriptor[0];
+    private Class<?>[] boundTypes = new Class<?>[0];
+    private CellValueType[] boundValueTypes = new CellValueType[0];
+    private int[] boundStyles = new int[0];
+    private final ColumnAggregates aggregates = new ColumnAggregates();
+    private ColumnSchema schema;
+    private int headerRowNumber = -1;
+    private ExcelDateConverter dateConverter = new ExcelDateConverter(ZoneId.systemDefault());
+    private boolean closed;
+
+    /**
+     * Tworzy eksporter zapisujący do strumienia. Strumień nie jest zamykany przez {@link #close()}.
+     *
+     * @param sheetName nazwa pierwszego arkusza
+     * @param out strumień docelowy
+     */
+    public StreamingXlsxExporter(String sheetName, @NotNull OutputStream out) {
+        this(sheetName, out, false);
+    }
+
+    /**
+     * Tworzy eksporter zapisujący do pliku. Plik jest zamykany przez {@link #close()}.
+     *
+     * @param sheetName nazwa pierwszego arkusza
+     * @param outputFile plik docelowy
+     * @throws IOException nie można otworzyć pliku
+     */
+    public StreamingXlsxExporter(String sheetName, @NotNull File outputFile) throws IOException {
+        this(sheetName, new BufferedOutputStream(new FileOutputStream(outputFile), 1 << 16), true);
+    }
+
+    private StreamingXlsxExporter(String sheetName, OutputStream out, boolean ownsTarget) {
+        this.sheetName = sheetName;
+        this.target = out;
+        this.ownsTarget = ownsTarget;
+        this.writer = new XlsxStreamWriter(out);
+        this.styleMoney = writer.cellStyle("#,##0.00", false, StyleKey.NONE, false);
+        this.styleDate = writer.cellStyle("yyyy-mm-dd hh:mm", false, StyleKey.NONE, false);
+        this.styleDateNoTime = writer.cellStyle("yyyy-mm-dd", false, StyleKey.NONE, false);
+        this.styleHeader = writer.cellStyle(null, true, StyleKey.NONE, true);
+    }
+
+    public StreamingXlsxExporter addColumn(ColumnDescriptor columnDescriptor) {
+        columns.add(columnDescriptor);
+        schema = null;
+        return this;
+    }
+
+    /**
+     * Dodaje kolumny klasy opisanej adnotacjami {@link ExcelColumn}, w kolejności eksportu.
+     *
+     * @param type klasa eksportowanych obiektów
+     * @return this
+     * @see ExcelRowWriters#forType(Class)
+     */
+    public StreamingXlsxExporter addColumns(Class<?> type) {
+        ExcelRowWriters.forType(type).columns().forEach(this::addColumn);
+        return this;
+    }
+
+    public void clearColumns() {
+        columns.clear();
+        schema = null;
+        Arrays.fill(boundColumns, null);
+    }
+
+    /**
+     * Ustawia szerokość kolumny bieżącego arkusza. Szerokości są zapisywane przed danymi arkusza,
+     * dlatego muszą być ustawione przed pierwszym wierszem.
+     *
+     * @param column indeks kolumny (od 0)
+     * @param width szerokość w znakach
+     */
+    public void setColumnWidth(int column, double width) {
+        if(writer.isSheetOpen())
+            throw new IllegalStateException("column width must be set before the first row of sheet " + sheetName);
+        columnWidths.put(column, width);
+    }
+
+    /**
+     * Dodaje wiersz do arkusza pobierając dane z dostarczonego beana. Przed pierwszym wierszem arkusza
+     * zapisywany jest nagłówek.
+     *
+     * @param bean JavaBean z danymi do wstawienia w wierszu
+     */
+    public void createRow(Object bean) {
+        createRow(bean, 0);
+    }
+
+    /**
+     * Wariant {@link #createRow(Object)} zapisujący nagłówek w podanym wierszu, jak
+     * {@link ExcelExporter#createRow(Object, int)} - np. po pominięciu wierszy przez {@link #goToNextRow()}.
+     *
+     * @param bean JavaBean z danymi do wstawienia w wierszu
+     * @param columnDescriptorHeaderRow wiersz, w którym ma zostać zapisany nagłówek
+     */
+    public void createRow(Object bean, int columnDescriptorHeaderRow) {
+        try {
+            if(currentRowNumber == columnDescriptorHeaderRow)
+                writeHeader();
+
+            openSheet();
+            writer.startRow(currentRowNumber);
+            aggregates.rowStarted(currentRowNumber);
+            ColumnDescriptor[] descriptors = schema().descriptors();
+            for (int index = 0; index < descriptors.length; index++) {
+                ColumnDescriptor column = descriptors[index];
+                Object value = valueReader.cellValue(bean, column, currentRowNumber);
+                if(value != null) {
+                    writeValue(index, column, value);
+                    aggregates.add(index, value);
+                }
+            }
+            writer.endRow();
+            currentRowNumber++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int writeAll(Stream<?> beans) {
+        return writeAll(beans.iterator());
+    }
+
+    public int writeAll(Iterable<?> beans) {
+        return writeAll(beans.iterator());
+    }
+
+    public int writeAll(Iterator<?> beans) {
+        int written = 0;
+        while (beans.hasNext()) {
+            createRow(beans.next());
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Ustawia strefę czasową dla wartości wskazujących chwilę w czasie, jak {@link ExcelExporter#setZone(ZoneId)}.
+     *
+     * @param zone strefa czasowa
+     */
+    public void setZone(@NotNull ZoneId zone) {
+        dateConverter = new ExcelDateConverter(zone);
+    }
+
+    public void goToNextRow() {
+        this.currentRowNumber++;
+    }
+
+    public boolean isEmpty() {
+        return currentRowNumber == 0;
+    }
+
+    public int getColumnIndex(String headerName) {
+        return schema().indexOf(headerName);
+    }
+
+    private ColumnSchema schema() {
+        schema = ColumnSchema.current(schema, columns);
+        return schema;
+    }
+
+    public void addMergedRegion(int rowFrom, int rowTo, int colFrom, int colTo) {
+        writer.mergeRegion(rowFrom, rowTo, colFrom, colTo);
+    }
+
+    /**
+     * Zamyka bieżący arkusz i rozpoczyna nowy. Kolumny są czyszczone, jak w {@link ExcelExporter#addSheet(String)}.
+     *
+     * @param name nazwa nowego arkusza
+     */
+    public void addSheet(String name) {
+        try {
+            openSheet();
+            writer.endSheet();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sheetName = name;
+        currentRowNumber = 0;
+        headerRowNumber = -1;
+        columnWidths.clear();
+        clearColumns();
+        resetAggregates();
+    }
+
+    /**
+     * Włącza wyliczanie agregatów wartości liczbowych kolumn, jak {@link ExcelExporter#enableAggregates()}.
+     */
+    public void enableAggregates() {
+        aggregates.enable();
+    }
+
+    public void resetAggregates() {
+        aggregates.reset();
+    }
+
+    public ColumnAggregate getColumnAggregate(int column) {
+        return aggregates.get(column);
+    }
+
+    public ColumnAggregate getColumnAggregate(String headerName) {
+        int column = getColumnIndex(headerName);
+        if(column < 0)
+            throw new IllegalArgumentException("no column " + headerName);
+        return getColumnAggregate(column);
+    }
+
+    /**
+     * Adds a summary row at the bottom of the sheet with SUM formulas for specified columns.
+     *
+     * @param columnsToSum List of column indices to sum (0-based)
+     * @param config Configuration object for summary row options
+     * @return Row index where the summary was added
+     */
+    public int addSummaryRow(@NotNull List<Integer> columnsToSum, @NotNull SummaryRowConfig config) {
+
+        aggregates.checkSummary(config, headerRowNumber + 1);
+
+        Map<Integer, Integer> cells = new TreeMap<>();
+        cells.put(config.getLabelColumnIndex(), -1);
+
+        for (Integer colIndex : columnsToSum) {
+            if (colIndex < 0 || colIndex >= schema().size()) {
+                continue;
+            }
+            ColumnStyleDescriptor styleDescriptor = schema().get(colIndex).getStyleDescriptor();
+            cells.put(colIndex, config.isBoldText()
+                    ? styleFor(styleDescriptor, "#,##0.00", true)
+                    : determinateCellStyle(styleDescriptor, styleMoney));
+        }
+
+        try {
+            openSheet();
+            writer.startRow(currentRowNumber);
+            for (Map.Entry<Integer, Integer> cell : cells.entrySet()) {
+                int colIndex = cell.getKey();
+                if(cell.getValue() < 0) {
+                    writer.stringCell(colIndex, config.getSummaryLabel(), config.isBoldText()
+                            ? writer.cellStyle(null, true, StyleKey.NONE, false) : XlsxStreamWriter.DEFAULT_STYLE);
+                    continue;
+                }
+                String formula = ColumnAggregates.summaryFormula(config, colIndex, currentRowNumber);
+                Double value = aggregates.summaryValue(config, colIndex);
+                if(formula != null)
+                    writer.formulaCell(colIndex, formula, value, cell.getValue());
+                else if(value != null)
+                    writer.numberCell(colIndex, value, cell.getValue());
+            }
+            writer.endRow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        currentRowNumber++;
+        return currentRowNumber - 1;
+    }
+
+    /**
+     * Adds a summary row at the bottom of the sheet with SUM formulas for specified columns by their names.
+     *
+     * @param columnNamesToSum List of column names to sum
+     * @param config Configuration object for summary row options
+     * @return Row index where the summary was added
+     */
+    public int addSummaryRowByColumnNames(@NotNull List<String> columnNamesToSum, @NotNull SummaryRowConfig config) {
+        return addSummaryRow(schema().indicesOf(columnNamesToSum), config);
+    }
+
+    public int addSummaryRow(@NotNull List<Integer> columnsToSum) {
+        return addSummaryRow(columnsToSum, SummaryRowConfig.builder().build());
+    }
+
+    public int addSummaryRowByColumnNames(@NotNull List<String> columnNamesToSum) {
+        return addSummaryRowByColumnNames(columnNamesToSum, SummaryRowConfig.builder().build());
+    }
+
+    /**
+     * Kończy skoroszyt: zamyka bieżący arkusz i zapisuje style oraz części skoroszytu. Strumień docelowy
+     * pozostaje otwarty, jeśli eksporter go nie utworzył.
+     *
+     * @throws IOException błąd zapisu
+     */
+    public void finish() throws IOException {
+        if(closed)
+            return;
+        openSheet();
+        writer.finish();
+        closed = true;
+        log.debug("xlsx stream finished, last sheet {}", sheetName);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            if(ownsTarget)
+                target.close();
+            else
+                target.flush();
+        }
+    }
+
+    private void openSheet() throws IOException {
+        if(closed)
+            throw new IllegalStateException("exporter is already closed");
+        if(!writer.isSheetOpen())
+            writer.startSheet(sheetName, columnWidths);
+    }
+
+    private void writeHeader() throws IOException {
+        schema = ColumnSchema.of(columns);
+        openSheet();
+        writer.startRow(currentRowNumber);
+        headerRowNumber = currentRowNumber;
+        int index = 0;
+        for (ColumnDescriptor column : columns) {
+            if(column.getHeaderName() != null)
+                writer.stringCell(index, column.getHeaderName(), styleHeader);
+            else
+                writer.blankCell(index, styleHeader);
+            if(column.getColumns() != null && column.getColumns() > 1)
+                writer.mergeRegion(currentRowNumber, currentRowNumber, index, index + column.getColumns() - 1);
+            index++;
+        }
+        writer.endRow();
+        currentRowNumber++;
+    }
+
+    private void writeValue(int index, ColumnDescriptor column, Object value) throws IOException {
+
+        if(index >= boundColumns.length) {
+            int length = Math.max(index + 1, boundColumns.length * 2);
+            boundColumns = Arrays.copyOf(boundColumns, length);
+            boundTypes = Arrays.copyOf(boundTypes, length);
+            boundValueTypes = Arrays.copyOf(boundValueTypes, length);
+            boundStyles = Arrays.copyOf(boundStyles, length);
+        }
+        if(boundColumns[index] != column || boundTypes[index] != null && boundTypes[index] != value.getClass())
+            bind(index, column, value);
+
+        CellValueType valueType = boundValueTypes[index];
+        int style = boundStyles[index];
+        switch (valueType) {
+            case STRING:
+                writer.stringCell(index, (String) value, style);
+                break;
+            case INTEGRAL:
+                writer.longCell(index, ((Number) value).longValue(), style);
+                break;
+            case DOUBLE:
+                writer.numberCell(index, (Double) value, style);
+                break;
+            case BIG_DECIMAL:
+                writer.numberCell(index, ((BigDecimal) value).doubleValue(), style);
+                break;
+            case OTHER:
+                writer.stringCell(index, value.toString().trim(), style);
+                break;
+            default:
+                writer.numberCell(index, valueType.serial(dateConverter, value), style);
+        }
+    }
+
+    /**
+     * Dobiera sposób zapisu i styl komórki dla kolumny na podstawie typu wartości, tak jak
+     * {@link ExcelExporter#bindCellWriter(ColumnDescriptor, Object)}. Kolumna jest wiązana ponownie, gdy pod
+     * indeksem znajdzie się inna kolumna (np. w kolejnym arkuszu) lub zmieni się typ wartości.
+     */
+    private void bind(int index, ColumnDescriptor column, Object value) {
+
+        ColumnStyleDescriptor styleDescriptor = column.getStyleDescriptor();
+        boundColumns[index] = column;
+
+        if(column.getColumnValueFormatter() != null) {
+            boundTypes[index] = null;
+            boundValueTypes[index] = CellValueType.STRING;
+            boundStyles[index] = determinateCellStyle(styleDescriptor, XlsxStreamWriter.DEFAULT_STYLE);
+            return;
+        }
+
+        CellValueType valueType = CellValueType.of(value);
+        boundTypes[index] = value.getClass();
+        boundValueTypes[index] = valueType;
+        if(valueType.isDate())
+            boundStyles[index] = determinateCellStyle(styleDescriptor, valueType.isDateOnly() ? styleDateNoTime : styleDate);
+        else
+            boundStyles[index] = determinateCellStyle(styleDescriptor, XlsxStreamWriter.DEFAULT_STYLE);
+    }
+
+    private int determinateCellStyle(ColumnStyleDescriptor styleDescriptor, int defaultStyle) {
+
+        if(styleDescriptor == null
+                || styleDescriptor.getExcelFormatMask() == null && styleDescriptor.getType() == null)
+            return defaultStyle;
+
+        return styleFor(styleDescriptor, null, false);
+    }
+
+    private int styleFor(ColumnStyleDescriptor styleDescriptor, String defaultMask, boolean bold) {
+
+        if(styleDescriptor == null
+                || styleDescriptor.getExcelFormatMask() == null && styleDescriptor.getType() == null)
+            return writer.cellStyle(defaultMask, bold, StyleKey.NONE, false);
+
+        return writer.cellStyle(styleDescriptor.getExcelFormatMask(), bold,
+                StyleKey.fillColor(styleDescriptor.getType()), false);
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import lombok.Builder;
+import lombok.Value;
+import org.apache.poi.hssf.util.HSSFColor;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+
+/**
+ * Full attribute set of a cell style interned by {@link StyleRegistry}. Two keys with equal attributes
+ * always resolve to the same {@link org.apache.poi.ss.usermodel.CellStyle} of a workbook.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@Value
+@Builder(toBuilder = true)
+public class StyleKey {
+
+    public static final short NONE = -1;
+
+    public static final StyleKey DEFAULT = StyleKey.builder().build();
+
+    /**
+     * Index of the workbook style the new style is cloned from before other attributes are applied
+     * (defaults to {@link #NONE})
+     */
+    @Builder.Default
+    short baseStyle = NONE;
+
+    /**
+     * Excel number format mask, e.g. {@code #,##0.00} (defaults to null - the base or general format)
+     */
+    String format;
+
+    /**
+     * Indexed colour of a solid fill (defaults to {@link #NONE} - no fill)
+     */
+    @Builder.Default
+    short fillColor = NONE;
+
+    /**
+     * RGB colour of a solid fill as {@code 0xRRGGBB}, XSSF workbooks only (defaults to -1 - no fill)
+     */
+    @Builder.Default
+    int fillRgb = -1;
+
+    @Builder.Default
+    boolean bold = false;
+
+    /**
+     * Indexed font colour (defaults to {@link Font#COLOR_NORMAL})
+     */
+    @Builder.Default
+    short fontColor = Font.COLOR_NORMAL;
+
+    HorizontalAlignment alignment;
+
+    VerticalAlignment verticalAlignment;
+
+    /**
+     * @return true when the style needs a font other than the workbook default
+     */
+    boolean hasFont() {
+        return bold || fontColor != Font.COLOR_NORMAL;
+    }
+
+    /**
+     * @return key of a bold variant of this style
+     */
+    public StyleKey withBold() {
+        return bold ? this : toBuilder().bold(true).build();
+    }
+
+    /**
+     * @return indexed fill colour of a column style type, {@link #NONE} for no type or {@link ColumnStyleType#DEFAULT}
+     */
+    static short fillColor(ColumnStyleType type) {
+        if(type == null)
+            return NONE;
+        switch (type) {
+            case ERROR:
+                return HSSFColor.HSSFColorPredefined.RED.getIndex();
+            case SUCCESS:
+                return HSSFColor.HSSFColorPredefined.GREEN.getIndex();
+            case WARNING:
+                return HSSFColor.HSSFColorPredefined.YELLOW.getIndex();
+            case BLUE:
+                return HSSFColor.HSSFColorPredefined.LIGHT_BLUE.getIndex();
+            default:
+                return NONE;
+        }
+    }
+}
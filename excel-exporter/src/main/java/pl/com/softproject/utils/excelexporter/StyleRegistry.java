@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.DefaultIndexedColorMap;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Rejestr stylów skoroszytu: style i czcionki są tworzone raz dla każdego zestawu atrybutów ({@link StyleKey})
+ * i współdzielone, więc wielokrotne formatowanie komórek w pętli nie zbliża skoroszytu do limitu 64 000 stylów
+ * i nie powiększa {@code styles.xml}. Rejestr jest wspólny dla wszystkich użytkowników tego samego skoroszytu -
+ * {@link ExcelExporter}, {@code PivotTableExcelExporter} i {@code PivotDoubleGroupingExcelExporter} - i bezpieczny
+ * wielowątkowo.
+ *
+ * <p>Zwracane style są współdzielone i nie powinny być modyfikowane.
+ *
+ * <p>Rejestr przechowuje wyłącznie indeksy stylów i czcionek, a skoroszyty są kluczami słabymi, więc nie
+ * wydłuża czasu życia skoroszytu.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public final class StyleRegistry {
+
+    private static final Map<Workbook, Interned> WORKBOOKS = new WeakHashMap<>();
+
+    private final Workbook workbook;
+    private final Interned interned;
+
+    private StyleRegistry(Workbook workbook, Interned interned) {
+        this.workbook = workbook;
+        this.interned = interned;
+    }
+
+    /**
+     * @param workbook skoroszyt
+     * @return rejestr stylów skoroszytu
+     */
+    public static StyleRegistry forWorkbook(@NotNull Workbook workbook) {
+        synchronized (WORKBOOKS) {
+            return new StyleRegistry(workbook, WORKBOOKS.computeIfAbsent(workbook, wb -> new Interned()));
+        }
+    }
+
+    /**
+     * Zwraca styl o podanych atrybutach, tworząc go przy pierwszym użyciu.
+     *
+     * @param key atrybuty stylu
+     * @return współdzielony styl skoroszytu
+     */
+    public CellStyle style(@NotNull StyleKey key) {
+        synchronized (interned) {
+            Integer index = interned.styles.get(key);
+            if(index != null)
+                return workbook.getCellStyleAt(index);
+
+            CellStyle style = createStyle(key);
+            interned.styles.put(key, (int) style.getIndex());
+            return style;
+        }
+    }
+
+    /**
+     * @param base styl bazowy tego skoroszytu
+     * @return pogrubiona odmiana stylu bazowego
+     */
+    public CellStyle bold(@NotNull CellStyle base) {
+        return style(StyleKey.builder().baseStyle(base.getIndex()).bold(true).build());
+    }
+
+    /**
+     * Zwraca czcionkę domyślnego kroju o podanej grubości i kolorze, tworząc ją przy pierwszym użyciu.
+     *
+     * @param bold czy pogrubiona
+     * @param color indeksowany kolor czcionki, np. {@link Font#COLOR_RED}
+     * @return współdzielona czcionka skoroszytu
+     */
+    public Font font(boolean bold, short color) {
+        synchronized (interned) {
+            int key = (bold ? 1 << 16 : 0) | (color & 0xFFFF);
+            Integer index = interned.fonts.get(key);
+            if(index != null)
+                return workbook.getFontAt(index);
+
+            Font font = workbook.createFont();
+            font.setBold(bold);
+            font.setColor(color);
+            interned.fonts.put(key, font.getIndex());
+            return font;
+        }
+    }
+
+    /**
+     * @return liczba stylów utworzonych przez rejestr w tym skoroszycie
+     */
+    public int size() {
+        synchronized (interned) {
+            return interned.styles.size();
+        }
+    }
+
+    private CellStyle createStyle(StyleKey key) {
+
+        CellStyle style = workbook.createCellStyle();
+        if(key.getBaseStyle() != StyleKey.NONE)
+            style.cloneStyleFrom(workbook.getCellStyleAt(key.getBaseStyle()));
+
+        if(key.getFormat() != null)
+            style.setDataFormat(workbook.createDataFormat().getFormat(key.getFormat()));
+
+        if(key.getFillColor() != StyleKey.NONE) {
+            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            style.setFillForegroundColor(key.getFillColor());
+        } else if(key.getFillRgb() >= 0) {
+            int rgb = key.getFillRgb();
+            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            style.setFillForegroundColor(new XSSFColor(
+                    new byte[]{(byte) (rgb >> 16), (byte) (rgb >> 8), (byte) rgb}, new DefaultIndexedColorMap()));
+        }
+
+        if(key.hasFont())
+            style.setFont(font(key.isBold(), key.getFontColor()));
+        if(key.getAlignment() != null)
+            style.setAlignment(key.getAlignment());
+        if(key.getVerticalAlignment() != null)
+            style.setVerticalAlignment(key.getVerticalAlignment());
+
+        return style;
+    }
+
+    private static final class Interned {
+        private final Map<StyleKey, Integer> styles = new HashMap<>();
+        private final Map<Integer, Integer> fonts = new HashMap<>();
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+/**
+ * Aggregate functions available in summary rows, each mapped to its Excel worksheet function.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public enum SummaryFunction {
+
+    SUM("SUM"), COUNT("COUNT"), MIN("MIN"), MAX("MAX"), AVERAGE("AVERAGE");
+
+    private final String excelFunction;
+
+    SummaryFunction(String excelFunction) {
+        this.excelFunction = excelFunction;
+    }
+
+    /**
+     * @return name of the Excel worksheet function
+     */
+    public String getExcelFunction() {
+        return excelFunction;
+    }
+
+}
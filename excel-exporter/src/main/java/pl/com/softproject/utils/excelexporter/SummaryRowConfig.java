@@ -31,4 +31,19 @@ public class SummaryRowConfig {
     
     @Builder.Default
     private boolean boldText = false;
-} 
+
+    /**
+     * Aggregate function used in the summary cells (defaults to SUM)
+     */
+    @Builder.Default
+    private SummaryFunction function = SummaryFunction.SUM;
+
+    /**
+     * What the summary cells contain: a formula, a value computed while rows were written,
+     * or a formula with the computed value cached (defaults to FORMULA).
+     * Computed values require {@link ExcelExporter#enableAggregates()}, and {@link #skipFirstRows} must not
+     * exclude or add data rows to the range the aggregates cover.
+     */
+    @Builder.Default
+    private SummaryValueMode valueMode = SummaryValueMode.FORMULA;
+}
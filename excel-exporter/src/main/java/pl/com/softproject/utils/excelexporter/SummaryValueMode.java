@@ -0,0 +1,29 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+/**
+ * Content of the summary row cells.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public enum SummaryValueMode {
+
+    /**
+     * formula only, calculated by Excel when the file is opened
+     */
+    FORMULA,
+
+    /**
+     * value computed by the exporter while rows were written, no formula
+     */
+    VALUE,
+
+    /**
+     * formula with the computed value stored as its cached result, readable without recalculation
+     */
+    FORMULA_WITH_VALUE
+
+}
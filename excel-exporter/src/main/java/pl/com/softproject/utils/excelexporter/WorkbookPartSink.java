@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Dostarcza strumienie dla kolejnych części eksportu dzielonego na wiele skoroszytów.
+ *
+ * @see ExcelExporter#setWorkbookRollover(int, WorkbookPartSink, java.util.concurrent.Executor)
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@FunctionalInterface
+public interface WorkbookPartSink {
+
+    /**
+     * Otwiera strumień dla kolejnej części. Strumień zostanie zamknięty przez exporter po zapisie.
+     *
+     * @param partNumber numer części, liczony od 1
+     * @return strumień, do którego zostanie zapisany skoroszyt
+     * @throws IOException błąd otwarcia strumienia
+     */
+    OutputStream open(int partNumber) throws IOException;
+
+}
@@ -0,0 +1,461 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+
+/**
+ * Niskopoziomowy, jednoprzebiegowy zapis pliku .xlsx: arkusze są zapisywane jako XML bezpośrednio
+ * do {@link ZipOutputStream} na docelowym strumieniu, bez modelu obiektowego POI i bez plików tymczasowych.
+ * Teksty zapisywane są jako inline strings, style otrzymują indeksy w chwili rejestracji, a {@code styles.xml}
+ * i {@code workbook.xml} są dopisywane na końcu.
+ *
+ * <p>Wiersze muszą być zapisywane w kolejności rosnącej, a komórki w wierszu w kolejności kolumn.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+final class XlsxStreamWriter implements Closeable {
+
+    static final int DEFAULT_STYLE = 0;
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PKG_REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private final ZipOutputStream zip;
+    private final Writer out;
+    private final char[] digits = new char[20];
+    private final List<String> columnNames = new ArrayList<>();
+    private final List<String> sheetNames = new ArrayList<>();
+    private final List<String> mergedRegions = new ArrayList<>();
+
+    private final Map<String, Integer> numberFormats = new LinkedHashMap<>();
+    private final Map<Short, Integer> fills = new LinkedHashMap<>();
+    private final Map<Long, Integer> cellStyles = new LinkedHashMap<>();
+
+    private boolean sheetOpen;
+    private boolean rowOpen;
+    private int currentRow = -1;
+    private boolean finished;
+
+    XlsxStreamWriter(OutputStream target) {
+        this.zip = new ZipOutputStream(target, StandardCharsets.UTF_8);
+        this.out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 1 << 16);
+        cellStyle(0, false, (short) -1, false);
+    }
+
+    /**
+     * Rejestruje styl komórki i zwraca jego indeks. Ten sam zestaw atrybutów zawsze daje ten sam indeks.
+     *
+     * @param formatMask maska formatu Excel lub null dla formatu General
+     * @param bold pogrubiona czcionka
+     * @param fillColor indeks koloru wypełnienia (paleta indeksowana) lub -1 bez wypełnienia
+     * @param centered wyrównanie do środka
+     * @return indeks stylu do użycia w komórkach
+     */
+    int cellStyle(String formatMask, boolean bold, short fillColor, boolean centered) {
+        return cellStyle(numberFormat(formatMask), bold, fillColor, centered);
+    }
+
+    private int cellStyle(int numberFormatId, boolean bold, short fillColor, boolean centered) {
+        int fillId = fillColor < 0 ? 0 : fills.computeIfAbsent(fillColor, color -> fills.size() + 2);
+        long key = ((long) numberFormatId << 32) | ((long) fillId << 2) | (bold ? 2 : 0) | (centered ? 1 : 0);
+        return cellStyles.computeIfAbsent(key, k -> cellStyles.size());
+    }
+
+    private int numberFormat(String formatMask) {
+        if(formatMask == null)
+            return 0;
+        int builtin = BuiltinFormats.getBuiltinFormat(formatMask);
+        if(builtin >= 0)
+            return builtin;
+        return numberFormats.computeIfAbsent(formatMask, mask -> 164 + numberFormats.size());
+    }
+
+    void startSheet(String name, Map<Integer, Double> columnWidths) throws IOException {
+        if(sheetOpen)
+            endSheet();
+
+        sheetNames.add(name);
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetNames.size() + ".xml"));
+        out.write(XML_HEADER);
+        out.write("<worksheet xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + REL_NS + "\">");
+        if(!columnWidths.isEmpty()) {
+            out.write("<cols>");
+            for (Map.Entry<Integer, Double> width : columnWidths.entrySet()) {
+                out.write("<col min=\"");
+                writeInt(width.getKey() + 1);
+                out.write("\" max=\"");
+                writeInt(width.getKey() + 1);
+                out.write("\" width=\"");
+                out.write(Double.toString(width.getValue()));
+                out.write("\" customWidth=\"1\"/>");
+            }
+            out.write("</cols>");
+        }
+        out.write("<sheetData>");
+        sheetOpen = true;
+        currentRow = -1;
+    }
+
+    void startRow(int rowIndex) throws IOException {
+        if(rowOpen)
+            endRow();
+        if(rowIndex <= currentRow)
+            throw new IllegalStateException("rows must be written in ascending order, row " + rowIndex
+                    + " requested after row " + currentRow);
+        currentRow = rowIndex;
+        out.write("<row r=\"");
+        writeInt(rowIndex + 1);
+        out.write("\">");
+        rowOpen = true;
+    }
+
+    void endRow() throws IOException {
+        if(rowOpen) {
+            out.write("</row>");
+            rowOpen = false;
+        }
+    }
+
+    void stringCell(int column, String value, int style) throws IOException {
+        startCell(column, style, "inlineStr");
+        if(!value.isEmpty() && (Character.isWhitespace(value.charAt(0))
+                || Character.isWhitespace(value.charAt(value.length() - 1)))) {
+            out.write("<is><t xml:space=\"preserve\">");
+        } else {
+            out.write("<is><t>");
+        }
+        writeEscaped(value, false);
+        out.write("</t></is></c>");
+    }
+
+    void blankCell(int column, int style) throws IOException {
+        startCell(column, style, null);
+        out.write("</c>");
+    }
+
+    void numberCell(int column, double value, int style) throws IOException {
+        if(Double.isNaN(value) || Double.isInfinite(value)) {
+            stringCell(column, Double.toString(value), style);
+            return;
+        }
+        startCell(column, style, null);
+        out.write("<v>");
+        if(value == Math.rint(value) && Math.abs(value) < 1e15) {
+            writeLong((long) value);
+        } else {
+            out.write(Double.toString(value));
+        }
+        out.write("</v></c>");
+    }
+
+    void longCell(int column, long value, int style) throws IOException {
+        startCell(column, style, null);
+        out.write("<v>");
+        writeLong(value);
+        out.write("</v></c>");
+    }
+
+    void booleanCell(int column, boolean value, int style) throws IOException {
+        startCell(column, style, "b");
+        out.write(value ? "<v>1</v></c>" : "<v>0</v></c>");
+    }
+
+    void formulaCell(int column, String formula, int style) throws IOException {
+        formulaCell(column, formula, null, style);
+    }
+
+    /**
+     * @param cachedValue wynik formuły zapisywany jako wartość obliczona lub null
+     */
+    void formulaCell(int column, String formula, Double cachedValue, int style) throws IOException {
+        startCell(column, style, null);
+        out.write("<f>");
+        writeEscaped(formula, false);
+        out.write("</f>");
+        if(cachedValue != null && !cachedValue.isNaN() && !cachedValue.isInfinite()) {
+            out.write("<v>");
+            out.write(Double.toString(cachedValue));
+            out.write("</v>");
+        }
+        out.write("</c>");
+    }
+
+    void mergeRegion(int firstRow, int lastRow, int firstColumn, int lastColumn) {
+        mergedRegions.add(columnName(firstColumn) + (firstRow + 1) + ":" + columnName(lastColumn) + (lastRow + 1));
+    }
+
+    void endSheet() throws IOException {
+        if(!sheetOpen)
+            return;
+        endRow();
+        out.write("</sheetData>");
+        if(!mergedRegions.isEmpty()) {
+            out.write("<mergeCells count=\"");
+            writeInt(mergedRegions.size());
+            out.write("\">");
+            for (String region : mergedRegions) {
+                out.write("<mergeCell ref=\"");
+                out.write(region);
+                out.write("\"/>");
+            }
+            out.write("</mergeCells>");
+            mergedRegions.clear();
+        }
+        out.write("</worksheet>");
+        closeEntry();
+        sheetOpen = false;
+    }
+
+    boolean isSheetOpen() {
+        return sheetOpen;
+    }
+
+    /**
+     * Zamyka bieżący arkusz i dopisuje części skoroszytu. Nie zamyka strumienia docelowego.
+     */
+    void finish() throws IOException {
+        if(finished)
+            return;
+        endSheet();
+        if(sheetNames.isEmpty())
+            throw new IllegalStateException("workbook must contain at least one sheet");
+
+        writeStyles();
+        writeWorkbook();
+        writeContentTypes();
+        zip.finish();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private void startCell(int column, int style, String type) throws IOException {
+        out.write("<c r=\"");
+        out.write(columnName(column));
+        writeInt(currentRow + 1);
+        if(style != DEFAULT_STYLE) {
+            out.write("\" s=\"");
+            writeInt(style);
+        }
+        if(type != null) {
+            out.write("\" t=\"");
+            out.write(type);
+        }
+        out.write("\">");
+    }
+
+    private String columnName(int column) {
+        while (columnNames.size() <= column) {
+            int index = columnNames.size();
+            StringBuilder sb = new StringBuilder(3);
+            for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+                sb.insert(0, (char) ('A' + (n - 1) % 26));
+            }
+            columnNames.add(sb.toString());
+        }
+        return columnNames.get(column);
+    }
+
+    private void writeInt(int value) throws IOException {
+        writeLong(value);
+    }
+
+    private void writeLong(long value) throws IOException {
+        if(value == Long.MIN_VALUE) {
+            out.write(Long.toString(value));
+            return;
+        }
+        boolean negative = value < 0;
+        long remaining = negative ? -value : value;
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if(negative)
+            digits[--pos] = '-';
+        out.write(digits, pos, digits.length - pos);
+    }
+
+    private void writeEscaped(String value, boolean attribute) throws IOException {
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String replacement;
+            if(c == '<') {
+                replacement = "&lt;";
+            } else if(c == '>') {
+                replacement = "&gt;";
+            } else if(c == '&') {
+                replacement = "&amp;";
+            } else if(c == '"' && attribute) {
+                replacement = "&quot;";
+            } else if(c < 0x20 && c != '\t' && c != '\n' && c != '\r' || c == 0xFFFE || c == 0xFFFF) {
+                replacement = "?";
+            } else {
+                continue;
+            }
+            out.write(value, start, i - start);
+            out.write(replacement);
+            start = i + 1;
+        }
+        out.write(value, start, length - start);
+    }
+
+    private void closeEntry() throws IOException {
+        out.flush();
+        zip.closeEntry();
+    }
+
+    private void writeStyles() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/styles.xml"));
+        out.write(XML_HEADER);
+        out.write("<styleSheet xmlns=\"" + MAIN_NS + "\">");
+
+        if(!numberFormats.isEmpty()) {
+            out.write("<numFmts count=\"");
+            writeInt(numberFormats.size());
+            out.write("\">");
+            for (Map.Entry<String, Integer> format : numberFormats.entrySet()) {
+                out.write("<numFmt numFmtId=\"");
+                writeInt(format.getValue());
+                out.write("\" formatCode=\"");
+                writeEscaped(format.getKey(), true);
+                out.write("\"/>");
+            }
+            out.write("</numFmts>");
+        }
+
+        out.write("<fonts count=\"2\">"
+                + "<font><sz val=\"11\"/><name val=\"Calibri\"/><family val=\"2\"/></font>"
+                + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/><family val=\"2\"/></font>"
+                + "</fonts>");
+
+        out.write("<fills count=\"");
+        writeInt(fills.size() + 2);
+        out.write("\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill>");
+        for (Short color : fills.keySet()) {
+            out.write("<fill><patternFill patternType=\"solid\"><fgColor indexed=\"");
+            writeInt(color);
+            out.write("\"/><bgColor indexed=\"64\"/></patternFill></fill>");
+        }
+        out.write("</fills>");
+
+        out.write("<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>");
+        out.write("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+
+        out.write("<cellXfs count=\"");
+        writeInt(cellStyles.size());
+        out.write("\">");
+        for (long key : cellStyles.keySet()) {
+            int numberFormatId = (int) (key >>> 32);
+            int fillId = (int) ((key & 0xFFFFFFFFL) >>> 2);
+            boolean bold = (key & 2) != 0;
+            boolean centered = (key & 1) != 0;
+            out.write("<xf numFmtId=\"");
+            writeInt(numberFormatId);
+            out.write("\" fontId=\"");
+            writeInt(bold ? 1 : 0);
+            out.write("\" fillId=\"");
+            writeInt(fillId);
+            out.write("\" borderId=\"0\" xfId=\"0\"");
+            if(numberFormatId != 0)
+                out.write(" applyNumberFormat=\"1\"");
+            if(bold)
+                out.write(" applyFont=\"1\"");
+            if(fillId != 0)
+                out.write(" applyFill=\"1\"");
+            if(centered) {
+                out.write(" applyAlignment=\"1\"><alignment horizontal=\"center\"/></xf>");
+            } else {
+                out.write("/>");
+            }
+        }
+        out.write("</cellXfs>");
+        out.write("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        out.write("</styleSheet>");
+        closeEntry();
+    }
+
+    private void writeWorkbook() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+        out.write(XML_HEADER);
+        out.write("<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + REL_NS + "\"><sheets>");
+        for (int i = 0; i < sheetNames.size(); i++) {
+            out.write("<sheet name=\"");
+            writeEscaped(sheetNames.get(i), true);
+            out.write("\" sheetId=\"");
+            writeInt(i + 1);
+            out.write("\" r:id=\"rId");
+            writeInt(i + 1);
+            out.write("\"/>");
+        }
+        out.write("</sheets></workbook>");
+        closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/_rels/workbook.xml.rels"));
+        out.write(XML_HEADER);
+        out.write("<Relationships xmlns=\"" + PKG_REL_NS + "\">");
+        for (int i = 0; i < sheetNames.size(); i++) {
+            out.write("<Relationship Id=\"rId");
+            writeInt(i + 1);
+            out.write("\" Type=\"" + REL_NS + "/worksheet\" Target=\"worksheets/sheet");
+            writeInt(i + 1);
+            out.write(".xml\"/>");
+        }
+        out.write("<Relationship Id=\"rId");
+        writeInt(sheetNames.size() + 1);
+        out.write("\" Type=\"" + REL_NS + "/styles\" Target=\"styles.xml\"/>");
+        out.write("</Relationships>");
+        closeEntry();
+
+        zip.putNextEntry(new ZipEntry("_rels/.rels"));
+        out.write(XML_HEADER);
+        out.write("<Relationships xmlns=\"" + PKG_REL_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        closeEntry();
+    }
+
+    private void writeContentTypes() throws IOException {
+        zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+        out.write(XML_HEADER);
+        out.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" "
+                + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/styles.xml\" "
+                + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 0; i < sheetNames.size(); i++) {
+            out.write("<Override PartName=\"/xl/worksheets/sheet");
+            writeInt(i + 1);
+            out.write(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        out.write("</Types>");
+        closeEntry();
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+
+package pl.com.softproject.utils.excelexporter.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import pl.com.softproject.utils.excelexporter.ExcelColumn;
+import pl.com.softproject.utils.excelexporter.ExcelRowWriters;
+
+/**
+ * Generuje dla każdej klasy z kolumnami {@link ExcelColumn} klasę {@code <Klasa>_ExcelRowWriter} w tym samym
+ * pakiecie. Wygenerowany {@link pl.com.softproject.utils.excelexporter.ExcelRowWriter} odczytuje wartości
+ * bezpośrednim wywołaniem gettera, metody dostępowej rekordu lub odczytem pola, bez refleksji. Dla pól prywatnych
+ * bez widocznego gettera zakładany jest getter wg konwencji JavaBeans, np. generowany przez Lomboka.
+ *
+ * <p>Procesor jest rejestrowany przez {@code META-INF/services}, wystarczy moduł excel-exporter na ścieżce
+ * procesorów adnotacji (lub na classpath, gdy ścieżka procesorów nie jest ustawiona).
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+@SupportedAnnotationTypes("pl.com.softproject.utils.excelexporter.ExcelColumn")
+public class ExcelColumnProcessor extends AbstractProcessor {
+
+    private static final String PACKAGE = "pl.com.softproject.utils.excelexporter.";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(ExcelColumn.class)) {
+            types.add((TypeElement) element.getEnclosingElement());
+        }
+
+        for (TypeElement type : types) {
+            List<Column> columns = columns(type);
+            if(columns == null)
+                continue;
+            try {
+                write(type, columns);
+            } catch (IOException e) {
+                error(type, "can't write row writer: " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private List<Column> columns(TypeElement type) {
+
+        if(type.getModifiers().contains(Modifier.PRIVATE)) {
+            error(type, "@ExcelColumn type can't be private");
+            return null;
+        }
+
+        boolean record = "RECORD".equals(type.getKind().name());
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+        Map<String, Column> columns = new LinkedHashMap<>();
+        boolean valid = true;
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
+            if(annotation == null || field.getModifiers().contains(Modifier.STATIC))
+                continue;
+            String property = field.getSimpleName().toString();
+            columns.putIfAbsent(property, new Column(property, fieldExpression(field, methods, record),
+                    annotation, columns.size()));
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            ExcelColumn annotation = method.getAnnotation(ExcelColumn.class);
+            if(annotation == null || method.getModifiers().contains(Modifier.STATIC))
+                continue;
+            if(!method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID
+                    || method.getModifiers().contains(Modifier.PRIVATE)) {
+                error(method, "@ExcelColumn method must be a non-private accessor without parameters");
+                valid = false;
+                continue;
+            }
+            String property = propertyName(method, record);
+            Column previous = columns.get(property);
+            columns.put(property, new Column(property, method.getSimpleName() + "()", annotation,
+                    previous != null ? previous.position : Integer.MAX_VALUE));
+        }
+
+        if(!valid)
+            return null;
+
+        List<Column> ordered = new ArrayList<>(columns.values());
+        ordered.sort(Comparator.comparingInt((Column column) -> column.annotation.order())
+                .thenComparingInt(column -> column.position)
+                .thenComparing(column -> column.property));
+        return ordered;
+    }
+
+    private static String fieldExpression(VariableElement field, List<ExecutableElement> methods, boolean record) {
+
+        String name = field.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        boolean flag = field.asType().getKind() == TypeKind.BOOLEAN;
+
+        for (ExecutableElement method : methods) {
+            if(!method.getParameters().isEmpty() || method.getModifiers().contains(Modifier.PRIVATE)
+                    || method.getModifiers().contains(Modifier.STATIC))
+                continue;
+            String methodName = method.getSimpleName().toString();
+            if(methodName.equals("get" + capitalized) || flag && methodName.equals("is" + capitalized)
+                    || record && methodName.equals(name))
+                return methodName + "()";
+        }
+
+        if(!field.getModifiers().contains(Modifier.PRIVATE))
+            return name;
+
+        // getter may be generated later in this round, e.g. by Lombok
+        return (flag ? "is" : "get") + capitalized + "()";
+    }
+
+    private static String propertyName(ExecutableElement method, boolean record) {
+        String name = method.getSimpleName().toString();
+        if(record)
+            return name;
+        if(name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3)))
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        TypeKind returnKind = method.getReturnType().getKind();
+        if(name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))
+                && (returnKind == TypeKind.BOOLEAN || method.getReturnType().toString().equals("java.lang.Boolean")))
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        return name;
+    }
+
+    private void write(TypeElement type, List<Column> columns) throws IOException {
+
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + ExcelRowWriters.GENERATED_SUFFIX;
+        String typeName = type.getQualifiedName().toString();
+        boolean generic = !type.getTypeParameters().isEmpty();
+
+        try (Writer out = processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? simpleName : packageName + '.' + simpleName, type)
+                .openWriter()) {
+
+            if(!packageName.isEmpty())
+                out.write("package " + packageName + ";\n\n");
+
+            out.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+            if(generic)
+                out.write("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+            out.write("public final class " + simpleName + " implements " + PACKAGE + "ExcelRowWriter<" + typeName + "> {\n\n");
+
+            out.write("    @Override\n");
+            out.write("    public Class<" + typeName + "> type() {\n");
+            out.write("        return " + typeName + ".class;\n");
+            out.write("    }\n\n");
+
+            out.write("    @Override\n");
+            out.write("    public java.util.List<" + PACKAGE + "ColumnDescriptor> columns() {\n");
+            out.write("        return new java.util.ArrayList<>(java.util.List.of(");
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                ExcelColumn annotation = column.annotation;
+                String header = annotation.header().isEmpty() ? column.property : annotation.header();
+                out.write(i == 0 ? "\n" : ",\n");
+                out.write("                new " + PACKAGE + "AccessorColumnDescriptor("
+                        + literal(header) + ", " + literal(column.property) + ", " + literal(annotation.format())
+                        + ", " + PACKAGE + "ColumnStyleType." + annotation.style().name()
+                        + ", bean -> ((" + typeName + ") bean)." + column.expression + ")");
+            }
+            out.write("));\n");
+            out.write("    }\n");
+            out.write("}\n");
+        }
+    }
+
+    private String literal(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Column {
+
+        private final String property;
+        private final String expression;
+        private final ExcelColumn annotation;
+        private final int position;
+
+        Column(String property, String expression, ExcelColumn annotation, int position) {
+            this.property = property;
+            this.expression = expression;
+            this.annotation = annotation;
+            this.position = position;
+        }
+    }
+
+}
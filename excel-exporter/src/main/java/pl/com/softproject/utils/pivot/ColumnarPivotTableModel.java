@@ -0,0 +1,478 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+package pl.com.softproject.utils.pivot;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Kolumnowa implementacja {@link PivotTableModel} dla dużych tabel. Klucze wierszy i kolumn są kodowane
+ * słownikowo do identyfikatorów {@code int}, a wartości każdej kolumny są przechowywane w tablicy prymitywnej
+ * ({@code long[]} dla liczb całkowitych, {@code double[]} dla zmiennoprzecinkowych) z bitmapą obecności komórek.
+ * Typ kolumny wyznacza pierwsza wartość; wartości innego typu oraz wartości nieliczbowe trafiają do tablicy
+ * {@code Object[]} tworzonej dopiero przy pierwszej takiej wartości. {@link #get(String, String)} zwraca wartość
+ * tego samego typu, który został dodany.
+ *
+ * <p>Wiersze są zwracane w kolejności dodania, jak w {@link PivotTableModelImpl}. Kolumny - w kolejności
+ * pierwszego dodania, także w mapach wierszy zwracanych przez {@link #iterator()}; mapy te są widokami tylko do
+ * odczytu. Usunięte wiersze zostawiają nieużywane pozycje w tablicach kolumn.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public class ColumnarPivotTableModel implements Iterable<Map<String, Object>>, PivotTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Integer> rowIds = new HashMap<>();
+    private final Map<String, Integer> columnIds = new HashMap<>();
+    private final List<ColumnData> columns = new ArrayList<>();
+    private String[] rowKeys = new String[INITIAL_CAPACITY];
+    private int[] rowCellCounts = new int[INITIAL_CAPACITY];
+    private int rowCount;
+    private int liveRows;
+
+    @Override
+    public void add(String rowKey, String columnKey, Object value) {
+        int row = rowId(rowKey);
+        ColumnData column = column(columnKey);
+        if(column.set(row, value))
+            rowCellCounts[row]++;
+    }
+
+    @Override
+    public void addRow(String rowKey, Map<String, Object> rowValue) {
+        Integer row = rowIds.get(rowKey);
+        if(row != null)
+            clearRow(row);
+        else
+            row = rowId(rowKey);
+
+        for (Map.Entry<String, Object> entry : rowValue.entrySet()) {
+            if(column(entry.getKey()).set(row, entry.getValue()))
+                rowCellCounts[row]++;
+        }
+    }
+
+    /**
+     * Metoda do wypełniania całej kolumny jedną wartością
+     * @param columnKey
+     * @param columnValue
+     * @throws java.lang.Exception
+     **/
+    @Override
+    public void addColumn(String columnKey, Object columnValue) throws Exception {
+
+        if (columnValue instanceof Cloneable) {
+
+            for (String rowKey : getRowNames()) {
+
+                Method clone = columnValue.getClass().getMethod("clone");
+                columnValue = clone.invoke(columnValue);
+                add(rowKey, columnKey, columnValue);
+            }
+        } else {
+            throw new RuntimeException("Not Supported Yet.");
+        }
+    }
+
+    /**
+     * Metoda do dodawania całej kolumny różnymi wartościami
+     *
+     * @param columnKey - klucz kolumny
+     * @param rowKeyToColumnValueMap - mapowanie rowKey na columnValue
+     */
+    @Override
+    public void addColumn(String columnKey, Map<String, Object> rowKeyToColumnValueMap) {
+        for (Map.Entry<String, Object> rowKeyToColumnValue : rowKeyToColumnValueMap.entrySet()) {
+            add(rowKeyToColumnValue.getKey(), columnKey, rowKeyToColumnValue.getValue());
+        }
+    }
+
+    /**
+     * Usuwa kolumnę ze wszystkich wierszy; wiersze, w których nie zostaje żadna wartość, są usuwane.
+     */
+    @Override
+    public void removeColumn(String columnKey) {
+        Integer id = columnIds.get(columnKey);
+        if(id == null)
+            return;
+
+        ColumnData column = columns.get(id);
+        for (int row = 0; row < rowCount; row++) {
+            if(column.clear(row) && --rowCellCounts[row] == 0)
+                removeRow(row);
+        }
+    }
+
+    @Override
+    public void removeRow(String rowKey) {
+        Integer row = rowIds.get(rowKey);
+        if(row != null) {
+            clearRow(row);
+            removeRow(row);
+        }
+    }
+
+    @Override
+    public PivotRowIterator iterator() {
+        return new RowIterator();
+    }
+
+    @Override
+    public Object get(String rowKey, String columnKey) {
+        Integer row = rowIds.get(rowKey);
+        Integer column = columnIds.get(columnKey);
+        return row == null || column == null ? null : columns.get(column).get(row);
+    }
+
+    @Override
+    public List<String> getRowNames() {
+        List<String> rows = new ArrayList<>(liveRows);
+        for (int row = 0; row < rowCount; row++) {
+            if(rowKeys[row] != null)
+                rows.add(rowKeys[row]);
+        }
+        return rows;
+    }
+
+    @Override
+    public Set<String> getColumnNames() {
+        Set<String> result = new LinkedHashSet<>();
+        for (ColumnData column : columns) {
+            if(column.cells > 0)
+                result.add(column.key);
+        }
+        return result;
+    }
+
+    private int rowId(String rowKey) {
+        Integer id = rowIds.get(rowKey);
+        if(id != null)
+            return id;
+
+        if(rowCount == rowKeys.length) {
+            rowKeys = Arrays.copyOf(rowKeys, rowCount * 2);
+            rowCellCounts = Arrays.copyOf(rowCellCounts, rowCount * 2);
+        }
+        rowKeys[rowCount] = rowKey;
+        rowIds.put(rowKey, rowCount);
+        liveRows++;
+        return rowCount++;
+    }
+
+    private ColumnData column(String columnKey) {
+        Integer id = columnIds.get(columnKey);
+        if(id != null)
+            return columns.get(id);
+
+        ColumnData column = new ColumnData(columnKey);
+        columnIds.put(columnKey, columns.size());
+        columns.add(column);
+        return column;
+    }
+
+    private void clearRow(int row) {
+        for (ColumnData column : columns) {
+            column.clear(row);
+        }
+        rowCellCounts[row] = 0;
+    }
+
+    private void removeRow(int row) {
+        rowIds.remove(rowKeys[row]);
+        rowKeys[row] = null;
+        liveRows--;
+    }
+
+    /**
+     * Typ przechowywania kolumny, wyznaczany przez pierwszą dodaną wartość.
+     */
+    private enum Kind {
+        BYTE, SHORT, INTEGER, LONG, FLOAT, DOUBLE, OBJECT;
+
+        static Kind of(Object value) {
+            if(value instanceof Integer)
+                return INTEGER;
+            if(value instanceof Long)
+                return LONG;
+            if(value instanceof Double)
+                return DOUBLE;
+            if(value instanceof Float)
+                return FLOAT;
+            if(value instanceof Short)
+                return SHORT;
+            if(value instanceof Byte)
+                return BYTE;
+            return OBJECT;
+        }
+
+        boolean integral() {
+            return this == BYTE || this == SHORT || this == INTEGER || this == LONG;
+        }
+
+        Object box(long value) {
+            switch (this) {
+                case BYTE: return (byte) value;
+                case SHORT: return (short) value;
+                case INTEGER: return (int) value;
+                default: return value;
+            }
+        }
+
+        Object box(double value) {
+            return this == FLOAT ? (Object) (float) value : (Object) value;
+        }
+    }
+
+    private static final class ColumnData implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String key;
+        private Kind kind;
+        private long[] present = new long[1];
+        private long[] boxed;
+        private long[] longs;
+        private double[] doubles;
+        private Object[] objects;
+        private int cells;
+
+        ColumnData(String key) {
+            this.key = key;
+        }
+
+        /**
+         * @return true, jeśli komórka nie była wcześniej obecna
+         */
+        boolean set(int row, Object value) {
+
+            if(kind == null)
+                kind = Kind.of(value);
+
+            ensureCapacity(row);
+            boolean added = !isSet(present, row);
+            if(added) {
+                setBit(present, row);
+                cells++;
+            }
+
+            if(value != null && Kind.of(value) == kind && kind != Kind.OBJECT) {
+                if(boxed != null)
+                    clearBit(boxed, row);
+                if(kind.integral())
+                    longs[row] = ((Number) value).longValue();
+                else
+                    doubles[row] = ((Number) value).doubleValue();
+            } else {
+                if(objects == null) {
+                    objects = new Object[capacity()];
+                    boxed = new long[present.length];
+                }
+                setBit(boxed, row);
+                objects[row] = value;
+            }
+            return added;
+        }
+
+        Object get(int row) {
+            if(row >= capacity() || !isSet(present, row))
+                return null;
+            if(boxed != null && isSet(boxed, row))
+                return objects[row];
+            return kind.integral() ? kind.box(longs[row]) : kind.box(doubles[row]);
+        }
+
+        /**
+         * @return true, jeśli komórka była obecna
+         */
+        boolean clear(int row) {
+            if(row >= capacity() || !isSet(present, row))
+                return false;
+            clearBit(present, row);
+            if(boxed != null && isSet(boxed, row)) {
+                clearBit(boxed, row);
+                objects[row] = null;
+            }
+            cells--;
+            return true;
+        }
+
+        boolean contains(int row) {
+            return row < capacity() && isSet(present, row);
+        }
+
+        private int capacity() {
+            return present.length << 6;
+        }
+
+        private void ensureCapacity(int row) {
+            int capacity = capacity();
+            if(row < capacity) {
+                if(longs == null && doubles == null)
+                    allocateValues(capacity);
+                return;
+            }
+
+            int words = Math.max(present.length * 2, (row >> 6) + 1);
+            present = Arrays.copyOf(present, words);
+            capacity = words << 6;
+            if(boxed != null) {
+                boxed = Arrays.copyOf(boxed, words);
+                objects = Arrays.copyOf(objects, capacity);
+            }
+            if(longs != null)
+                longs = Arrays.copyOf(longs, capacity);
+            else if(doubles != null)
+                doubles = Arrays.copyOf(doubles, capacity);
+            else
+                allocateValues(capacity);
+        }
+
+        private void allocateValues(int capacity) {
+            if(kind == Kind.OBJECT)
+                return;
+            if(kind.integral())
+                longs = new long[capacity];
+            else
+                doubles = new double[capacity];
+        }
+
+        private static boolean isSet(long[] bits, int index) {
+            return (bits[index >> 6] & (1L << index)) != 0;
+        }
+
+        private static void setBit(long[] bits, int index) {
+            bits[index >> 6] |= 1L << index;
+        }
+
+        private static void clearBit(long[] bits, int index) {
+            bits[index >> 6] &= ~(1L << index);
+        }
+    }
+
+    private final class RowIterator implements PivotRowIterator {
+
+        private int next = advance(0);
+        private int current = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < rowCount;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+            current = next;
+            next = advance(current + 1);
+            return new RowView(current);
+        }
+
+        @Override
+        public void remove() {
+            if(current < 0 || rowKeys[current] == null)
+                throw new IllegalStateException();
+            clearRow(current);
+            removeRow(current);
+        }
+
+        @Override
+        public String rowKey() {
+            return current < 0 ? null : rowKeys[current];
+        }
+
+        private int advance(int from) {
+            int row = from;
+            while (row < rowCount && rowKeys[row] == null) {
+                row++;
+            }
+            return row;
+        }
+    }
+
+    /**
+     * Widok wiersza tylko do odczytu: {@link #get(Object)} bez przeszukiwania, iteracja po obecnych komórkach
+     * w kolejności kolumn.
+     */
+    private final class RowView extends AbstractMap<String, Object> {
+
+        private final int row;
+
+        RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer column = columnIds.get(key);
+            return column == null ? null : columns.get(column).get(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            Integer column = columnIds.get(key);
+            return column != null && columns.get(column).contains(row);
+        }
+
+        @Override
+        public int size() {
+            return rowCellCounts[row];
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+
+                        private int column = advance(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return column < columns.size();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if(!hasNext())
+                                throw new NoSuchElementException();
+                            ColumnData data = columns.get(column);
+                            column = advance(column + 1);
+                            return new SimpleImmutableEntry<>(data.key, data.get(row));
+                        }
+
+                        private int advance(int from) {
+                            int index = from;
+                            while (index < columns.size() && !columns.get(index).contains(row)) {
+                                index++;
+                            }
+                            return index;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return rowCellCounts[row];
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+package pl.com.softproject.utils.pivot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import pl.com.softproject.utils.excelexporter.ColumnAggregate;
+import pl.com.softproject.utils.excelexporter.SummaryFunction;
+
+/**
+ * Kolektory budujące {@link PivotTableModel} ze strumienia obiektów: klucz wiersza i kolumny wyznaczają funkcje,
+ * a wartość komórki jest agregatem wszystkich obiektów o tej parze kluczy. W strumieniach równoległych każdy wątek
+ * buduje częściową tabelę, a częściowe tabele są łączone przez combiner z zachowaniem kolejności napotkania
+ * wierszy i kolumn.
+ *
+ * <pre>{@code
+ * PivotTableModel pivot = invoices.parallelStream()
+ *         .collect(PivotCollectors.toPivot(Invoice::getCustomer, Invoice::getMonth, Invoice::getAmount,
+ *                 SummaryFunction.SUM));
+ *
+ * PivotTableModel counts = invoices.stream()
+ *         .collect(PivotCollectors.toPivot(Invoice::getCustomer, Invoice::getMonth, Collectors.counting()));
+ * }</pre>
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public final class PivotCollectors {
+
+    private PivotCollectors() {
+    }
+
+    /**
+     * Agreguje wartości liczbowe funkcją {@link SummaryFunction}. Wartości null są pomijane. Typy wyników opisuje
+     * {@link #aggregating(Function, SummaryFunction)}. Komórki bez wartości (MIN, MAX i AVERAGE pustego zbioru)
+     * nie są dodawane do tabeli.
+     *
+     * @param rowKey klucz wiersza
+     * @param columnKey klucz kolumny
+     * @param value wartość agregowana
+     * @param function funkcja agregująca
+     * @return kolektor zwracający {@link PivotTableModelImpl}
+     */
+    public static <T> Collector<T, ?, PivotTableModel> toPivot(Function<? super T, String> rowKey,
+                                                               Function<? super T, String> columnKey,
+                                                               Function<? super T, ? extends Number> value,
+                                                               SummaryFunction function) {
+        return toPivot(rowKey, columnKey, aggregating(value, function));
+    }
+
+    /**
+     * Agreguje obiekty o tej samej parze kluczy dowolnym kolektorem, np. {@code Collectors.counting()}
+     * lub {@code Collectors.reducing(...)}.
+     *
+     * @param rowKey klucz wiersza
+     * @param columnKey klucz kolumny
+     * @param downstream kolektor wartości komórki
+     * @return kolektor zwracający {@link PivotTableModelImpl}
+     */
+    public static <T, A, R> Collector<T, ?, PivotTableModel> toPivot(Function<? super T, String> rowKey,
+                                                                     Function<? super T, String> columnKey,
+                                                                     Collector<? super T, A, R> downstream) {
+        return toPivot(rowKey, columnKey, downstream, PivotTableModelImpl::new);
+    }
+
+    /**
+     * @param rowKey klucz wiersza
+     * @param columnKey klucz kolumny
+     * @param downstream kolektor wartości komórki
+     * @param modelFactory tworzy model wynikowy, np. {@code ColumnarPivotTableModel::new} dla dużych tabel
+     * @return kolektor zwracający model utworzony przez {@code modelFactory}
+     */
+    public static <T, A, R, M extends PivotTableModel> Collector<T, ?, M> toPivot(Function<? super T, String> rowKey,
+                                                                                  Function<? super T, String> columnKey,
+                                                                                  Collector<? super T, A, R> downstream,
+                                                                                  Supplier<M> modelFactory) {
+
+        Supplier<A> cellSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> cellAccumulator = downstream.accumulator();
+        BinaryOperator<A> cellCombiner = downstream.combiner();
+        Function<A, R> cellFinisher = downstream.finisher();
+
+        BiConsumer<Map<String, Map<String, A>>, T> accumulator = (partial, element) -> {
+            A cell = partial.computeIfAbsent(rowKey.apply(element), key -> new LinkedHashMap<>())
+                    .computeIfAbsent(columnKey.apply(element), key -> cellSupplier.get());
+            cellAccumulator.accept(cell, element);
+        };
+
+        BinaryOperator<Map<String, Map<String, A>>> combiner = (left, right) -> {
+            for (Map.Entry<String, Map<String, A>> row : right.entrySet()) {
+                Map<String, A> cells = left.get(row.getKey());
+                if(cells == null) {
+                    left.put(row.getKey(), row.getValue());
+                    continue;
+                }
+                for (Map.Entry<String, A> cell : row.getValue().entrySet()) {
+                    cells.merge(cell.getKey(), cell.getValue(), cellCombiner);
+                }
+            }
+            return left;
+        };
+
+        Function<Map<String, Map<String, A>>, M> finisher = partial -> {
+            M model = modelFactory.get();
+            for (Map.Entry<String, Map<String, A>> row : partial.entrySet()) {
+                for (Map.Entry<String, A> cell : row.getValue().entrySet()) {
+                    R result = cellFinisher.apply(cell.getValue());
+                    if(result != null)
+                        model.add(row.getKey(), cell.getKey(), result);
+                }
+            }
+            return model;
+        };
+
+        return Collector.of(LinkedHashMap::new, accumulator, combiner, finisher);
+    }
+
+    /**
+     * Kolektor wartości komórki. COUNT zwraca {@link Long}. SUM jest dokładna i zwraca {@link Long} dla samych wartości
+     * całkowitych, {@link java.math.BigDecimal} gdy wśród wartości jest {@code BigDecimal} lub suma przekracza zakres
+     * {@code long}, a {@link Double} dla wartości zmiennoprzecinkowych (zob. {@link ColumnAggregate#getSumAsNumber()}).
+     * MIN, MAX i AVERAGE zwracają {@link Double}.
+     *
+     * @param value wartość agregowana, null jest pomijane
+     * @param function funkcja agregująca
+     * @return kolektor wartości komórki oparty na {@link ColumnAggregate}
+     */
+    public static <T> Collector<T, ColumnAggregate, Number> aggregating(Function<? super T, ? extends Number> value,
+                                                                        SummaryFunction function) {
+        return Collector.of(ColumnAggregate::new,
+                (aggregate, element) -> {
+                    Number number = value.apply(element);
+                    if(number != null)
+                        aggregate.add(number);
+                },
+                ColumnAggregate::merge,
+                aggregate -> aggregatedValue(aggregate, function));
+    }
+
+    private static Number aggregatedValue(ColumnAggregate aggregate, SummaryFunction function) {
+        switch (function) {
+            case COUNT:
+                return aggregate.getCount();
+            case SUM:
+                return aggregate.getSumAsNumber();
+            default:
+                return aggregate.value(function);
+        }
+    }
+
+}
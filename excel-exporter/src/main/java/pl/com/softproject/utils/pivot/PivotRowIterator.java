@@ -0,0 +1,22 @@
+/*
+ * Copyright 2026-10-18 the original author or authors.
+ */
+package pl.com.softproject.utils.pivot;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Iterator wierszy modelu {@link PivotTableModel} - zwraca wartości wiersza (klucz kolumny na wartość)
+ * i udostępnia klucz bieżącego wiersza. Zwracają go {@link PivotTableModel#iterator()} implementacji z tego pakietu.
+ *
+ * @author Adrian Lapierre {@literal al@alapierre.io}
+ */
+public interface PivotRowIterator extends Iterator<Map<String, Object>> {
+
+    /**
+     * @return klucz wiersza zwróconego przez ostatnie wywołanie {@link #next()}
+     */
+    String rowKey();
+
+}
@@ -5,8 +5,13 @@ package pl.com.softproject.utils.pivot;
 
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import pl.com.softproject.utils.excelexporter.ExcelCellRenderer;
+import pl.com.softproject.utils.excelexporter.ExcelExporter;
+import pl.com.softproject.utils.excelexporter.StyleKey;
+import pl.com.softproject.utils.excelexporter.StyleRegistry;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -21,6 +26,8 @@ public class PivotTableExcelExporter {
 
     private Workbook wb;
     private boolean addSumarryColumn;
+    private boolean addSummaryRow;
+    private boolean closeOnSave;
     private ExcelCellRenderer renderer;
 
     public PivotTableExcelExporter() {
@@ -30,6 +37,30 @@ public class PivotTableExcelExporter {
         this.wb = wb;
     }
 
+    /**
+     * Eksportuje tabele do skoroszytu {@link ExcelExporter}, więc tabele przestawne i zwykłe arkusze trafiają do
+     * jednego strumieniowanego pliku. Plik zapisuje {@link ExcelExporter#save(File)}.
+     *
+     * @param exporter exporter, do którego skoroszytu dodawane są arkusze
+     */
+    public PivotTableExcelExporter(ExcelExporter exporter) {
+        this.wb = exporter.getWorkbook();
+    }
+
+    /**
+     * Tworzy exporter strumieniowy ({@link SXSSFWorkbook}): w pamięci pozostaje najwyżej {@code windowSize}
+     * ostatnich wierszy arkusza, starsze są zrzucane do pliku tymczasowego. {@link #saveWorkbook(File)} zamyka skoroszyt
+     * i usuwa plik tymczasowy.
+     *
+     * @param windowSize liczba wierszy trzymanych w pamięci
+     * @return exporter strumieniowy
+     */
+    public static PivotTableExcelExporter streaming(int windowSize) {
+        PivotTableExcelExporter exporter = new PivotTableExcelExporter(new SXSSFWorkbook(windowSize));
+        exporter.closeOnSave = true;
+        return exporter;
+    }
+
     private void createWorkbook() {
         wb = new XSSFWorkbook();
     }
@@ -40,19 +71,20 @@ public class PivotTableExcelExporter {
             createWorkbook();
         }
 
-        Font font = wb.createFont();
-        font.setBold(true);
-        CellStyle cs = wb.createCellStyle();
-        cs.setFont(font);
-        cs.setAlignment(HorizontalAlignment.CENTER);
+        CellStyle cs = StyleRegistry.forWorkbook(wb)
+                .style(StyleKey.builder().bold(true).alignment(HorizontalAlignment.CENTER).build());
         Sheet sheet = wb.createSheet(sheetName);
+        if (sheet instanceof SXSSFSheet) {
+            // szerokość kolumny kluczy jest liczona na bieżąco, zanim wiersze opuszczą okno
+            ((SXSSFSheet) sheet).trackColumnForAutoSizing(0);
+        }
 
         Row row ;
         Cell cell;
 
         addHeader(columns, sheet, cs);
 
-        PivotTableModelImpl.RowIterator rows = (PivotTableModelImpl.RowIterator) pivotTableModel.iterator();
+        PivotRowIterator rows = (PivotRowIterator) pivotTableModel.iterator();
 
         int rownum = 1;
 
@@ -94,6 +126,10 @@ public class PivotTableExcelExporter {
 
         }
 
+        if(addSummaryRow && rownum > 1) {
+            addSummaryRow(sheet, rownum, columns.length + (addSumarryColumn ? 1 : 0));
+        }
+
         autoSizeColumn(sheet, 0);
     }
 
@@ -112,9 +148,13 @@ public class PivotTableExcelExporter {
             createWorkbook();
         }
 
-        FileOutputStream out = new FileOutputStream(file);
-        wb.write(out);
-        out.close();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            wb.write(out);
+        } finally {
+            if (closeOnSave) {
+                wb.close();
+            }
+        }
     }
 
     private Row addHeader(String[] columns, Sheet sheet, CellStyle cs) {
@@ -140,6 +180,24 @@ public class PivotTableExcelExporter {
         this.addSumarryColumn = addSumarryColumn;
     }
 
+    /**
+     * Dodaje pod tabelą wiersz z formułami SUM dla każdej kolumny. Formuły odwołują się do zakresu komórek,
+     * więc działają także w trybie strumieniowym, gdy wiersze danych nie są już w pamięci.
+     */
+    public void setAddSummaryRow(boolean addSummaryRow) {
+        this.addSummaryRow = addSummaryRow;
+    }
+
+    private void addSummaryRow(Sheet sheet, int rownum, int columnCount) {
+        Row row = sheet.createRow(rownum);
+        row.createCell(0).setCellValue("suma");
+        for (int cellnum = 1; cellnum <= columnCount; cellnum++) {
+            CellReference first = new CellReference(1, cellnum, false, false);
+            CellReference last = new CellReference(rownum - 1, cellnum, false, false);
+            row.createCell(cellnum).setCellFormula("sum(" + first.formatAsString() + ":" + last.formatAsString() + ")");
+        }
+    }
+
 
 
     private void addSumarryColumn(int cellnum, int rownum, Row row) {
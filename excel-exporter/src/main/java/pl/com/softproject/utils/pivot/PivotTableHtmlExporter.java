@@ -3,79 +3,163 @@
  */
 package pl.com.softproject.utils.pivot;
 
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.DecimalFormat;
+import java.text.FieldPosition;
 import java.util.Map;
 
 /**
+ * Eksportuje tabelę przestawną do tabeli HTML. Tekst (nagłówek, klucze, wartości) jest escapowany.
  *
  * @author Adrian Lapierre {@literal al@alapierre.io}
  */
 public class PivotTableHtmlExporter {
 
+    private static final ThreadLocal<NumberFormatter> FORMATTER = ThreadLocal.withInitial(NumberFormatter::new);
+
     private PivotTableModel pivotTableModel;
     private String[] columns;
-    final DecimalFormat format = new DecimalFormat("#,###0.00");
+    private int flushInterval;
 
     public PivotTableHtmlExporter(PivotTableModel pivotTableModel, String[] columns) {
         this.columns = columns;
         this.pivotTableModel = pivotTableModel;
     }
 
-    public String export(String caption) {
+    /**
+     * Ustawia co ile wierszy {@link #export(String, Appendable)} wywołuje {@link Flushable#flush()} na strumieniu
+     * docelowym, np. żeby odpowiedź HTTP była wysyłana w kawałkach (chunked transfer encoding) w trakcie eksportu.
+     *
+     * @param flushInterval liczba wierszy między kolejnymi flush, 0 (domyślnie) wyłącza
+     */
+    public void setFlushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+    }
 
+    public String export(String caption) {
         StringBuilder sb = new StringBuilder();
-        sb.append("<table border =\"1\">");
-        sb.append("<caption>").append(caption).append("</caption>");
-        sb.append(header());
+        try {
+            export(caption, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
 
-        PivotTableModelImpl.RowIterator rows = (PivotTableModelImpl.RowIterator) pivotTableModel.iterator();
+    /**
+     * Zapisuje tabelę bezpośrednio do {@code out}, wiersz po wierszu, bez budowania jej w pamięci.
+     * Dla {@link java.io.Writer} zalecany jest bufor, np. {@link java.io.BufferedWriter}.
+     *
+     * @param caption tytuł tabeli
+     * @param out strumień docelowy, nie jest zamykany
+     * @throws IOException błąd zapisu do {@code out}
+     */
+    public void export(String caption, Appendable out) throws IOException {
+
+        out.append("<table border =\"1\">");
+        out.append("<caption>");
+        appendEscaped(out, caption);
+        out.append("</caption>");
+        header(out);
+
+        PivotRowIterator rows = (PivotRowIterator) pivotTableModel.iterator();
+        NumberFormatter formatter = FORMATTER.get();
+        int written = 0;
 
         while (rows.hasNext()) {
 
             Map<String, Object> pivotRow = rows.next();
             String rowKey = rows.rowKey();
 
-            sb.append("<tr>");
-            sb.append("<td>").append(rowKey).append("</td>");
+            out.append("<tr>");
+            out.append("<td>");
+            appendEscaped(out, rowKey);
+            out.append("</td>");
 
             for (String column : columns) {
 
                 Object cellValue = pivotRow.get(column);
                 if(cellValue == null) {
-                    sb.append("<td align=\"center\">").append("-").append("</td>");
+                    out.append("<td align=\"center\">").append("-").append("</td>");
                     continue;
                 }
 
-                String val;
+                out.append("<td align=\"right\">");
                 if(cellValue instanceof Integer) {
-                    val = String.format("%d", (int)cellValue);
+                    formatter.appendInt(out, (Integer) cellValue);
                 } else if (cellValue instanceof Number) {
-                    val = format.format(cellValue);
+                    formatter.appendNumber(out, cellValue);
                 } else {
-                    val = cellValue.toString();
+                    appendEscaped(out, cellValue.toString());
                 }
-
-                sb.append("<td align=\"right\">").append(val).append("</td>");
+                out.append("</td>");
             }
+            out.append("</tr>");
+
+            if(flushInterval > 0 && ++written % flushInterval == 0 && out instanceof Flushable)
+                ((Flushable) out).flush();
         }
 
-        sb.append("</tr>");
-        sb.append("</table>");
+        out.append("</table>");
+    }
 
-        return sb.toString();
+    private void header(Appendable out) throws IOException {
+        out.append("<tr>");
+        out.append("<th/>");
+        for(String column : columns) {
+            out.append("<th>");
+            appendEscaped(out, column);
+            out.append("</th>");
+        }
+        out.append("</tr>");
+    }
 
+    static void appendEscaped(Appendable out, String text) throws IOException {
+
+        if(text == null)
+            return;
+
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String entity;
+            switch (text.charAt(i)) {
+                case '<': entity = "&lt;"; break;
+                case '>': entity = "&gt;"; break;
+                case '&': entity = "&amp;"; break;
+                case '"': entity = "&quot;"; break;
+                case '\'': entity = "&#39;"; break;
+                default: continue;
+            }
+            out.append(text, start, i).append(entity);
+            start = i + 1;
+        }
+        out.append(text, start, text.length());
     }
 
-    private StringBuilder header() {
+    /**
+     * Formatowanie liczb do buforów wielokrotnego użytku, jeden egzemplarz na wątek.
+     */
+    private static final class NumberFormatter {
+
+        private final DecimalFormat format = new DecimalFormat("#,###0.00");
+        private final StringBuffer buffer = new StringBuffer(32);
+        private final FieldPosition position = new FieldPosition(0);
+
+        void appendInt(Appendable out, int value) throws IOException {
+            if(out instanceof StringBuilder) {
+                ((StringBuilder) out).append(value);
+            } else {
+                buffer.setLength(0);
+                out.append(buffer.append(value));
+            }
+        }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("<tr>");
-        sb.append("<th/>");
-        for(String column : columns) {
-            sb.append("<th>").append(column).append("</th>");
+        void appendNumber(Appendable out, Object value) throws IOException {
+            buffer.setLength(0);
+            out.append(format.format(value, buffer, position));
         }
-        sb.append("</tr>");
-        return sb;
     }
 
 }
@@ -8,12 +8,17 @@ import java.util.*;
 import java.util.Map.Entry;
 
 /**
+ * Model tabeli przestawnej oparty na mapach. Zbiór kolumn jest utrzymywany na bieżąco razem z liczbą komórek
+ * każdej kolumny, więc {@link #getColumnNames()} nie przegląda komórek, a kolumna znika ze zbioru razem z ostatnią
+ * komórką. Kolumny są zwracane w kolejności pierwszego dodania. Mapy wierszy zwracane przez {@link #iterator()}
+ * są tylko do odczytu.
  *
  * @author Adrian Lapierre {@literal al@alapierre.io}
  */
 public class PivotTableModelImpl implements Iterable<Map<String, Object>>, PivotTableModel {
 
     private Map<String, Map<String, Object>> map = new LinkedHashMap<>();
+    private final Map<String, Integer> columnCounts = new LinkedHashMap<>();
 
     @Override
     public void add(String rowKey, String columnKey, Object value) {
@@ -22,14 +27,27 @@ public class PivotTableModelImpl implements Iterable<Map<String, Object>>, Pivot
             row = new LinkedHashMap<>();
             row.put(columnKey, value);
             map.put(rowKey, row);
+            columnAdded(columnKey);
+        } else if(row.containsKey(columnKey)) {
+            row.put(columnKey, value);
         } else {
             row.put(columnKey, value);
+            columnAdded(columnKey);
         }
     }
 
+    /**
+     * Dodaje lub zastępuje wiersz. Wartości są kopiowane - późniejsze zmiany mapy {@code rowValue}
+     * nie wpływają na model.
+     */
     @Override
     public void addRow(String rowKey, Map<String, Object> rowValue) {
-        map.put(rowKey, rowValue);
+        Map<String, Object> previous = map.put(rowKey, new LinkedHashMap<>(rowValue));
+        if(previous != null)
+            rowRemoved(previous);
+        for (String columnKey : rowValue.keySet()) {
+            columnAdded(columnKey);
+        }
     }
 
     /**
@@ -75,35 +93,32 @@ public class PivotTableModelImpl implements Iterable<Map<String, Object>>, Pivot
     @Override
     public void removeColumn(String columnKey) {
 
-        RowIterator iter = (RowIterator)iterator();
+        if(!columnCounts.containsKey(columnKey))
+            return;
+
+        Iterator<Map<String, Object>> iter = map.values().iterator();
 
         while (iter.hasNext()) {
             Map<String, Object> columnMap = iter.next();
 
-            if (columnMap != null) {
+            if (columnMap != null && columnMap.containsKey(columnKey)) {
                 columnMap.remove(columnKey);
                 if (columnMap.isEmpty())
                     iter.remove();
             }
         }
+        columnCounts.remove(columnKey);
     }
 
     @Override
     public void removeRow(String rowKey) {
-        RowIterator iter = (RowIterator)iterator();
-        while (iter.hasNext()) {
-            iter.next();
-
-            String currentRowKey = iter.rowKey();
-            if (rowKey.equals(currentRowKey)) {
-
-                iter.remove();
-            }
-        }
+        Map<String, Object> row = map.remove(rowKey);
+        if(row != null)
+            rowRemoved(row);
     }
 
     @Override
-    public Iterator  iterator() {
+    public PivotRowIterator iterator() {
         return new RowIterator(this);
     }
 
@@ -126,16 +141,17 @@ public class PivotTableModelImpl implements Iterable<Map<String, Object>>, Pivot
 
     @Override
     public Set<String> getColumnNames() {
+        return new LinkedHashSet<>(columnCounts.keySet());
+    }
 
-        Set<String> columns = new LinkedHashSet<>();
+    private void columnAdded(String columnKey) {
+        columnCounts.merge(columnKey, 1, Integer::sum);
+    }
 
-        for(Map.Entry<String, Map<String, Object>> entry : map.entrySet()) {
-            Map<String, Object> m = entry.getValue();
-            for (Map.Entry<String, Object> e : m.entrySet()) {
-                columns.add(e.getKey());
-            }
+    private void rowRemoved(Map<String, Object> row) {
+        for (String columnKey : row.keySet()) {
+            columnCounts.computeIfPresent(columnKey, (key, count) -> count == 1 ? null : count - 1);
         }
-        return columns;
     }
 
     public void test() {
@@ -147,7 +163,7 @@ public class PivotTableModelImpl implements Iterable<Map<String, Object>>, Pivot
         }
     }
 
-    public static class RowIterator implements Iterator<Map<String, Object>> {
+    public static class RowIterator implements PivotRowIterator {
 
         private final Set<Entry<String, Map<String, Object>>> entrys;
         private PivotTableModelImpl impl;
@@ -170,7 +186,7 @@ public class PivotTableModelImpl implements Iterable<Map<String, Object>>, Pivot
         @Override
         public Map<String, Object> next() {
             currentEntry = it.next();
-            return currentEntry.getValue();
+            return Collections.unmodifiableMap(currentEntry.getValue());
         }
 
         @Override
@@ -178,8 +194,10 @@ public class PivotTableModelImpl implements Iterable<Map<String, Object>>, Pivot
             //Kasujemy cały rekord bo nie ma sensu,
             //żeby istniał wiersz, który dla każdej kolumny ma wartość null
             it.remove();
+            impl.rowRemoved(currentEntry.getValue());
         }
 
+        @Override
         public String rowKey() {
             return currentEntry.getKey();
         }
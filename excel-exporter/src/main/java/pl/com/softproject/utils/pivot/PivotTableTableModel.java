@@ -4,7 +4,6 @@
 package pl.com.softproject.utils.pivot;
 
 import lombok.extern.slf4j.Slf4j;
-import pl.com.softproject.utils.pivot.PivotTableModelImpl.RowIterator;
 
 import javax.swing.table.AbstractTableModel;
 import java.util.*;
@@ -73,7 +72,7 @@ public class PivotTableTableModel<T> extends AbstractTableModel {
 
         dataTab = new Object[rowCount][];
 
-        PivotTableModelImpl.RowIterator rows = (PivotTableModelImpl.RowIterator) pivot.iterator();
+        PivotRowIterator rows = (PivotRowIterator) pivot.iterator();
 
         int rownum = 0;
 
@@ -120,7 +119,7 @@ public class PivotTableTableModel<T> extends AbstractTableModel {
 
         PivotTableTableModel<T> pivotTableTableModel = new PivotTableTableModel<T>();
 
-        RowIterator iter = (RowIterator)pivot.iterator();
+        PivotRowIterator iter = (PivotRowIterator) pivot.iterator();
         while (iter.hasNext()) {
 
             Map<String, Object> rowValue = iter.next();
@@ -3,7 +3,12 @@ package pl.com.softproject.utils.pivot.doublepivot;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import pl.com.softproject.utils.excelexporter.ExcelCellRenderer;
+import pl.com.softproject.utils.excelexporter.ExcelExporter;
+import pl.com.softproject.utils.excelexporter.StyleKey;
+import pl.com.softproject.utils.excelexporter.StyleRegistry;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -20,6 +25,7 @@ public class PivotDoubleGroupingExcelExporter {
 
     private Workbook workbook;
     private ExcelCellRenderer excelCellRenderer;
+    private boolean closeOnSave;
 
     public PivotDoubleGroupingExcelExporter() {
         this.workbook = new HSSFWorkbook();
@@ -29,20 +35,47 @@ public class PivotDoubleGroupingExcelExporter {
         this.workbook = workbook;
     }
 
+    /**
+     * Eksportuje tabele do skoroszytu {@link ExcelExporter}, więc tabele przestawne i zwykłe arkusze trafiają do
+     * jednego strumieniowanego pliku. Plik zapisuje {@link ExcelExporter#save(File)}.
+     *
+     * @param exporter exporter, do którego skoroszytu dodawane są arkusze
+     */
+    public PivotDoubleGroupingExcelExporter(final ExcelExporter exporter) {
+        this.workbook = exporter.getWorkbook();
+    }
+
+    /**
+     * Tworzy exporter strumieniowy ({@link SXSSFWorkbook}) bez limitu 65 536 wierszy formatu XLS: w pamięci
+     * pozostaje najwyżej {@code windowSize} ostatnich wierszy arkusza, starsze są zrzucane do pliku tymczasowego.
+     * {@link #saveWorkbook(File)} zamyka skoroszyt i usuwa plik tymczasowy.
+     *
+     * @param windowSize liczba wierszy trzymanych w pamięci
+     * @return exporter strumieniowy
+     */
+    public static PivotDoubleGroupingExcelExporter streaming(final int windowSize) {
+        PivotDoubleGroupingExcelExporter exporter = new PivotDoubleGroupingExcelExporter(new SXSSFWorkbook(windowSize));
+        exporter.closeOnSave = true;
+        return exporter;
+    }
+
     public void export(PivotDoubleGroupingTableModel pivotDoubleGroupingTableModel,
                        String sheetName) {
         if (workbook == null) {
             workbook = new HSSFWorkbook();
         }
 
-        Font font = workbook.createFont();
-        font.setBold(true);
-        CellStyle cs = workbook.createCellStyle();
-        cs.setFont(font);
-        cs.setAlignment(HorizontalAlignment.CENTER);
-        cs.setVerticalAlignment(VerticalAlignment.TOP);
+        CellStyle cs = StyleRegistry.forWorkbook(workbook).style(StyleKey.builder()
+                .bold(true)
+                .alignment(HorizontalAlignment.CENTER)
+                .verticalAlignment(VerticalAlignment.TOP)
+                .build());
 
         Sheet sheet = workbook.createSheet(sheetName);
+        if (sheet instanceof SXSSFSheet) {
+            // szerokość kolumny grup jest liczona na bieżąco, zanim wiersze opuszczą okno
+            ((SXSSFSheet) sheet).trackColumnForAutoSizing(0);
+        }
 
         org.apache.poi.ss.usermodel.Row row;
         org.apache.poi.ss.usermodel.Cell cell;
@@ -73,6 +106,10 @@ public class PivotDoubleGroupingExcelExporter {
 
             LinkedHashSet<SubRow> subRows = oneRow.getSubRows();
             int subRowsSize = subRows.size(), subRowCounter = 0;
+            if (subRowsSize > 1) {
+                // row groups never overlap, skip the validation against all previous regions
+                sheet.addMergedRegionUnsafe(new CellRangeAddress(rowNumber - 1, rowNumber + subRowsSize - 2, 0, 0));
+            }
             for (final SubRow subRow : subRows) {
 
                 int i = 1;
@@ -106,18 +143,6 @@ public class PivotDoubleGroupingExcelExporter {
             }
         }
 
-        rows = (PivotDoubleGroupingTableModelImpl.RowIterator) pivotDoubleGroupingTableModel
-                .iterator();
-        int firstRow = 1;
-        while (rows.hasNext()) {
-            Row nextRow = rows.next();
-            int size = nextRow.getSubRows().size();
-
-            sheet.addMergedRegion(new CellRangeAddress(firstRow, firstRow + size - 1, 0, 0));
-
-            firstRow += size;
-        }
-
         autoSizeColumn(sheet, 0);
     }
 
@@ -138,8 +163,12 @@ public class PivotDoubleGroupingExcelExporter {
         if (workbook == null) {
             workbook = new HSSFWorkbook();
         }
-        FileOutputStream out = new FileOutputStream(file);
-        workbook.write(out);
-        out.close();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            workbook.write(out);
+        } finally {
+            if (closeOnSave) {
+                workbook.close();
+            }
+        }
     }
 }
@@ -0,0 +1,128 @@
+package pl.com.softproject.utils.excelexporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for verifying CSV / TSV output sharing the ExcelExporter column model
+ */
+class CsvExporterTest {
+
+    @Test
+    void shouldWriteCsvWithQuotingAndTypedValues() throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (CsvExporter exporter = CsvExporter.csv(out)) {
+            exporter.addColumn(new EnumeratedColumnDescription<Integer>("Lp") {
+                @Override
+                public Integer getValue(int rowNumber, Object bean) {
+                    return rowNumber;
+                }
+            });
+            exporter.addColumn(new ConcatationColumnDescriptor("Name", "firstName").conCat("lastName"));
+            exporter.addColumn(new ColumnDescriptor("Amount", "amount", "#,##0.00"));
+            exporter.addColumn(new ColumnDescriptor("Count", "count"));
+            exporter.addColumn(new ColumnDescriptor("Issued", "issued"));
+            exporter.addColumn(new ColumnDescriptor("Updated", "updated"));
+            exporter.addColumn(new ColumnDescriptor("Tags", "tags"));
+            exporter.addColumn(new ColumnDescriptor("Flag", "active", value -> (Boolean) value ? "T" : "N"));
+            exporter.addColumn(new CollectionColumnDescriptor("List", "tags") {
+                @Override
+                public String formatValue(int rowNumber, Object value) {
+                    return value.toString().toUpperCase();
+                }
+            });
+
+            exporter.writeAll(Arrays.asList(
+                new Invoice("Jan", "Kowalski", new BigDecimal("1234.50"), 3L,
+                    LocalDate.of(2024, 1, 5), LocalDateTime.of(2024, 1, 5, 9, 7, 3), List.of("a", "b"), true),
+                new Invoice("Anna \"Ania\"", null, null, 12L,
+                    null, null, List.of("x,y"), false)
+            ));
+        }
+
+        assertEquals("Lp,Name,Amount,Count,Issued,Updated,Tags,Flag,List\r\n"
+                + "1,Jan Kowalski,1234.50,3,2024-01-05,2024-01-05 09:07:03,\"[a, b]\",T,\"A, B\"\r\n"
+                + "2,\"Anna \"\"Ania\"\"\",,12,,,\"[x,y]\",N,\"X,Y\"\r\n",
+            out.toString());
+    }
+
+    @Test
+    void shouldWriteTsvWithoutHeader() throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (CsvExporter exporter = CsvExporter.tsv(out)) {
+            exporter.setWriteHeader(false);
+            exporter.setLineSeparator("\n");
+            exporter.addColumn(new ColumnDescriptor("Name", "firstName"));
+            exporter.addColumn(new EmptyColumnDescriptor("Empty"));
+            exporter.addColumn(new ColumnDescriptor("Count", "count"));
+            exporter.createRow(new Invoice("a,b\tc", null, null, 7L, null, null, List.of(), false));
+        }
+
+        assertEquals("\"a,b\tc\"\t\t7\n", out.toString());
+    }
+
+    @Test
+    void shouldWriteFloatingPointInPlainNotationAndNullHeaderAsEmptyField() throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (CsvExporter exporter = CsvExporter.csv(out)) {
+            exporter.setLineSeparator("\n");
+            exporter.addColumn(new ColumnDescriptor(null, "value"));
+            exporter.addColumn(new ColumnDescriptor("Ratio", "ratio"));
+            exporter.writeAll(Arrays.asList(
+                new Measurement(1.0E7, 1.5E-4f),
+                new Measurement(1.0E-4, 0.25f),
+                new Measurement(-123456789.125, 3.0E9f),
+                new Measurement(0.5, null),
+                new Measurement(12345678.9, null),
+                new Measurement(-98765432101.01, null),
+                new Measurement(2.5E-5, null),
+                new Measurement(1.0E20, null),
+                new Measurement(0.1 + 0.2 + 1.0E7, null)
+            ));
+        }
+
+        assertEquals(",Ratio\n"
+                + "10000000,0.00015\n"
+                + "0.0001,0.25\n"
+                + "-123456789.125,3000000000\n"
+                + "0.5,\n"
+                + "12345678.9,\n"
+                + "-98765432101.01,\n"
+                + "0.000025,\n"
+                + "100000000000000000000,\n"
+                + new BigDecimal(Double.toString(0.1 + 0.2 + 1.0E7)).toPlainString() + ",\n", out.toString());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Measurement {
+        private double value;
+        private Float ratio;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Invoice {
+        private String firstName;
+        private String lastName;
+        private BigDecimal amount;
+        private long count;
+        private LocalDate issued;
+        private LocalDateTime updated;
+        private List<String> tags;
+        private boolean active;
+    }
+}
@@ -0,0 +1,78 @@
+package pl.com.softproject.utils.excelexporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for verifying direct Excel serial date conversion
+ */
+class ExcelDateConverterTest {
+
+    private static final ZoneId WARSAW = ZoneId.of("Europe/Warsaw");
+
+    @Test
+    void shouldMatchPoiForLocalValues() {
+        ExcelDateConverter converter = new ExcelDateConverter(WARSAW);
+
+        for (LocalDate date = LocalDate.of(1899, 12, 25); date.isBefore(LocalDate.of(1900, 3, 10)); date = date.plusDays(1)) {
+            assertEquals(DateUtil.getExcelDate(date), converter.serial(date), date.toString());
+        }
+        LocalDateTime dateTime = LocalDateTime.of(2024, 3, 31, 2, 30, 15, 123_456_789);
+        assertEquals(DateUtil.getExcelDate(dateTime), converter.serial(dateTime), 1e-9);
+        assertEquals(DateUtil.getExcelDate(LocalDate.of(2024, 2, 29)), converter.serial(LocalDate.of(2024, 2, 29)));
+    }
+
+    @Test
+    void shouldConvertInstantsToLocalTimeAcrossDstTransitions() {
+        ExcelDateConverter converter = new ExcelDateConverter(WARSAW);
+
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 30, 0, 0, 0, 0, WARSAW);
+        for (int hour = 0; hour < 24 * 220; hour += 7) {
+            ZonedDateTime value = start.plusHours(hour).plusMinutes(13);
+            double expected = DateUtil.getExcelDate(value.toLocalDateTime());
+            assertEquals(expected, converter.serial(value.toInstant()), 1e-9, value.toString());
+            assertEquals(expected, converter.serial(value.toEpochSecond(), value.getNano()), 1e-9, value.toString());
+        }
+    }
+
+    @Test
+    void shouldWriteTimeValuesInExporterZone() throws IOException {
+        Instant instant = Instant.parse("2024-07-01T10:00:00Z");
+
+        try (ExcelExporter exporter = new ExcelExporter("dates")) {
+            exporter.setZone(WARSAW);
+            exporter.addColumn(new ColumnDescriptor("Instant", "instant"));
+            exporter.addColumn(new ColumnDescriptor("Offset", "offset"));
+            exporter.addColumn(new ColumnDescriptor("Zoned", "zoned"));
+            exporter.createRow(new Event(instant, instant.atOffset(ZoneOffset.ofHours(-5)), instant.atZone(ZoneId.of("Asia/Tokyo"))));
+
+            Sheet sheet = exporter.getWorkbook().getSheet("dates");
+            LocalDateTime local = LocalDateTime.of(2024, 7, 1, 12, 0);
+            for (int column = 0; column < 3; column++) {
+                assertEquals(local, sheet.getRow(1).getCell(column).getLocalDateTimeCellValue());
+                assertEquals("yyyy-mm-dd hh:mm", sheet.getRow(1).getCell(column).getCellStyle().getDataFormatString());
+            }
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Event {
+        private Instant instant;
+        private OffsetDateTime offset;
+        private ZonedDateTime zoned;
+    }
+}
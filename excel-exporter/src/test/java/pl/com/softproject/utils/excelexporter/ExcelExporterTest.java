@@ -4,16 +4,44 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.val;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import pl.com.softproject.utils.pivot.PivotTableExcelExporter;
+import pl.com.softproject.utils.pivot.PivotTableModel;
+import pl.com.softproject.utils.pivot.PivotTableModelImpl;
 
 /**
  * @author Adrian Lapierre {@literal al@alapierre.io}
@@ -100,6 +128,432 @@ class ExcelExporterTest {
         }
     }
 
+    @Test
+    void shouldEstimateColumnWidthsWithoutFontMetrics() throws IOException {
+        try (ExcelExporter excelExporter = new ExcelExporter("report")) {
+            excelExporter.enableWidthEstimation();
+            excelExporter.addColumn(new ColumnDescriptor("Value", "value", "#,##0.00"));
+            excelExporter.addColumn(new ColumnDescriptor("A very long header", "value"));
+
+            excelExporter.createRow(new ValueRow(1234567.5));
+            excelExporter.createRow(new ValueRow(12.5));
+            excelExporter.autoSizeAllColumns();
+
+            val sheet = excelExporter.getWorkbook().getSheet("report");
+            // "1,234,567.50" plus padding
+            assertEquals((12 + 2) * 256, sheet.getColumnWidth(0));
+            assertEquals((18 + 2) * 256, sheet.getColumnWidth(1));
+        }
+    }
+
+    @Test
+    void shouldBindAdditionalBeansToAdditionalColumnsByPosition() throws IOException {
+        try (ExcelExporter excelExporter = new ExcelExporter("report")) {
+            ColumnDescriptor shared = new ColumnDescriptor("Value", "value");
+            excelExporter.addColumn(new ColumnDescriptor("Main", "value"));
+            excelExporter.addAdditionalColumn(shared);
+            excelExporter.addAdditionalColumn(shared);
+            excelExporter.addAdditionalColumn(new ColumnDescriptor("Missing", "value"));
+
+            excelExporter.createRow(new ValueRow("main"), List.of(new ValueRow("first"), new ValueRow("second")));
+
+            val sheet = excelExporter.getWorkbook().getSheet("report");
+            assertEquals(0, excelExporter.getColumnIndex("Main"));
+            assertEquals(-1, excelExporter.getColumnIndex("Value"));
+            assertEquals("first", sheet.getRow(1).getCell(1).getStringCellValue());
+            assertEquals("second", sheet.getRow(1).getCell(2).getStringCellValue());
+            assertNull(sheet.getRow(1).getCell(3));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void shouldRebindColumnWriterWhenValueTypeChanges(ExporterBackend backend, @TempDir Path tempDir) throws IOException {
+        File target = tempDir.resolve("rebind.xlsx").toFile();
+
+        try (ExporterBackend.SheetExporter excelExporter = backend.open("report", target)) {
+            excelExporter.addColumn(new ColumnDescriptor("Value", "value"));
+
+            excelExporter.createRow(new ValueRow(10));
+            excelExporter.createRow(new ValueRow("ten"));
+            excelExporter.createRow(new ValueRow(10.5));
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(target)) {
+            Sheet sheet = workbook.getSheet("report");
+            assertEquals(10, sheet.getRow(1).getCell(0).getNumericCellValue());
+            assertEquals("ten", sheet.getRow(2).getCell(0).getStringCellValue());
+            assertEquals(10.5, sheet.getRow(3).getCell(0).getNumericCellValue());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void shouldRebindColumnWriterInNextSheet(ExporterBackend backend, @TempDir Path tempDir) throws IOException {
+        File target = tempDir.resolve("rebind_sheets.xlsx").toFile();
+
+        try (ExporterBackend.SheetExporter excelExporter = backend.open("formatted", target)) {
+            excelExporter.addColumn(new ColumnDescriptor("Value", "value", value -> "#" + value));
+            excelExporter.createRow(new ValueRow(new BigDecimal("1234.5")));
+
+            excelExporter.addSheet("masked");
+            excelExporter.addColumn(new ColumnDescriptor("Value", "value", "0.000"));
+            excelExporter.createRow(new ValueRow(new BigDecimal("1234.5")));
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(target)) {
+            assertEquals("#1234.5", workbook.getSheet("formatted").getRow(1).getCell(0).getStringCellValue());
+
+            Cell cell = workbook.getSheet("masked").getRow(1).getCell(0);
+            assertEquals(CellType.NUMERIC, cell.getCellType());
+            assertEquals(1234.5, cell.getNumericCellValue());
+            assertEquals("0.000", cell.getCellStyle().getDataFormatString());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void shouldWriteBlankHeaderCellForNullHeaderName(ExporterBackend backend, @TempDir Path tempDir) throws IOException {
+        File target = tempDir.resolve("null_header.xlsx").toFile();
+
+        try (ExporterBackend.SheetExporter excelExporter = backend.open("report", target)) {
+            excelExporter.addColumn(new ColumnDescriptor(null, "value"));
+            excelExporter.addColumn(new ColumnDescriptor("Value", "value"));
+
+            excelExporter.createRow(new ValueRow("ten"));
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(target)) {
+            Row header = workbook.getSheet("report").getRow(0);
+            assertEquals(CellType.BLANK, header.getCell(0).getCellType());
+            assertTrue(workbook.getFontAt(header.getCell(0).getCellStyle().getFontIndex()).getBold());
+            assertEquals("Value", header.getCell(1).getStringCellValue());
+            assertEquals("ten", workbook.getSheet("report").getRow(1).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    void shouldWriteAllRowsInOrderUsingPipeline() throws IOException {
+        val r = givenValidReportRow();
+        int rowsCount = 500;
+        List<ReportRow> rows = generateListOfRows(r, rowsCount);
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report", 10)) {
+            excelExporter.setPipelineThreads(4);
+            excelExporter.addColumn(new ColumnDescriptor("Name", "name"));
+            excelExporter.addColumn(new ColumnDescriptor("Last Name", "lastName"));
+            excelExporter.addColumn(new ColumnDescriptor("Address", "address[1]"));
+
+            int written = excelExporter.writeAll(rows.stream());
+
+            assertEquals(rowsCount, written);
+            val sheet = excelExporter.getWorkbook().getSheet("report");
+            for (int i = rowsCount - 5; i < rowsCount; i++) {
+                assertEquals("Kowalski " + i, sheet.getRow(i + 1).getCell(1).getStringCellValue());
+            }
+        }
+    }
+
+    @Test
+    void shouldRollOverToNextSheetWithRepeatedHeader() throws IOException {
+        val r = givenValidReportRow();
+        List<ReportRow> rows = generateListOfRows(r, 12);
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report")) {
+            excelExporter.setSheetRolloverThreshold(5);
+            excelExporter.addColumn(new ColumnDescriptor("Name", "name"));
+            excelExporter.addColumn(new ColumnDescriptor("Last Name", "lastName"));
+
+            rows.forEach(excelExporter::createRow);
+
+            val wb = excelExporter.getWorkbook();
+            assertEquals(3, wb.getNumberOfSheets());
+            assertEquals("Last Name", wb.getSheet("report (2)").getRow(0).getCell(1).getStringCellValue());
+            assertEquals("Kowalski 4", wb.getSheet("report (2)").getRow(1).getCell(1).getStringCellValue());
+            assertEquals("Kowalski 11", wb.getSheet("report (3)").getRow(4).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    void shouldRollOverToNextWorkbookPart() throws IOException {
+        val r = givenValidReportRow();
+        List<ReportRow> rows = generateListOfRows(r, 7);
+        List<ByteArrayOutputStream> parts = new ArrayList<>();
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report")) {
+            excelExporter.setWorkbookRollover(3, partNumber -> {
+                ByteArrayOutputStream part = new ByteArrayOutputStream();
+                parts.add(part);
+                return part;
+            }, null);
+            excelExporter.addColumn(new ColumnDescriptor("Name", "name"));
+            excelExporter.addColumn(new ColumnDescriptor("Last Name", "lastName"));
+
+            rows.forEach(excelExporter::createRow);
+
+            assertEquals(3, excelExporter.completeWorkbookParts());
+        }
+
+        assertEquals(3, parts.size());
+        try (Workbook last = WorkbookFactory.create(new ByteArrayInputStream(parts.get(2).toByteArray()))) {
+            assertEquals("Name", last.getSheet("report").getRow(0).getCell(0).getStringCellValue());
+            assertEquals("Kowalski 6", last.getSheet("report").getRow(1).getCell(1).getStringCellValue());
+            assertNull(last.getSheet("report").getRow(2));
+        }
+    }
+
+    @Test
+    void shouldSaveAsynchronouslyWithoutCompressionToFile(@TempDir Path tempDir) throws Exception {
+        val r = givenValidReportRow();
+        Path target = tempDir.resolve("async.xlsx");
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report", 10)) {
+            excelExporter.setCompressionLevel(Deflater.NO_COMPRESSION);
+            excelExporter.addColumn(new ColumnDescriptor("Name", "name"));
+            excelExporter.addColumn(new ColumnDescriptor("Last Name", "lastName"));
+            generateListOfRows(r, 50).forEach(excelExporter::createRow);
+
+            excelExporter.saveAsync(target, ForkJoinPool.commonPool()).get(30, TimeUnit.SECONDS);
+        }
+
+        try (ZipFile zip = new ZipFile(target.toFile())) {
+            assertEquals(ZipEntry.STORED, zip.getEntry("xl/worksheets/sheet1.xml").getMethod());
+        }
+        try (Workbook workbook = WorkbookFactory.create(target.toFile())) {
+            assertEquals("Kowalski 49", workbook.getSheet("report").getRow(50).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    void shouldSaveAsynchronouslyToChannel() throws Exception {
+        val r = givenValidReportRow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report", 10)) {
+            excelExporter.setCompressionLevel(Deflater.BEST_SPEED);
+            excelExporter.addColumn(new ColumnDescriptor("Name", "name"));
+            generateListOfRows(r, 30).forEach(excelExporter::createRow);
+
+            excelExporter.saveAsync(Channels.newChannel(out), ForkJoinPool.commonPool()).get(30, TimeUnit.SECONDS);
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(31, workbook.getSheet("report").getPhysicalNumberOfRows());
+        }
+    }
+
+    @Test
+    void shouldSpillCompressedTempFilesToConfiguredDirectory(@TempDir Path tempDir) throws Exception {
+        val r = givenValidReportRow();
+        List<ReportRow> rows = generateListOfRows(r, 2000);
+        long uncompressed;
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report", 10)) {
+            excelExporter.addColumn(new ColumnDescriptor("Name", "name"));
+            excelExporter.addColumn(new ColumnDescriptor("Last Name", "lastName"));
+            rows.forEach(excelExporter::createRow);
+            excelExporter.save(tempDir.resolve("plain.xlsx").toFile());
+            uncompressed = excelExporter.getTempBytesWritten();
+        }
+
+        ExcelExporterConfig config = ExcelExporterConfig.builder()
+                .windowSize(10)
+                .compressTempFiles(true)
+                .tempDirectory(tempDir.resolve("spill"))
+                .useSharedStrings(true)
+                .build();
+        Path target = tempDir.resolve("compressed.xlsx");
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report", config)) {
+            excelExporter.addColumn(new ColumnDescriptor("Name", "name"));
+            excelExporter.addColumn(new ColumnDescriptor("Last Name", "lastName"));
+            rows.forEach(excelExporter::createRow);
+
+            try (Stream<Path> spilled = Files.list(tempDir.resolve("spill"))) {
+                assertEquals(1, spilled.filter(p -> p.toString().endsWith(".xml.gz")).count());
+            }
+            excelExporter.save(target.toFile());
+
+            assertTrue(excelExporter.getTempBytesWritten() > 0);
+            assertTrue(excelExporter.getTempBytesWritten() < uncompressed / 2);
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(target.toFile())) {
+            assertEquals("Kowalski 1999", workbook.getSheet("report").getRow(2000).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    void shouldReuseInternedStylesAcrossRepeatedFormatting() throws IOException {
+        val r = givenValidReportRow();
+        List<ReportRow> rows = generateListOfRows(r, 50);
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report")) {
+            excelExporter.addColumn(new ColumnDescriptor("Name", "name"));
+            excelExporter.addColumn(new ColumnDescriptor("Last Name", "lastName"));
+            rows.forEach(excelExporter::createRow);
+
+            Workbook workbook = excelExporter.getWorkbook();
+            excelExporter.setCellStyleBold(1, 0);
+            excelExporter.setCellStyleRedBold(1, 1);
+            excelExporter.setCellStyleColor(2, 0, 200, 100, 50);
+            excelExporter.addSummaryRow(List.of(1), SummaryRowConfig.builder().boldText(true).build());
+            int styles = workbook.getNumCellStyles();
+            int fonts = workbook.getNumberOfFonts();
+
+            for (int i = 1; i <= rows.size(); i++) {
+                excelExporter.setCellStyleBold(i, 0);
+                excelExporter.setCellStyleRedBold(i, 1);
+                excelExporter.setCellStyleColor(i, 0, 200, 100, 50);
+            }
+            excelExporter.addSummaryRow(List.of(1), SummaryRowConfig.builder().boldText(true).build());
+
+            assertEquals(styles, workbook.getNumCellStyles());
+            assertEquals(fonts, workbook.getNumberOfFonts());
+            assertEquals(excelExporter.createCellStyleColor(200, 100, 50), excelExporter.createCellStyleColor(200, 100, 50));
+        }
+    }
+
+    @Test
+    void shouldShareHeaderStyleBetweenPivotExportsOfOneWorkbook() throws IOException {
+        PivotTableModel model = new PivotTableModelImpl();
+        model.add("row", "column", 1);
+
+        try (Workbook workbook = new XSSFWorkbook()) {
+            PivotTableExcelExporter pivotExporter = new PivotTableExcelExporter(workbook);
+            pivotExporter.export(model, "pivot 1", new String[]{"column"});
+            int styles = workbook.getNumCellStyles();
+            pivotExporter.export(model, "pivot 2", new String[]{"column"});
+
+            assertEquals(styles, workbook.getNumCellStyles());
+            assertEquals(workbook.getSheet("pivot 1").getRow(0).getCell(1).getCellStyle(),
+                    workbook.getSheet("pivot 2").getRow(0).getCell(1).getCellStyle());
+        }
+    }
+
+    @Test
+    void shouldWriteMultiLevelHeaderWithMergedGroups(@TempDir Path tempDir) throws IOException {
+        val r = givenValidReportRow();
+        List<ReportRow> rows = generateListOfRows(r, 3);
+        Path target = tempDir.resolve("groups.xlsx");
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report")) {
+            excelExporter.addColumn(new ColumnDescriptor("Name", "name"));
+            excelExporter.addColumnGroup(new ColumnGroup("Person")
+                    .add(new ColumnDescriptor("Last Name", "lastName"))
+                    .add(new ColumnGroup("Address")
+                            .add(new ColumnDescriptor("Street", "address[0]"))
+                            .add(new ColumnDescriptor("Street 2", "address[1]"))));
+            rows.forEach(excelExporter::createRow);
+
+            assertThrows(IllegalStateException.class, () -> excelExporter.addMergedRegions(
+                    List.of(new CellRangeAddress(0, 0, 3, 4))));
+            excelExporter.save(target.toFile());
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(target.toFile())) {
+            Sheet sheet = workbook.getSheet("report");
+            assertEquals("Person", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals("Address", sheet.getRow(1).getCell(2).getStringCellValue());
+            assertEquals("Street 2", sheet.getRow(2).getCell(3).getStringCellValue());
+            assertEquals("Name", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("Kowalski 0", sheet.getRow(3).getCell(1).getStringCellValue());
+
+            List<String> regions = new ArrayList<>();
+            sheet.getMergedRegions().forEach(region -> regions.add(region.formatAsString()));
+            regions.sort(null);
+            assertEquals(List.of("A1:A3", "B1:D1", "B2:B3", "C2:D2"), regions);
+        }
+    }
+
+    @Test
+    void shouldCheckMergedRegionBatchAcrossRowsAndColumns() throws IOException {
+        try (ExcelExporter excelExporter = new ExcelExporter("report")) {
+            excelExporter.addMergedRegions(List.of(
+                    new CellRangeAddress(0, 5, 0, 0),
+                    new CellRangeAddress(0, 0, 1, 3),
+                    new CellRangeAddress(1, 1, 1, 3),
+                    new CellRangeAddress(6, 6, 0, 1)));
+
+            assertThrows(IllegalStateException.class, () -> excelExporter.addMergedRegions(
+                    List.of(new CellRangeAddress(2, 2, 2, 5), new CellRangeAddress(1, 4, 4, 4))));
+            assertThrows(IllegalStateException.class, () -> excelExporter.addMergedRegions(
+                    List.of(new CellRangeAddress(3, 3, 0, 2))));
+            assertEquals(4, excelExporter.getWorkbook().getSheet("report").getNumMergedRegions());
+        }
+    }
+
+    @Test
+    void shouldRejectOverlappingSpannedHeaders() throws IOException {
+        try (ExcelExporter excelExporter = new ExcelExporter("report")) {
+            ColumnDescriptor name = new ColumnDescriptor("Name", "name");
+            name.setColumns(2);
+            ColumnDescriptor lastName = new ColumnDescriptor("Last Name", "lastName");
+            lastName.setColumns(2);
+            excelExporter.addColumn(name);
+            excelExporter.addColumn(lastName);
+
+            assertThrows(IllegalStateException.class, () -> excelExporter.createRow(givenValidReportRow()));
+        }
+    }
+
+    @Test
+    void shouldMergeSpannedColumnAroundGroupHeader(@TempDir Path tempDir) throws IOException {
+        val r = givenValidReportRow();
+        Path target = tempDir.resolve("spanned-groups.xlsx");
+
+        try (ExcelExporter excelExporter = new ExcelExporter("report")) {
+            ColumnDescriptor name = new ColumnDescriptor("Name", "name");
+            name.setColumns(2);
+            excelExporter.addColumn(name);
+            excelExporter.addColumn(new EmptyColumnDescriptor(""));
+            excelExporter.addColumnGroup(new ColumnGroup("Address")
+                    .add(new ColumnDescriptor("Street", "address[0]"))
+                    .add(new ColumnDescriptor("Street 2", "address[1]")));
+            excelExporter.createRow(r);
+            excelExporter.save(target.toFile());
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(target.toFile())) {
+            Sheet sheet = workbook.getSheet("report");
+            assertEquals("Name", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("Address", sheet.getRow(0).getCell(2).getStringCellValue());
+            assertEquals("Jan", sheet.getRow(2).getCell(0).getStringCellValue());
+
+            List<String> regions = new ArrayList<>();
+            sheet.getMergedRegions().forEach(region -> regions.add(region.formatAsString()));
+            regions.sort(null);
+            assertEquals(List.of("A1:B2", "C1:D1"), regions);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void shouldConcatenateWithSeparatorAndNullRules(ExporterBackend backend, @TempDir Path tempDir) throws IOException {
+        Path target = tempDir.resolve("concat.xlsx");
+
+        try (ExporterBackend.SheetExporter excelExporter = backend.open("report", target.toFile())) {
+            ConcatationColumnDescriptor skipping = new ConcatationColumnDescriptor("Name", "lastName", ", ", true);
+            skipping.conCat("name");
+            ConcatationColumnDescriptor positional = new ConcatationColumnDescriptor("Positional", "lastName", "|", false);
+            positional.conCat("name");
+            positional.conCat("address[0]");
+            excelExporter.addColumn(skipping);
+            excelExporter.addColumn(positional);
+
+            excelExporter.createRow(givenValidReportRow());
+            excelExporter.createRow(ReportRow.builder().name("Anna").address(List.of("Polna")).build());
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(target.toFile())) {
+            Sheet sheet = workbook.getSheet("report");
+            assertEquals("Kowalski, Jan", sheet.getRow(1).getCell(0).getStringCellValue());
+            assertEquals("Kowalski|Jan|Warszawska", sheet.getRow(1).getCell(1).getStringCellValue());
+            assertEquals("Anna", sheet.getRow(2).getCell(0).getStringCellValue());
+            assertEquals("|Anna|Polna", sheet.getRow(2).getCell(1).getStringCellValue());
+        }
+    }
+
     private static ReportRow givenValidReportRow() {
         return ReportRow.builder()
             .name("Jan")
@@ -128,4 +582,11 @@ class ExcelExporterTest {
         private String lastName;
         private List<String> address;
     }
+
+    @Data
+    @AllArgsConstructor
+    public static class ValueRow {
+
+        private Object value;
+    }
 }
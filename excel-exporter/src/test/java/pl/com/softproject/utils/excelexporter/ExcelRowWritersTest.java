@@ -0,0 +1,112 @@
+package pl.com.softproject.utils.excelexporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for verifying annotation driven columns and generated row writers
+ */
+class ExcelRowWritersTest {
+
+    @Test
+    void shouldUseGeneratedRowWriter() {
+        ExcelRowWriter<Payment> writer = ExcelRowWriters.forType(Payment.class);
+
+        assertEquals("pl.com.softproject.utils.excelexporter.ExcelRowWritersTest_Payment_ExcelRowWriter",
+                writer.getClass().getName());
+        assertEquals(Payment.class, writer.type());
+
+        List<ColumnDescriptor> columns = writer.columns();
+        assertEquals(5, columns.size());
+        assertEquals("Title", columns.get(0).getHeaderName());
+        assertEquals("amount", columns.get(1).getPropertyName());
+        assertEquals("#,##0.00", columns.get(1).getStyleDescriptor().getExcelFormatMask());
+        assertEquals("Label", columns.get(3).getHeaderName());
+        assertEquals(ColumnStyleType.WARNING, columns.get(4).getStyleDescriptor().getType());
+    }
+
+    @Test
+    void shouldBuildTheSameColumnsWithoutProcessor() {
+        List<ColumnDescriptor> generated = ExcelRowWriters.forType(Payment.class).columns();
+        List<ColumnDescriptor> reflective = ExcelRowWriters.reflective(Payment.class).columns();
+        Payment payment = new Payment("FV/1", new BigDecimal("10.50"), "ignored", true, "Jan");
+
+        assertEquals(generated.size(), reflective.size());
+        for (int i = 0; i < generated.size(); i++) {
+            ColumnDescriptor expected = generated.get(i);
+            ColumnDescriptor actual = reflective.get(i);
+            assertEquals(expected.getHeaderName(), actual.getHeaderName());
+            assertEquals(expected.getPropertyName(), actual.getPropertyName());
+            assertEquals(expected.getStyleDescriptor(), actual.getStyleDescriptor());
+            assertEquals(((AccessorColumnDescriptor) expected).getAccessor().get(payment),
+                    ((AccessorColumnDescriptor) actual).getAccessor().get(payment));
+        }
+        assertEquals("FV/1 (Jan)", ((AccessorColumnDescriptor) reflective.get(3)).getAccessor().get(payment));
+    }
+
+    @Test
+    void shouldExportAnnotatedColumnsInOrder() throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (CsvExporter exporter = CsvExporter.csv(out)) {
+            exporter.setLineSeparator("\n");
+            exporter.addColumns(Payment.class);
+            exporter.writeAll(List.of(
+                    new Payment("FV/1", new BigDecimal("10.50"), "ignored", true, "Jan"),
+                    new Payment("FV/2", null, "ignored", false, null)));
+        }
+
+        assertEquals("Title,Amount,paid,Label,Payer\n"
+                + "FV/1,10.50,true,FV/1 (Jan),JAN\n"
+                + "FV/2,,false,FV/2 (null),\n", out.toString());
+    }
+
+    @Test
+    void shouldRejectTypeWithoutAnnotatedColumns() {
+        assertThrows(IllegalArgumentException.class, () -> ExcelRowWriters.forType(String.class));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Payment {
+
+        @ExcelColumn(header = "Amount", order = 2, format = "#,##0.00")
+        private BigDecimal amount;
+
+        @ExcelColumn(header = "Title", order = 1)
+        private String title;
+
+        private String note;
+
+        @ExcelColumn(order = 3)
+        boolean paid;
+
+        private String payer;
+
+        Payment(String title, BigDecimal amount, String note, boolean paid, String payer) {
+            this.title = title;
+            this.amount = amount;
+            this.note = note;
+            this.paid = paid;
+            this.payer = payer;
+        }
+
+        @ExcelColumn(header = "Label")
+        public String label() {
+            return title + " (" + payer + ")";
+        }
+
+        @ExcelColumn(header = "Payer", style = ColumnStyleType.WARNING)
+        public String getPayerUpperCase() {
+            return payer == null ? null : payer.toUpperCase();
+        }
+    }
+}
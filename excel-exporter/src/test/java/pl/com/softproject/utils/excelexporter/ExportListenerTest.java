@@ -0,0 +1,102 @@
+package pl.com.softproject.utils.excelexporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for verifying export listener notifications
+ */
+class ExportListenerTest {
+
+    @Test
+    void shouldCountRowsCellsFlushesAndSaves() throws IOException {
+        CountingExportListener metrics = new CountingExportListener();
+
+        try (ExcelExporter exporter = new ExcelExporter("report", 10)) {
+            exporter.setExportListener(metrics);
+            exporter.addColumn(new ColumnDescriptor("Name", "name"));
+            exporter.addColumn(new ColumnDescriptor("Amount", "amount", "#,##0.000"));
+            exporter.writeAll(rows(30));
+
+            assertEquals(30, metrics.getRows());
+            assertEquals(59, metrics.getCells());
+            assertEquals(21, metrics.getRowsFlushed());
+            assertEquals(1, metrics.getStylesCreated());
+
+            exporter.save(new ByteArrayOutputStream());
+
+            assertEquals(31, metrics.getRowsFlushed());
+            assertEquals(1, metrics.getSaves());
+            assertEquals(exporter.getTempBytesWritten(), metrics.getTempBytesWritten());
+            assertTrue(metrics.getTempBytesWritten() > 0);
+        }
+    }
+
+    @Test
+    void shouldCountRowsWrittenThroughPipeline() throws IOException {
+        CountingExportListener metrics = new CountingExportListener();
+
+        try (ExcelExporter exporter = new ExcelExporter("report", 10)) {
+            exporter.setExportListener(metrics);
+            exporter.setPipelineThreads(3);
+            exporter.addColumn(new ColumnDescriptor("Name", "name"));
+            exporter.addColumn(new ColumnDescriptor("Amount", "amount"));
+            exporter.writeAll(rows(100));
+
+            assertEquals(100, metrics.getRows());
+            assertEquals(199, metrics.getCells());
+        }
+    }
+
+    @Test
+    void shouldEmitJfrEventOnSave(@TempDir Path tempDir) throws IOException {
+        Path dump = tempDir.resolve("export.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("pl.com.softproject.excelexporter.Export");
+            recording.start();
+
+            try (ExcelExporter exporter = new ExcelExporter("report", 10)) {
+                exporter.setExportListener(new JfrExportListener());
+                exporter.addColumn(new ColumnDescriptor("Name", "name"));
+                exporter.writeAll(rows(25));
+                exporter.save(new ByteArrayOutputStream());
+            }
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(1, events.size());
+        assertEquals(25, events.get(0).getLong("rows"));
+        assertEquals(26, events.get(0).getLong("rowsFlushed"));
+    }
+
+    private static List<Item> rows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Item("item " + i, i == 0 ? null : i * 1.5))
+                .collect(Collectors.toList());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Item {
+        private String name;
+        private Double amount;
+    }
+}
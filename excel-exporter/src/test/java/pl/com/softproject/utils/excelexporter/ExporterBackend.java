@@ -0,0 +1,196 @@
+package pl.com.softproject.utils.excelexporter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Exporters writing .xlsx files, used to run the same scenario against {@link ExcelExporter}
+ * and {@link StreamingXlsxExporter}
+ */
+enum ExporterBackend {
+
+    POI {
+        @Override
+        SheetExporter open(String sheetName, File file) {
+            ExcelExporter exporter = new ExcelExporter(sheetName);
+            return new SheetExporter() {
+                @Override
+                public void addColumn(ColumnDescriptor column) {
+                    exporter.addColumn(column);
+                }
+
+                @Override
+                public void enableAggregates() {
+                    exporter.enableAggregates();
+                }
+
+                @Override
+                public void createRow(Object bean) {
+                    exporter.createRow(bean);
+                }
+
+                @Override
+                public void createRow(Object bean, int headerRow) {
+                    exporter.createRow(bean, headerRow);
+                }
+
+                @Override
+                public void goToNextRow() {
+                    exporter.goToNextRow();
+                }
+
+                @Override
+                public void addSheet(String name) {
+                    exporter.addSheet(name);
+                }
+
+                @Override
+                public int getColumnIndex(String headerName) {
+                    return exporter.getColumnIndex(headerName);
+                }
+
+                @Override
+                public ColumnAggregate getColumnAggregate(String headerName) {
+                    return exporter.getColumnAggregate(headerName);
+                }
+
+                @Override
+                public int addSummaryRow(List<Integer> columns) {
+                    return exporter.addSummaryRow(columns);
+                }
+
+                @Override
+                public int addSummaryRow(List<Integer> columns, SummaryRowConfig config) {
+                    return exporter.addSummaryRow(columns, config);
+                }
+
+                @Override
+                public int addSummaryRowByColumnNames(List<String> columns) {
+                    return exporter.addSummaryRowByColumnNames(columns);
+                }
+
+                @Override
+                public int addSummaryRowByColumnNames(List<String> columns, SummaryRowConfig config) {
+                    return exporter.addSummaryRowByColumnNames(columns, config);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try (exporter) {
+                        exporter.save(file);
+                    }
+                }
+            };
+        }
+    },
+
+    STREAMING {
+        @Override
+        SheetExporter open(String sheetName, File file) throws IOException {
+            StreamingXlsxExporter exporter = new StreamingXlsxExporter(sheetName, file);
+            return new SheetExporter() {
+                @Override
+                public void addColumn(ColumnDescriptor column) {
+                    exporter.addColumn(column);
+                }
+
+                @Override
+                public void enableAggregates() {
+                    exporter.enableAggregates();
+                }
+
+                @Override
+                public void createRow(Object bean) {
+                    exporter.createRow(bean);
+                }
+
+                @Override
+                public void createRow(Object bean, int headerRow) {
+                    exporter.createRow(bean, headerRow);
+                }
+
+                @Override
+                public void goToNextRow() {
+                    exporter.goToNextRow();
+                }
+
+                @Override
+                public void addSheet(String name) {
+                    exporter.addSheet(name);
+                }
+
+                @Override
+                public int getColumnIndex(String headerName) {
+                    return exporter.getColumnIndex(headerName);
+                }
+
+                @Override
+                public ColumnAggregate getColumnAggregate(String headerName) {
+                    return exporter.getColumnAggregate(headerName);
+                }
+
+                @Override
+                public int addSummaryRow(List<Integer> columns) {
+                    return exporter.addSummaryRow(columns);
+                }
+
+                @Override
+                public int addSummaryRow(List<Integer> columns, SummaryRowConfig config) {
+                    return exporter.addSummaryRow(columns, config);
+                }
+
+                @Override
+                public int addSummaryRowByColumnNames(List<String> columns) {
+                    return exporter.addSummaryRowByColumnNames(columns);
+                }
+
+                @Override
+                public int addSummaryRowByColumnNames(List<String> columns, SummaryRowConfig config) {
+                    return exporter.addSummaryRowByColumnNames(columns, config);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    exporter.close();
+                }
+            };
+        }
+    };
+
+    /**
+     * Opens an exporter writing to the file, the file is complete after {@link SheetExporter#close()}
+     */
+    abstract SheetExporter open(String sheetName, File file) throws IOException;
+
+    /**
+     * API shared by both exporters
+     */
+    abstract static class SheetExporter implements Closeable {
+
+        abstract void addColumn(ColumnDescriptor column);
+
+        abstract void enableAggregates();
+
+        abstract void createRow(Object bean);
+
+        abstract void createRow(Object bean, int headerRow);
+
+        abstract void goToNextRow();
+
+        abstract void addSheet(String name);
+
+        abstract int getColumnIndex(String headerName);
+
+        abstract ColumnAggregate getColumnAggregate(String headerName);
+
+        abstract int addSummaryRow(List<Integer> columns);
+
+        abstract int addSummaryRow(List<Integer> columns, SummaryRowConfig config);
+
+        abstract int addSummaryRowByColumnNames(List<String> columns);
+
+        abstract int addSummaryRowByColumnNames(List<String> columns, SummaryRowConfig config);
+    }
+}
@@ -0,0 +1,86 @@
+package pl.com.softproject.utils.excelexporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for verifying parallel multi-sheet workbook assembly
+ */
+class ParallelSheetExporterTest {
+
+    private static final int SHEETS = 6;
+    private static final int ROWS = 1000;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void shouldPopulateSheetsInParallelWithSharedStyles() throws IOException {
+        File outputFile = new File(tempDir, "parallel.xlsx");
+
+        try (ParallelSheetExporter exporter = new ParallelSheetExporter(50)) {
+            for (int s = 0; s < SHEETS; s++) {
+                int sheetNumber = s;
+                exporter.addSheet("Sheet " + s, sheet -> {
+                    sheet.addColumn(new ColumnDescriptor("Name", "name"));
+                    sheet.addColumn(new ColumnDescriptor("Amount", "amount", "#,##0.000"));
+                    sheet.addColumn(new ColumnDescriptor("Date", "date", ColumnStyleType.WARNING));
+                    sheet.writeAll(IntStream.range(0, ROWS)
+                        .mapToObj(i -> new Line("sheet " + sheetNumber + " row " + i, i * 1.5, LocalDate.of(2024, 1, 1))));
+                });
+            }
+            exporter.populate();
+            exporter.save(outputFile);
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(outputFile)) {
+            assertEquals(SHEETS, workbook.getNumberOfSheets());
+            for (int s = 0; s < SHEETS; s++) {
+                Sheet sheet = workbook.getSheetAt(s);
+                assertEquals("Sheet " + s, sheet.getSheetName());
+                assertEquals(ROWS, sheet.getLastRowNum());
+                assertEquals("sheet " + s + " row " + (ROWS - 1), sheet.getRow(ROWS).getCell(0).getStringCellValue());
+            }
+            // the same styles as a single-sheet export: defaults, header and two column styles
+            assertEquals(8, workbook.getNumCellStyles());
+        }
+    }
+
+    @Test
+    void shouldPropagatePopulatorFailure() throws IOException {
+        try (ParallelSheetExporter exporter = new ParallelSheetExporter()) {
+            exporter.addSheet("ok", sheet -> sheet.addColumn(new ColumnDescriptor("Name", "name")));
+            exporter.addSheet("failing", sheet -> {
+                throw new IOException("boom");
+            });
+            IllegalStateException ex = assertThrows(IllegalStateException.class, exporter::populate);
+            assertEquals("can't populate sheet failing", ex.getMessage());
+        }
+    }
+
+    @Test
+    void shouldRejectSharedStringsTable() {
+        ExcelExporterConfig config = ExcelExporterConfig.builder().useSharedStrings(true).build();
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSheetExporter(config));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Line {
+        private String name;
+        private double amount;
+        private LocalDate date;
+    }
+}
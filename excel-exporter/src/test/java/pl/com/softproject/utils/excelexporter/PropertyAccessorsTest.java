@@ -0,0 +1,63 @@
+package pl.com.softproject.utils.excelexporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for verifying compiled property accessors
+ */
+class PropertyAccessorsTest {
+
+    @Test
+    void shouldReadNestedPath() {
+        Customer customer = new Customer("Jan", new Address("Warszawa", List.of("Marszałkowska", "1")), true);
+
+        assertEquals("Warszawa", PropertyAccessors.forProperty(Customer.class, "address.city").get(customer));
+        assertEquals("Jan", PropertyAccessors.forProperty(Customer.class, "name").get(customer));
+        assertEquals(true, PropertyAccessors.forProperty(Customer.class, "active").get(customer));
+    }
+
+    @Test
+    void shouldReturnNullForNullIntermediateValue() {
+        Customer customer = new Customer("Jan", null, false);
+
+        assertNull(PropertyAccessors.forProperty(Customer.class, "address.city").get(customer));
+    }
+
+    @Test
+    void shouldFallbackToDynamicAccessForIndexedAndMapProperties() {
+        Customer customer = new Customer("Jan", new Address("Warszawa", List.of("Marszałkowska", "1")), true);
+
+        assertEquals("1", PropertyAccessors.forProperty(Customer.class, "address.lines[1]").get(customer));
+        assertEquals("value", PropertyAccessors.forProperty(Map.class, "key").get(Map.of("key", "value")));
+        assertNull(PropertyAccessors.forProperty(Customer.class, "notExisting").get(customer));
+    }
+
+    @Test
+    void shouldCacheAccessorPerClassAndPath() {
+        assertSame(PropertyAccessors.forProperty(Customer.class, "address.city"),
+            PropertyAccessors.forProperty(Customer.class, "address.city"));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Customer {
+        private String name;
+        private Address address;
+        private boolean active;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Address {
+        private String city;
+        private List<String> lines;
+    }
+}
@@ -0,0 +1,193 @@
+package pl.com.softproject.utils.excelexporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for verifying direct ResultSet export
+ */
+class ResultSetExcelExporterTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void shouldExportResultSetsToSeparateSheets() throws Exception {
+        File outputFile = new File(tempDir, "result_set.xlsx");
+
+        ResultSet invoices = resultSet(
+            new String[]{"ID", "AMOUNT", "ISSUED"},
+            new int[]{Types.BIGINT, Types.DECIMAL, Types.TIMESTAMP},
+            List.of(
+                new Object[]{1L, new BigDecimal("10.50"), Timestamp.valueOf("2024-01-02 10:00:00")},
+                new Object[]{2L, null, Timestamp.valueOf("2024-01-03 11:30:00")}
+            ));
+        ResultSet customers = resultSet(
+            new String[]{"NAME"},
+            new int[]{Types.VARCHAR},
+            List.<Object[]>of(new Object[]{"Jan"}));
+
+        try (ResultSetExcelExporter exporter = new ResultSetExcelExporter("unused")) {
+            exporter.setFetchSize(500);
+            assertEquals(2, exporter.export("Invoices", invoices));
+            assertEquals(1, exporter.export("Customers", customers));
+            exporter.save(outputFile);
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(outputFile)) {
+            assertEquals(2, workbook.getNumberOfSheets());
+
+            Sheet sheet = workbook.getSheet("Invoices");
+            assertEquals("AMOUNT", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals(1, sheet.getRow(1).getCell(0).getNumericCellValue());
+            assertEquals(10.5, sheet.getRow(1).getCell(1).getNumericCellValue());
+            assertEquals(Timestamp.valueOf("2024-01-02 10:00:00").getTime(), sheet.getRow(1).getCell(2).getDateCellValue().getTime());
+            assertNull(sheet.getRow(2).getCell(1));
+
+            assertEquals("Jan", workbook.getSheet("Customers").getRow(1).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    void shouldUpdateAggregatesAndListenerForResultSetRows() throws Exception {
+        File outputFile = new File(tempDir, "result_set_summary.xlsx");
+
+        ResultSet invoices = resultSet(
+            new String[]{"ID", "AMOUNT"},
+            new int[]{Types.BIGINT, Types.DECIMAL},
+            List.of(
+                new Object[]{1L, new BigDecimal("10.50")},
+                new Object[]{2L, null},
+                new Object[]{3L, new BigDecimal("4.25")}
+            ));
+
+        CountingExportListener listener = new CountingExportListener();
+        try (ResultSetExcelExporter exporter = new ResultSetExcelExporter("Invoices")) {
+            exporter.setExportListener(listener);
+            exporter.enableAggregates();
+            exporter.enableWidthEstimation();
+            assertEquals(3, exporter.export(invoices));
+            exporter.addSummaryRowByColumnNames(List.of("AMOUNT"), SummaryRowConfig.builder()
+                .valueMode(SummaryValueMode.FORMULA_WITH_VALUE)
+                .build());
+            exporter.autoSizeAllColumns();
+            exporter.save(outputFile);
+
+            assertEquals(2L, exporter.getColumnAggregate("AMOUNT").getCount());
+        }
+
+        assertEquals(3L, listener.getRows());
+        assertEquals(5L, listener.getCells());
+
+        try (Workbook workbook = WorkbookFactory.create(outputFile)) {
+            Sheet sheet = workbook.getSheet("Invoices");
+            assertEquals("SUM(B2:B4)", sheet.getRow(4).getCell(1).getCellFormula());
+            assertEquals(14.75, sheet.getRow(4).getCell(1).getNumericCellValue());
+            assertEquals("#,##0.00", sheet.getRow(1).getCell(1).getCellStyle().getDataFormatString());
+        }
+    }
+
+    @Test
+    void shouldWritePrimitiveColumnsWithoutObjectPath() throws Exception {
+        File outputFile = new File(tempDir, "result_set_primitives.xlsx");
+
+        ResultSet measurements = resultSet(
+            new String[]{"VALUE", "VALID", "DAY"},
+            new int[]{Types.DOUBLE, Types.BOOLEAN, Types.DATE},
+            List.of(
+                new Object[]{1.5, true, java.sql.Date.valueOf("2024-02-29")},
+                new Object[]{null, null, null},
+                new Object[]{-0.25, false, java.sql.Date.valueOf("2024-03-01")}
+            ));
+
+        CountingExportListener listener = new CountingExportListener();
+        try (ResultSetExcelExporter exporter = new ResultSetExcelExporter("Measurements")) {
+            exporter.setExportListener(listener);
+            exporter.enableAggregates();
+            exporter.enableWidthEstimation();
+            assertEquals(3, exporter.export(measurements));
+            exporter.autoSizeAllColumns();
+            exporter.save(outputFile);
+
+            ColumnAggregate aggregate = exporter.getColumnAggregate("VALUE");
+            assertEquals(2L, aggregate.getCount());
+            assertEquals(1.25, aggregate.getSum().doubleValue());
+        }
+
+        assertEquals(3L, listener.getRows());
+        assertEquals(6L, listener.getCells());
+
+        try (Workbook workbook = WorkbookFactory.create(outputFile)) {
+            Sheet sheet = workbook.getSheet("Measurements");
+            assertEquals(1.5, sheet.getRow(1).getCell(0).getNumericCellValue());
+            assertTrue(sheet.getRow(1).getCell(1).getBooleanCellValue());
+            assertEquals(LocalDate.of(2024, 2, 29), sheet.getRow(1).getCell(2).getLocalDateTimeCellValue().toLocalDate());
+            assertEquals("yyyy-mm-dd", sheet.getRow(1).getCell(2).getCellStyle().getDataFormatString());
+            assertNull(sheet.getRow(2).getCell(0));
+            assertNull(sheet.getRow(2).getCell(1));
+            assertNull(sheet.getRow(2).getCell(2));
+            assertFalse(sheet.getRow(3).getCell(1).getBooleanCellValue());
+        }
+    }
+
+    private static ResultSet resultSet(String[] labels, int[] types, List<Object[]> rows) {
+
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+            ResultSetMetaData.class.getClassLoader(), new Class[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getColumnCount": return labels.length;
+                    case "getColumnLabel": return labels[(int) args[0] - 1];
+                    case "getColumnType": return types[(int) args[0] - 1];
+                    case "getPrecision": return 10;
+                    case "getScale": return types[(int) args[0] - 1] == Types.DECIMAL ? 2 : 0;
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+        int[] cursor = {-1};
+        Object[] last = {null};
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(), new Class[]{ResultSet.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getMetaData": return metaData;
+                    case "setFetchSize": return null;
+                    case "next": return ++cursor[0] < rows.size();
+                    case "wasNull": return last[0] == null;
+                    case "getLong":
+                        last[0] = rows.get(cursor[0])[(int) args[0] - 1];
+                        return last[0] == null ? 0L : last[0];
+                    case "getDouble":
+                        last[0] = rows.get(cursor[0])[(int) args[0] - 1];
+                        return last[0] == null ? 0.0 : last[0];
+                    case "getBoolean":
+                        last[0] = rows.get(cursor[0])[(int) args[0] - 1];
+                        return last[0] == null ? false : last[0];
+                    case "getDate":
+                    case "getBigDecimal":
+                    case "getTimestamp":
+                    case "getString":
+                        last[0] = rows.get(cursor[0])[(int) args[0] - 1];
+                        return last[0];
+                    default: throw new SQLException("not supported: " + method.getName());
+                }
+            });
+    }
+}
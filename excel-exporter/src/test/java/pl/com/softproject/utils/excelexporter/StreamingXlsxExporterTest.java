@@ -0,0 +1,114 @@
+package pl.com.softproject.utils.excelexporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for verifying the direct OOXML streaming exporter
+ */
+class StreamingXlsxExporterTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void shouldWriteReadableWorkbookWithSummaryRow() throws IOException {
+        List<Product> products = Arrays.asList(
+            new Product("Laptop", 1500.0, 2, LocalDate.of(2024, 3, 1)),
+            new Product(" Mouse & <Pad> ", 25.0, 5, null),
+            new Product("Keyboard", 80.0, 3, LocalDate.of(2024, 3, 2))
+        );
+
+        File outputFile = new File(tempDir, "streaming.xlsx");
+        int summaryRowIndex;
+
+        try (StreamingXlsxExporter exporter = new StreamingXlsxExporter("Products", outputFile)) {
+            exporter.addColumn(new ColumnDescriptor("Name", "name"));
+            exporter.addColumn(new ColumnDescriptor("Price", "price", "#,##0.000"));
+            exporter.addColumn(new ColumnDescriptor("Quantity", "quantity", ColumnStyleType.WARNING));
+            exporter.addColumn(new ColumnDescriptor("Delivery", "delivery"));
+            exporter.setColumnWidth(0, 30);
+
+            assertEquals(3, exporter.writeAll(products));
+            summaryRowIndex = exporter.addSummaryRowByColumnNames(Arrays.asList("Price", "Quantity"),
+                SummaryRowConfig.builder().boldText(true).build());
+
+            exporter.addSheet("Second");
+            exporter.addColumn(new ColumnDescriptor("Name", "name"));
+            exporter.createRow(products.get(0));
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(outputFile)) {
+            assertEquals(2, workbook.getNumberOfSheets());
+            Sheet sheet = workbook.getSheet("Products");
+
+            Row header = sheet.getRow(0);
+            assertEquals("Price", header.getCell(1).getStringCellValue());
+            assertTrue(workbook.getFontAt(header.getCell(1).getCellStyle().getFontIndex()).getBold());
+
+            assertEquals(" Mouse & <Pad> ", sheet.getRow(2).getCell(0).getStringCellValue());
+            assertEquals(1500.0, sheet.getRow(1).getCell(1).getNumericCellValue());
+            assertEquals("#,##0.000", sheet.getRow(1).getCell(1).getCellStyle().getDataFormatString());
+            assertEquals(5, sheet.getRow(2).getCell(2).getNumericCellValue());
+            assertEquals(LocalDate.of(2024, 3, 1), sheet.getRow(1).getCell(3).getLocalDateTimeCellValue().toLocalDate());
+            assertEquals("yyyy-mm-dd", sheet.getRow(1).getCell(3).getCellStyle().getDataFormatString());
+            assertNull(sheet.getRow(2).getCell(3));
+
+            Row summaryRow = sheet.getRow(summaryRowIndex);
+            assertEquals("Total:", summaryRow.getCell(0).getStringCellValue());
+            assertEquals("SUM(B2:B4)", summaryRow.getCell(1).getCellFormula());
+            CellStyle quantitySum = summaryRow.getCell(2).getCellStyle();
+            assertEquals("SUM(C2:C4)", summaryRow.getCell(2).getCellFormula());
+            assertTrue(workbook.getFontAt(quantitySum.getFontIndex()).getBold());
+
+            assertEquals(30 * 256, sheet.getColumnWidth(0));
+            assertEquals("Laptop", workbook.getSheet("Second").getRow(1).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    void shouldMergeMultiColumnHeaders() throws IOException {
+        File outputFile = new File(tempDir, "merged.xlsx");
+
+        try (StreamingXlsxExporter exporter = new StreamingXlsxExporter("Merged", outputFile)) {
+            ColumnDescriptor name = new ColumnDescriptor("Name", "name");
+            name.setColumns(2);
+            exporter.addColumn(name);
+            assertTrue(exporter.isEmpty());
+            exporter.createRow(new Product("Laptop", 1500.0, 2, null));
+            assertFalse(exporter.isEmpty());
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(outputFile)) {
+            Sheet sheet = workbook.getSheet("Merged");
+            assertEquals(1, sheet.getNumMergedRegions());
+            assertEquals("A1:B1", sheet.getMergedRegion(0).formatAsString());
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Product {
+        private String name;
+        private double price;
+        private int quantity;
+        private LocalDate delivery;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Data;
 import org.apache.poi.ss.usermodel.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import java.io.File;
 import java.io.IOException;
@@ -14,15 +16,16 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
- * Test class for verifying summary row functionality in ExcelExporter
+ * Test class for verifying summary row functionality in ExcelExporter and StreamingXlsxExporter
  */
 class SummaryRowTest {
 
     @TempDir
     File tempDir;
 
-    @Test
-    void testAddSummaryRowByIndices() throws IOException {
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testAddSummaryRowByIndices(ExporterBackend backend) throws IOException {
         // Create test data
         List<Product> products = Arrays.asList(
                 new Product("Laptop", 1500.0, 2),
@@ -34,8 +37,8 @@ class SummaryRowTest {
         File outputFile = new File(tempDir, "summary_test.xlsx");
         int summaryRowIndex;
 
-        try (ExcelExporter exporter = new ExcelExporter("Products")) {
-            // Setup ExcelExporter
+        try (ExporterBackend.SheetExporter exporter = backend.open("Products", outputFile)) {
+            // Setup exporter
             exporter.addColumn(new ColumnDescriptor("Name", "name"));
             exporter.addColumn(new ColumnDescriptor("Price", "price"));
             exporter.addColumn(new ColumnDescriptor("Quantity", "quantity"));
@@ -51,9 +54,6 @@ class SummaryRowTest {
                 .summaryLabel("Total:")
                 .build();
             summaryRowIndex = exporter.addSummaryRow(columnsToSum, config);
-
-            // Save to temp file
-            exporter.save(outputFile);
         }
 
         // Verify summary row
@@ -78,8 +78,9 @@ class SummaryRowTest {
         }
     }
     
-    @Test
-    void testAddSummaryRowByColumnNames() throws IOException {
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testAddSummaryRowByColumnNames(ExporterBackend backend) throws IOException {
         // Create test data
         List<Product> products = Arrays.asList(
                 new Product("Laptop", 1500.0, 2),
@@ -93,8 +94,8 @@ class SummaryRowTest {
         int priceIndex;
         int quantityIndex;
 
-        try (ExcelExporter exporter = new ExcelExporter("Products")) {
-            // Setup ExcelExporter
+        try (ExporterBackend.SheetExporter exporter = backend.open("Products", outputFile)) {
+            // Setup exporter
             exporter.addColumn(new ColumnDescriptor("Name", "name"));
             exporter.addColumn(new ColumnDescriptor("Price", "price"));
             exporter.addColumn(new ColumnDescriptor("Quantity", "quantity"));
@@ -112,9 +113,6 @@ class SummaryRowTest {
             summaryRowIndex = exporter.addSummaryRowByColumnNames(columnsToSum, config);
             priceIndex = exporter.getColumnIndex("Price");
             quantityIndex = exporter.getColumnIndex("Quantity");
-
-            // Save to temp file
-            exporter.save(outputFile);
         }
 
         // Verify summary row
@@ -146,8 +144,9 @@ class SummaryRowTest {
         }
     }
     
-    @Test
-    void testAddSummaryRowWithSkipRows() throws IOException {
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testAddSummaryRowWithSkipRows(ExporterBackend backend) throws IOException {
         // Create test data
         List<Product> products = Arrays.asList(
                 new Product("Laptop", 1500.0, 2),
@@ -159,8 +158,8 @@ class SummaryRowTest {
         File outputFile = new File(tempDir, "summary_with_skip_test.xlsx");
         int summaryRowIndex;
 
-        try (ExcelExporter exporter = new ExcelExporter("Products with Skip")) {
-            // Setup ExcelExporter
+        try (ExporterBackend.SheetExporter exporter = backend.open("Products with Skip", outputFile)) {
+            // Setup exporter
             exporter.addColumn(new ColumnDescriptor("Name", "name"));
             exporter.addColumn(new ColumnDescriptor("Price", "price"));
             exporter.addColumn(new ColumnDescriptor("Quantity", "quantity"));
@@ -188,9 +187,6 @@ class SummaryRowTest {
                 .skipFirstRows(skipFirstRows)
                 .build();
             summaryRowIndex = exporter.addSummaryRow(columnsToSum, config);
-
-            // Save to temp file
-            exporter.save(outputFile);
         }
 
         // Verify summary row
@@ -208,8 +204,9 @@ class SummaryRowTest {
         }
     }
     
-    @Test
-    void testCustomLabelColumnPosition() throws IOException {
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testCustomLabelColumnPosition(ExporterBackend backend) throws IOException {
         // Create test data
         List<Product> products = Arrays.asList(
                 new Product("Laptop", 1500.0, 2),
@@ -220,8 +217,8 @@ class SummaryRowTest {
         int summaryRowIndex;
         int priceIndex;
 
-        try (ExcelExporter exporter = new ExcelExporter("Custom Label Position")) {
-            // Setup ExcelExporter
+        try (ExporterBackend.SheetExporter exporter = backend.open("Custom Label Position", outputFile)) {
+            // Setup exporter
             exporter.addColumn(new ColumnDescriptor("Name", "name"));
             exporter.addColumn(new ColumnDescriptor("Price", "price"));
             exporter.addColumn(new ColumnDescriptor("Quantity", "quantity"));
@@ -243,9 +240,6 @@ class SummaryRowTest {
             // Add summary row by column names with config
             List<String> columnNamesToSum = List.of("Quantity");
             summaryRowIndex = exporter.addSummaryRowByColumnNames(columnNamesToSum, config);
-
-            // Save to temp file
-            exporter.save(outputFile);
         }
 
         // Verify summary row
@@ -267,8 +261,9 @@ class SummaryRowTest {
         }
     }
     
-    @Test
-    void testMinimalBuilderConfig() throws IOException {
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testMinimalBuilderConfig(ExporterBackend backend) throws IOException {
         // Create test data
         List<Product> products = Arrays.asList(
                 new Product("Laptop", 1500.0, 2),
@@ -278,8 +273,8 @@ class SummaryRowTest {
         File outputFile = new File(tempDir, "minimal_config.xlsx");
         int summaryRowIndex;
 
-        try (ExcelExporter exporter = new ExcelExporter("Minimal Config")) {
-            // Setup ExcelExporter
+        try (ExporterBackend.SheetExporter exporter = backend.open("Minimal Config", outputFile)) {
+            // Setup exporter
             exporter.addColumn(new ColumnDescriptor("Name", "name"));
             exporter.addColumn(new ColumnDescriptor("Price", "price"));
             exporter.addColumn(new ColumnDescriptor("Quantity", "quantity"));
@@ -295,9 +290,6 @@ class SummaryRowTest {
             // Add summary row with minimal config
             List<Integer> columnsToSum = Arrays.asList(1, 2);
             summaryRowIndex = exporter.addSummaryRow(columnsToSum, config);
-
-            // Save to temp file
-            exporter.save(outputFile);
         }
 
         // Verify summary row
@@ -319,8 +311,9 @@ class SummaryRowTest {
         }
     }
     
-    @Test
-    void testSimpleMethodWithoutConfig() throws IOException {
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testSimpleMethodWithoutConfig(ExporterBackend backend) throws IOException {
         // Create test data
         List<Product> products = Arrays.asList(
                 new Product("Laptop", 1500.0, 2),
@@ -330,8 +323,8 @@ class SummaryRowTest {
         File outputFile = new File(tempDir, "simple_method.xlsx");
         int summaryRowIndex;
 
-        try (ExcelExporter exporter = new ExcelExporter("Simple Method")) {
-            // Setup ExcelExporter
+        try (ExporterBackend.SheetExporter exporter = backend.open("Simple Method", outputFile)) {
+            // Setup exporter
             exporter.addColumn(new ColumnDescriptor("Name", "name"));
             exporter.addColumn(new ColumnDescriptor("Price", "price"));
             exporter.addColumn(new ColumnDescriptor("Quantity", "quantity"));
@@ -344,9 +337,6 @@ class SummaryRowTest {
             // Add summary row using the simplified method (no config needed)
             List<Integer> columnsToSum = Arrays.asList(1, 2);
             summaryRowIndex = exporter.addSummaryRow(columnsToSum);
-
-            // Save to temp file
-            exporter.save(outputFile);
         }
 
         // Verify summary row
@@ -364,7 +354,151 @@ class SummaryRowTest {
     }
     
     @Test
-    void testSimpleMethodByColumnNames() throws IOException {
+    void testComputedValuesAfterRowsWereFlushed() throws IOException {
+        File outputFile = new File(tempDir, "computed_values.xlsx");
+        int valueRowIndex;
+        int cachedRowIndex;
+
+        try (ExcelExporter exporter = new ExcelExporter("Computed", 10)) {
+            exporter.enableAggregates();
+            exporter.addColumn(new ColumnDescriptor("Name", "name"));
+            exporter.addColumn(new ColumnDescriptor("Price", "price"));
+            exporter.addColumn(new ColumnDescriptor("Quantity", "quantity"));
+
+            // 0.1 added 1000 times accumulates rounding error without compensation
+            for (int i = 0; i < 1000; i++) {
+                exporter.createRow(new Product("Item " + i, 0.1, i % 7));
+            }
+            assertNull(exporter.getWorkbook().getSheet("Computed").getRow(1), "Early rows should be flushed");
+
+            valueRowIndex = exporter.addSummaryRow(Arrays.asList(1, 2), SummaryRowConfig.builder()
+                .valueMode(SummaryValueMode.VALUE)
+                .build());
+            cachedRowIndex = exporter.addSummaryRowByColumnNames(Arrays.asList("Price", "Quantity"), SummaryRowConfig.builder()
+                .summaryLabel("Max:")
+                .function(SummaryFunction.MAX)
+                .valueMode(SummaryValueMode.FORMULA_WITH_VALUE)
+                .build());
+
+            assertEquals(1000, exporter.getColumnAggregate("Quantity").getCount());
+            assertEquals(0, exporter.getColumnAggregate("Quantity").getMin());
+            exporter.save(outputFile);
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(outputFile)) {
+            Sheet sheet = workbook.getSheet("Computed");
+
+            Row valueRow = sheet.getRow(valueRowIndex);
+            assertEquals(CellType.NUMERIC, valueRow.getCell(1).getCellType());
+            assertEquals(100.0, valueRow.getCell(1).getNumericCellValue());
+            assertEquals(2997.0, valueRow.getCell(2).getNumericCellValue());
+
+            Row cachedRow = sheet.getRow(cachedRowIndex);
+            assertEquals("MAX(C2:C1002)", cachedRow.getCell(2).getCellFormula());
+            assertEquals(6.0, cachedRow.getCell(2).getNumericCellValue());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testComputedValues(ExporterBackend backend) throws IOException {
+        File outputFile = new File(tempDir, "computed_value_modes.xlsx");
+        int valueRowIndex;
+        int cachedRowIndex;
+
+        try (ExporterBackend.SheetExporter exporter = backend.open("Computed", outputFile)) {
+            exporter.enableAggregates();
+            exporter.addColumn(new ColumnDescriptor("Name", "name"));
+            exporter.addColumn(new ColumnDescriptor("Price", "price"));
+            exporter.addColumn(new ColumnDescriptor("Quantity", "quantity"));
+
+            for (int i = 0; i < 1000; i++) {
+                exporter.createRow(new Product("Item " + i, 0.1, i % 7));
+            }
+
+            valueRowIndex = exporter.addSummaryRow(Arrays.asList(1, 2), SummaryRowConfig.builder()
+                .valueMode(SummaryValueMode.VALUE)
+                .build());
+            cachedRowIndex = exporter.addSummaryRowByColumnNames(Arrays.asList("Price", "Quantity"), SummaryRowConfig.builder()
+                .summaryLabel("Max:")
+                .function(SummaryFunction.MAX)
+                .valueMode(SummaryValueMode.FORMULA_WITH_VALUE)
+                .build());
+
+            assertEquals(1000, exporter.getColumnAggregate("Quantity").getCount());
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(outputFile)) {
+            Sheet sheet = workbook.getSheet("Computed");
+
+            Row valueRow = sheet.getRow(valueRowIndex);
+            assertEquals(CellType.NUMERIC, valueRow.getCell(1).getCellType());
+            assertEquals(100.0, valueRow.getCell(1).getNumericCellValue());
+            assertEquals(2997.0, valueRow.getCell(2).getNumericCellValue());
+
+            Row cachedRow = sheet.getRow(cachedRowIndex);
+            assertEquals("Max:", cachedRow.getCell(0).getStringCellValue());
+            assertEquals("MAX(C2:C1002)", cachedRow.getCell(2).getCellFormula());
+            assertEquals(6.0, cachedRow.getCell(2).getNumericCellValue());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testComputedValuesRequireAggregates(ExporterBackend backend) throws IOException {
+        File outputFile = new File(tempDir, "no_aggregates.xlsx");
+        try (ExporterBackend.SheetExporter exporter = backend.open("No aggregates", outputFile)) {
+            exporter.addColumn(new ColumnDescriptor("Price", "price"));
+            exporter.createRow(new Product("Laptop", 1500.0, 2));
+
+            assertThrows(IllegalStateException.class, () -> exporter.addSummaryRow(Arrays.asList(0),
+                SummaryRowConfig.builder().valueMode(SummaryValueMode.VALUE).build()));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testComputedValuesFollowSkipFirstRows(ExporterBackend backend) throws IOException {
+        File headerRow1File = new File(tempDir, "computed_skip_rows_header_1.xlsx");
+        File outputFile = new File(tempDir, "computed_skip_rows.xlsx");
+        SummaryRowConfig config = SummaryRowConfig.builder()
+            .skipFirstRows(3)
+            .valueMode(SummaryValueMode.FORMULA_WITH_VALUE)
+            .build();
+
+        try (ExporterBackend.SheetExporter exporter = backend.open("Header row 1", headerRow1File)) {
+            exporter.enableAggregates();
+            exporter.addColumn(new ColumnDescriptor("Price", "price"));
+            for (int i = 1; i <= 4; i++) {
+                exporter.createRow(new Product("Item " + i, i, 1));
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> exporter.addSummaryRow(Arrays.asList(0), config));
+        }
+
+        int summaryRowIndex;
+        try (ExporterBackend.SheetExporter exporter = backend.open("Header row 3", outputFile)) {
+            exporter.enableAggregates();
+            exporter.addColumn(new ColumnDescriptor("Price", "price"));
+            exporter.goToNextRow();
+            exporter.goToNextRow();
+            for (int i = 1; i <= 4; i++) {
+                exporter.createRow(new Product("Item " + i, i, 1), 2);
+            }
+
+            summaryRowIndex = exporter.addSummaryRow(Arrays.asList(0), config);
+        }
+
+        try (Workbook workbook = WorkbookFactory.create(outputFile)) {
+            Cell sumCell = workbook.getSheet("Header row 3").getRow(summaryRowIndex).getCell(0);
+            assertEquals("SUM(A4:A7)", sumCell.getCellFormula());
+            assertEquals(10.0, sumCell.getNumericCellValue());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExporterBackend.class)
+    void testSimpleMethodByColumnNames(ExporterBackend backend) throws IOException {
         // Create test data
         List<Product> products = Arrays.asList(
                 new Product("Laptop", 1500.0, 2),
@@ -376,8 +510,8 @@ class SummaryRowTest {
         int priceIndex;
         int quantityIndex;
 
-        try (ExcelExporter exporter = new ExcelExporter("Simple By Names")) {
-            // Setup ExcelExporter
+        try (ExporterBackend.SheetExporter exporter = backend.open("Simple By Names", outputFile)) {
+            // Setup exporter
             exporter.addColumn(new ColumnDescriptor("Name", "name"));
             exporter.addColumn(new ColumnDescriptor("Price", "price"));
             exporter.addColumn(new ColumnDescriptor("Quantity", "quantity"));
@@ -392,9 +526,6 @@ class SummaryRowTest {
             summaryRowIndex = exporter.addSummaryRowByColumnNames(columnNamesToSum);
             priceIndex = exporter.getColumnIndex("Price");
             quantityIndex = exporter.getColumnIndex("Quantity");
-
-            // Save to temp file
-            exporter.save(outputFile);
         }
 
         // Verify summary row
@@ -0,0 +1,92 @@
+package pl.com.softproject.utils.pivot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for verifying the columnar pivot model against the map based implementation
+ */
+class ColumnarPivotTableModelTest {
+
+    @Test
+    void shouldBehaveLikeMapBasedModel() {
+        PivotTableModel expected = fill(new PivotTableModelImpl());
+        PivotTableModel actual = fill(new ColumnarPivotTableModel());
+
+        assertEquals(expected.getRowNames(), actual.getRowNames());
+        assertEquals(List.copyOf(expected.getColumnNames()), List.copyOf(actual.getColumnNames()));
+        for (String row : expected.getRowNames()) {
+            for (String column : expected.getColumnNames()) {
+                assertEquals(expected.get(row, column), actual.get(row, column), row + "/" + column);
+            }
+        }
+
+        String[] columns = expected.getColumnNames().toArray(new String[0]);
+        assertEquals(new PivotTableHtmlExporter(expected, columns).export("pivot"),
+                new PivotTableHtmlExporter(actual, columns).export("pivot"));
+    }
+
+    @Test
+    void shouldKeepValueTypesAndFallBackToObjects() {
+        ColumnarPivotTableModel model = new ColumnarPivotTableModel();
+        model.add("a", "count", 1);
+        model.add("b", "count", 2L);
+        model.add("c", "count", "n/a");
+        model.add("a", "amount", 1.5);
+        model.add("b", "amount", new BigDecimal("2.50"));
+        model.add("c", "amount", null);
+
+        assertEquals(1, model.get("a", "count"));
+        assertEquals(2L, model.get("b", "count"));
+        assertEquals("n/a", model.get("c", "count"));
+        assertEquals(1.5, model.get("a", "amount"));
+        assertEquals(new BigDecimal("2.50"), model.get("b", "amount"));
+        assertNull(model.get("c", "amount"));
+        assertTrue(model.iterator().next().containsKey("amount"));
+    }
+
+    @Test
+    void shouldRemoveRowsLeftEmptyByColumnRemoval() {
+        ColumnarPivotTableModel model = new ColumnarPivotTableModel();
+        model.add("a", "x", 1);
+        model.add("b", "x", 2);
+        model.add("b", "y", 3);
+        for (int i = 0; i < 200; i++) {
+            model.add("row " + i, "z", i);
+        }
+
+        model.removeColumn("x");
+        model.removeRow("row 100");
+
+        assertEquals(200, model.getRowNames().size());
+        assertEquals("b", model.getRowNames().get(0));
+        assertEquals(Set.of("y", "z"), model.getColumnNames());
+        assertEquals(199, model.get("row 199", "z"));
+
+        PivotRowIterator rows = model.iterator();
+        Map<String, Object> first = rows.next();
+        assertEquals("b", rows.rowKey());
+        assertEquals(Map.of("y", 3), first);
+        rows.remove();
+        assertEquals("row 0", model.getRowNames().get(0));
+    }
+
+    private static PivotTableModel fill(PivotTableModel model) {
+        for (int row = 0; row < 100; row++) {
+            for (int column = 0; column < 5; column++) {
+                if((row + column) % 3 != 0)
+                    model.add("row " + row, "column " + column, column % 2 == 0 ? row * column : row / 3.0);
+            }
+        }
+        model.add("row 7", "label", "seven");
+        model.removeRow("row 3");
+        return model;
+    }
+}
@@ -0,0 +1,105 @@
+package pl.com.softproject.utils.pivot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import pl.com.softproject.utils.excelexporter.SummaryFunction;
+
+/**
+ * Test class for verifying pivot construction from streams
+ */
+class PivotCollectorsTest {
+
+    @Test
+    void shouldAggregateSequentiallyAndInParallelToTheSamePivot() {
+        List<Sale> sales = sales(100_000);
+
+        PivotTableModel sequential = sales.stream()
+                .collect(PivotCollectors.toPivot(Sale::getRegion, Sale::getMonth, Sale::getAmount, SummaryFunction.SUM));
+        PivotTableModel parallel = sales.parallelStream()
+                .collect(PivotCollectors.toPivot(Sale::getRegion, Sale::getMonth, Sale::getAmount, SummaryFunction.SUM));
+
+        assertEquals(List.of("north", "south", "east"), sequential.getRowNames());
+        assertEquals(sequential.getRowNames(), parallel.getRowNames());
+        assertEquals(Set.of("01", "02", "03", "04"), sequential.getColumnNames());
+        for (String row : sequential.getRowNames()) {
+            for (String column : sequential.getColumnNames()) {
+                assertEquals(sequential.get(row, column), parallel.get(row, column));
+            }
+        }
+
+        long expected = sales.stream()
+                .filter(sale -> sale.getRegion().equals("south") && sale.getMonth().equals("02"))
+                .mapToLong(Sale::getAmount)
+                .sum();
+        assertEquals(expected, sequential.get("south", "02"));
+    }
+
+    @Test
+    void shouldSupportCountsMinMaxAndCustomDownstream() {
+        List<Sale> sales = sales(12);
+
+        PivotTableModel counts = sales.parallelStream()
+                .collect(PivotCollectors.toPivot(Sale::getRegion, Sale::getMonth, Sale::getAmount, SummaryFunction.COUNT));
+        PivotTableModel max = sales.stream()
+                .collect(PivotCollectors.toPivot(Sale::getRegion, Sale::getMonth, Sale::getAmount, SummaryFunction.MAX));
+        ColumnarPivotTableModel rows = sales.stream()
+                .collect(PivotCollectors.toPivot(Sale::getRegion, Sale::getMonth, Collectors.counting(),
+                        ColumnarPivotTableModel::new));
+
+        assertEquals(1L, counts.get("north", "01"));
+        assertEquals(3.0, max.get("north", "04"));
+        assertEquals(1L, rows.get("east", "03"));
+        assertNull(rows.get("west", "01"));
+    }
+
+    @Test
+    void shouldSumBigDecimalAmountsExactly() {
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            invoices.add(new Invoice("acme", "01", new BigDecimal("0.10")));
+        }
+        invoices.add(new Invoice("acme", "02", new BigDecimal("12345678901234567.89")));
+        invoices.add(new Invoice("acme", "02", new BigDecimal("0.01")));
+
+        PivotTableModel pivot = invoices.parallelStream()
+                .collect(PivotCollectors.toPivot(Invoice::getCustomer, Invoice::getMonth, Invoice::getAmount,
+                        SummaryFunction.SUM));
+
+        assertEquals(new BigDecimal("1.00"), pivot.get("acme", "01"));
+        assertEquals(new BigDecimal("12345678901234567.90"), pivot.get("acme", "02"));
+    }
+
+    private static List<Sale> sales(int size) {
+        String[] regions = {"north", "south", "east"};
+        List<Sale> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new Sale(regions[i % 3], "0" + (i % 4 + 1), i));
+        }
+        return result;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Sale {
+        private String region;
+        private String month;
+        private long amount;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Invoice {
+        private String customer;
+        private String month;
+        private BigDecimal amount;
+    }
+}
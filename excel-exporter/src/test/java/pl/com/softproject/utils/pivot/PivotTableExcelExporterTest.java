@@ -0,0 +1,93 @@
+package pl.com.softproject.utils.pivot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.com.softproject.utils.excelexporter.ColumnDescriptor;
+import pl.com.softproject.utils.excelexporter.ExcelExporter;
+import pl.com.softproject.utils.pivot.doublepivot.Column;
+import pl.com.softproject.utils.pivot.doublepivot.PivotDoubleGroupingExcelExporter;
+import pl.com.softproject.utils.pivot.doublepivot.PivotDoubleGroupingTableModelImpl;
+import pl.com.softproject.utils.pivot.doublepivot.Row;
+import pl.com.softproject.utils.pivot.doublepivot.SubRow;
+
+/**
+ * Test class for verifying streaming export of pivot tables to Excel
+ */
+class PivotTableExcelExporterTest {
+
+    @Test
+    void shouldWritePivotsAndFlatSheetIntoOneStreamedFile(@TempDir Path tempDir) throws IOException {
+        PivotTableModel pivot = new PivotTableModelImpl();
+        for (int i = 0; i < 50; i++) {
+            pivot.add("row " + i, "a", i);
+            pivot.add("row " + i, "b", 2 * i);
+        }
+
+        PivotDoubleGroupingTableModelImpl grouping = new PivotDoubleGroupingTableModelImpl();
+        for (int i = 0; i < 20; i++) {
+            LinkedHashSet<SubRow> subRows = new LinkedHashSet<>();
+            for (int j = 0; j < 3; j++) {
+                LinkedHashSet<Column> columns = new LinkedHashSet<>();
+                columns.add(new Column("c", "c", i * 10 + j));
+                subRows.add(new SubRow("s" + j, "s" + j, columns));
+            }
+            grouping.addRow(new Row("g" + i, "g" + i, subRows));
+        }
+
+        Path target = tempDir.resolve("pivots.xlsx");
+        try (ExcelExporter exporter = new ExcelExporter("flat", 5)) {
+            exporter.addColumn(new ColumnDescriptor("Name", "name"));
+            exporter.createRow(new Named("first"));
+
+            PivotTableExcelExporter pivotExporter = new PivotTableExcelExporter(exporter);
+            pivotExporter.setAddSumarryColumn(true);
+            pivotExporter.setAddSummaryRow(true);
+            pivotExporter.export(pivot, "pivot", new String[]{"a", "b"});
+
+            new PivotDoubleGroupingExcelExporter(exporter).export(grouping, "grouping");
+
+            exporter.save(target.toFile());
+        }
+
+        try (FileInputStream in = new FileInputStream(target.toFile()); Workbook workbook = new XSSFWorkbook(in)) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            assertEquals("first", workbook.getSheet("flat").getRow(1).getCell(0).getStringCellValue());
+
+            Sheet sheet = workbook.getSheet("pivot");
+            assertEquals("row 49", sheet.getRow(50).getCell(0).getStringCellValue());
+            assertEquals("sum(B51:C51)", sheet.getRow(50).getCell(3).getCellFormula());
+            assertEquals("suma", sheet.getRow(51).getCell(0).getStringCellValue());
+            assertEquals("sum(B2:B51)", sheet.getRow(51).getCell(1).getCellFormula());
+            assertEquals("sum(D2:D51)", sheet.getRow(51).getCell(3).getCellFormula());
+
+            Sheet groupingSheet = workbook.getSheet("grouping");
+            assertEquals(20, groupingSheet.getNumMergedRegions());
+            CellRangeAddress last = groupingSheet.getMergedRegion(19);
+            assertEquals(58, last.getFirstRow());
+            assertEquals(60, last.getLastRow());
+            assertEquals(192, groupingSheet.getRow(60).getCell(2).getNumericCellValue());
+        }
+    }
+
+    public static class Named {
+        private final String name;
+
+        public Named(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
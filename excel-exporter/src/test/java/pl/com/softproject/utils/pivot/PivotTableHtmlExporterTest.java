@@ -0,0 +1,42 @@
+package pl.com.softproject.utils.pivot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.text.DecimalFormat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for verifying HTML export of pivot tables
+ */
+class PivotTableHtmlExporterTest {
+
+    @Test
+    void shouldStreamEscapedRowsToWriter() throws IOException {
+        PivotTableModel model = new PivotTableModelImpl();
+        model.add("A & B", "count", 1200);
+        model.add("A & B", "amount", 1234.5);
+        model.add("<c>", "amount", "n/a");
+
+        int[] flushes = new int[1];
+        StringWriter out = new StringWriter() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        PivotTableHtmlExporter exporter = new PivotTableHtmlExporter(model, new String[]{"count", "amount"});
+        exporter.setFlushInterval(1);
+        exporter.export("Sales \"2026\"", out);
+
+        assertEquals("<table border =\"1\"><caption>Sales &quot;2026&quot;</caption>"
+                + "<tr><th/><th>count</th><th>amount</th></tr>"
+                + "<tr><td>A &amp; B</td><td align=\"right\">1200</td><td align=\"right\">" + new DecimalFormat("#,###0.00").format(1234.5) + "</td></tr>"
+                + "<tr><td>&lt;c&gt;</td><td align=\"center\">-</td><td align=\"right\">n/a</td></tr>"
+                + "</table>", out.toString());
+        assertEquals(2, flushes[0]);
+        assertEquals(out.toString(), exporter.export("Sales \"2026\""));
+    }
+}
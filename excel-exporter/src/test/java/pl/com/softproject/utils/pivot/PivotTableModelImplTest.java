@@ -0,0 +1,55 @@
+package pl.com.softproject.utils.pivot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for verifying the incrementally maintained column index of the map based pivot model
+ */
+class PivotTableModelImplTest {
+
+    @Test
+    void shouldMaintainColumnNamesAcrossMutations() {
+        PivotTableModelImpl model = new PivotTableModelImpl();
+        model.add("a", "x", 1);
+        model.add("a", "y", 2);
+        model.add("b", "y", 3);
+        model.add("b", "y", 4);
+        assertEquals(List.of("x", "y"), List.copyOf(model.getColumnNames()));
+
+        model.removeRow("a");
+        assertEquals(List.of("y"), List.copyOf(model.getColumnNames()));
+
+        Map<String, Object> row = new HashMap<>(Map.of("z", 5));
+        model.addRow("c", row);
+        row.put("w", 6);
+        model.addColumn("v", Map.of("b", 7));
+        assertEquals(List.of("y", "z", "v"), List.copyOf(model.getColumnNames()));
+
+        model.addRow("b", Map.of("z", 8));
+        assertEquals(List.of("z"), List.copyOf(model.getColumnNames()));
+
+        model.removeColumn("z");
+        assertEquals(List.of(), List.copyOf(model.getColumnNames()));
+        assertEquals(List.of(), model.getRowNames());
+    }
+
+    @Test
+    void shouldUpdateColumnNamesWhenRowsAreRemovedThroughIterator() {
+        PivotTableModelImpl model = new PivotTableModelImpl();
+        model.add("a", "x", 1);
+        model.add("b", "y", 2);
+
+        PivotRowIterator rows = model.iterator();
+        Map<String, Object> first = rows.next();
+        assertThrows(UnsupportedOperationException.class, () -> first.put("z", 3));
+        rows.remove();
+
+        assertEquals(List.of("y"), List.copyOf(model.getColumnNames()));
+    }
+}